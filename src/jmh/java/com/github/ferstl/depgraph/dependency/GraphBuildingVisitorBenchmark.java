@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.artifact.resolver.filter.ScopeArtifactFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import com.github.ferstl.depgraph.graph.GraphBuilder;
+
+/**
+ * Benchmarks the translation of an Aether dependency tree into a {@link GraphBuilder}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphBuildingVisitorBenchmark {
+
+  private static final ArtifactFilter INCLUDE_ALL = artifact -> true;
+
+  @Benchmark
+  public GraphBuilder<DependencyNode> visitAll(SyntheticDependencyGraph graph) {
+    return visit(graph, INCLUDE_ALL);
+  }
+
+  @Benchmark
+  public GraphBuilder<DependencyNode> visitWithScopeFilter(SyntheticDependencyGraph graph) {
+    return visit(graph, new ScopeArtifactFilter("compile"));
+  }
+
+  private static GraphBuilder<DependencyNode> visit(SyntheticDependencyGraph graph, ArtifactFilter globalFilter) {
+    GraphBuilder<DependencyNode> graphBuilder = GraphBuilder.create(DependencyNodeIdRenderer.versionlessId());
+    GraphBuildingVisitor visitor = new GraphBuildingVisitor(graphBuilder, globalFilter, INCLUDE_ALL, INCLUDE_ALL, EnumSet.allOf(NodeResolution.class));
+    graph.getRoot().accept(visitor);
+
+    return graphBuilder;
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.github.ferstl.depgraph.GraphFormat;
+import com.github.ferstl.depgraph.dependency.dot.DotGraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.dot.style.StyleConfiguration;
+import com.github.ferstl.depgraph.dependency.dot.style.resource.BuiltInStyleResource;
+import com.github.ferstl.depgraph.dependency.gml.GmlGraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.json.JsonGraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.puml.PumlGraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.text.TextGraphStyleConfigurer;
+import com.github.ferstl.depgraph.graph.GraphBuilder;
+import com.google.common.io.CharStreams;
+
+/**
+ * Benchmarks the {@link com.github.ferstl.depgraph.graph.GraphFormatter} of each {@link GraphFormat}. The graph is
+ * built once per trial, so only the formatting is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphFormatterBenchmark {
+
+  private static final ArtifactFilter INCLUDE_ALL = artifact -> true;
+
+  @Param({"DOT", "GML", "PUML", "JSON", "TEXT"})
+  public GraphFormat format;
+
+  private GraphBuilder<DependencyNode> graphBuilder;
+
+  @Setup
+  public void setup(SyntheticDependencyGraph graph) {
+    this.graphBuilder = createStyleConfigurer(this.format)
+        .showGroupIds(true)
+        .showArtifactIds(true)
+        .showVersionsOnNodes(true)
+        .showVersionsOnEdges(true)
+        .showScope(true)
+        .configure(GraphBuilder.create(DependencyNodeIdRenderer.versionlessId()));
+
+    graph.getRoot().accept(new GraphBuildingVisitor(this.graphBuilder, INCLUDE_ALL, INCLUDE_ALL, INCLUDE_ALL, EnumSet.allOf(NodeResolution.class)));
+  }
+
+  @Benchmark
+  public Writer format() throws IOException {
+    Writer writer = CharStreams.nullWriter();
+    this.graphBuilder.writeTo(writer);
+
+    return writer;
+  }
+
+  private static GraphStyleConfigurer createStyleConfigurer(GraphFormat format) {
+    switch (format) {
+      case DOT:
+        return new DotGraphStyleConfigurer(StyleConfiguration.load(BuiltInStyleResource.DEFAULT_STYLE.createStyleResource(GraphFormatterBenchmark.class.getClassLoader())), new GraphMetrics());
+      case GML:
+        return new GmlGraphStyleConfigurer();
+      case PUML:
+        return new PumlGraphStyleConfigurer();
+      case JSON:
+        return new JsonGraphStyleConfigurer();
+      case TEXT:
+        return new TextGraphStyleConfigurer();
+      default:
+        throw new IllegalArgumentException("Unsupported format: " + format);
+    }
+  }
+}
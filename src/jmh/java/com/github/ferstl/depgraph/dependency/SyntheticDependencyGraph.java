@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyVisitor;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Synthetic verbose dependency graph which is shared by the benchmarks.
+ * <p>
+ * The generated tree looks like the result of Aether's verbose dependency collection: Each node has {@link #fanOut}
+ * children down to the configured {@link #depth}. The children are randomly picked from a pool of {@link #artifacts}
+ * different artifacts, so the same artifact shows up several times in the tree. A fraction of {@link #conflictRate}
+ * of all dependencies lose a version conflict and are therefore leaves in the tree. The random generator uses a fixed
+ * seed so that all runs work with the same graph.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class SyntheticDependencyGraph {
+
+  private static final long SEED = 0x5eed;
+  private static final String[] SCOPES = {"compile", "compile", "compile", "compile", "runtime", "provided", "test"};
+
+  @Param("500")
+  public int artifacts;
+
+  @Param({"3", "5"})
+  public int depth;
+
+  @Param("6")
+  public int fanOut;
+
+  @Param("0.1")
+  public double conflictRate;
+
+  private org.eclipse.aether.graph.DependencyNode root;
+  private List<DependencyNode> nodes;
+  private List<DependencyNode> edgeSources;
+  private List<DependencyNode> edgeTargets;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(SEED);
+    this.root = createNode(new DefaultDependencyNode(createArtifact(0, "1.0.0")), 0, 0, random);
+
+    this.nodes = new ArrayList<>();
+    this.edgeSources = new ArrayList<>();
+    this.edgeTargets = new ArrayList<>();
+    this.root.accept(new EdgeCollector());
+  }
+
+  /**
+   * Returns the root node of the Aether dependency tree.
+   */
+  public org.eclipse.aether.graph.DependencyNode getRoot() {
+    return this.root;
+  }
+
+  /**
+   * Returns all nodes of the tree in pre-order.
+   */
+  public List<DependencyNode> getNodes() {
+    return this.nodes;
+  }
+
+  /**
+   * Returns the source nodes of all edges. The target of each edge is at the same index in {@link #getEdgeTargets()}.
+   */
+  public List<DependencyNode> getEdgeSources() {
+    return this.edgeSources;
+  }
+
+  /**
+   * Returns the target nodes of all edges.
+   */
+  public List<DependencyNode> getEdgeTargets() {
+    return this.edgeTargets;
+  }
+
+  private org.eclipse.aether.graph.DependencyNode createNode(DefaultDependencyNode node, int artifactIndex, int level, Random random) {
+    if (level == this.depth) {
+      return node;
+    }
+
+    List<org.eclipse.aether.graph.DependencyNode> children = new ArrayList<>(this.fanOut);
+    for (int i = 0; i < this.fanOut; i++) {
+      // Only pick artifacts with a higher index to avoid cycles
+      int remaining = this.artifacts - artifactIndex - 1;
+      if (remaining <= 0) {
+        break;
+      }
+
+      int childIndex = artifactIndex + 1 + random.nextInt(remaining);
+      String scope = SCOPES[random.nextInt(SCOPES.length)];
+      boolean optional = random.nextInt(20) == 0;
+
+      if (random.nextDouble() < this.conflictRate) {
+        DefaultDependencyNode loser = new DefaultDependencyNode(new Dependency(createArtifact(childIndex, "0.9.0"), scope, optional));
+        loser.setData(ConflictResolver.NODE_DATA_WINNER, new DefaultDependencyNode(createArtifact(childIndex, "1.0.0")));
+        children.add(loser);
+      } else {
+        DefaultDependencyNode child = new DefaultDependencyNode(new Dependency(createArtifact(childIndex, "1.0.0"), scope, optional));
+        children.add(createNode(child, childIndex, level + 1, random));
+      }
+    }
+
+    node.setChildren(children);
+    return node;
+  }
+
+  private static DefaultArtifact createArtifact(int index, String version) {
+    return new DefaultArtifact("com.example.group" + (index % 20), "artifact-" + index, "jar", version);
+  }
+
+  private final class EdgeCollector implements DependencyVisitor {
+
+    private final Deque<DependencyNode> stack = new ArrayDeque<>();
+
+    @Override
+    public boolean visitEnter(org.eclipse.aether.graph.DependencyNode node) {
+      DependencyNode dependencyNode = new DependencyNode(node);
+      SyntheticDependencyGraph.this.nodes.add(dependencyNode);
+
+      DependencyNode parent = this.stack.peek();
+      if (parent != null) {
+        SyntheticDependencyGraph.this.edgeSources.add(parent);
+        SyntheticDependencyGraph.this.edgeTargets.add(dependencyNode);
+      }
+
+      this.stack.push(dependencyNode);
+      return true;
+    }
+
+    @Override
+    public boolean visitLeave(org.eclipse.aether.graph.DependencyNode node) {
+      this.stack.pop();
+      return true;
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency.dot.style;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.artifact.Artifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.github.ferstl.depgraph.dependency.DependencyNode;
+import com.github.ferstl.depgraph.dependency.GraphMetrics;
+import com.github.ferstl.depgraph.dependency.SyntheticDependencyGraph;
+import com.github.ferstl.depgraph.dependency.dot.style.resource.BuiltInStyleResource;
+
+/**
+ * Benchmarks the lookup of node and edge attributes in the default {@link StyleConfiguration}. Each invocation looks up
+ * the attributes of all nodes or edges in the synthetic graph.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StyleConfigurationBenchmark {
+
+  private StyleConfiguration styleConfiguration;
+  private List<StyleKey> styleKeys;
+  private GraphMetrics metrics;
+
+  @Setup
+  public void setup(SyntheticDependencyGraph graph) {
+    this.styleConfiguration = StyleConfiguration.load(BuiltInStyleResource.DEFAULT_STYLE.createStyleResource(getClass().getClassLoader()));
+
+    this.metrics = new GraphMetrics();
+    this.styleKeys = new ArrayList<>(graph.getNodes().size());
+    for (DependencyNode node : graph.getNodes()) {
+      Artifact artifact = node.getArtifact();
+      this.styleKeys.add(StyleKey.create(artifact.getGroupId(), artifact.getArtifactId(), node.getEffectiveScope(), artifact.getType(), node.getEffectiveVersion(), artifact.getClassifier(), artifact.isOptional()));
+    }
+  }
+
+  @Benchmark
+  public void nodeAttributes(SyntheticDependencyGraph graph, Blackhole blackhole) {
+    List<DependencyNode> nodes = graph.getNodes();
+    for (int i = 0; i < nodes.size(); i++) {
+      Artifact artifact = nodes.get(i).getArtifact();
+      blackhole.consume(this.styleConfiguration.nodeAttributes(this.styleKeys.get(i), artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion(), artifact.isOptional(), null, null, null, this.metrics).toString());
+    }
+  }
+
+  @Benchmark
+  public void edgeAttributes(SyntheticDependencyGraph graph, Blackhole blackhole) {
+    List<DependencyNode> sources = graph.getEdgeSources();
+    List<DependencyNode> targets = graph.getEdgeTargets();
+    for (int i = 0; i < sources.size(); i++) {
+      DependencyNode from = sources.get(i);
+      DependencyNode to = targets.get(i);
+      blackhole.consume(this.styleConfiguration.edgeAttributes(from.getResolution(), to.getResolution(), to.getEffectiveScope(), from.getArtifact(), to.getArtifact(), this.metrics).toString());
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import com.github.ferstl.depgraph.dependency.DependencyNode;
+import com.github.ferstl.depgraph.dependency.DependencyNodeIdRenderer;
+import com.github.ferstl.depgraph.dependency.SyntheticDependencyGraph;
+
+/**
+ * Benchmarks for adding edges to a {@link GraphBuilder} and for reducing them afterwards. Since a reduction modifies
+ * the graph, {@link #addEdgesAndReduce(SyntheticDependencyGraph)} includes the cost of adding the edges. The cost of
+ * {@link GraphBuilder#reduceEdges()} is the difference to {@link #addEdges(SyntheticDependencyGraph)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphBuilderBenchmark {
+
+  @Benchmark
+  public GraphBuilder<DependencyNode> addEdges(SyntheticDependencyGraph graph) {
+    return createGraph(graph);
+  }
+
+  @Benchmark
+  public GraphBuilder<DependencyNode> addEdgesAndReduce(SyntheticDependencyGraph graph) {
+    GraphBuilder<DependencyNode> graphBuilder = createGraph(graph);
+    graphBuilder.reduceEdges();
+
+    return graphBuilder;
+  }
+
+  private static GraphBuilder<DependencyNode> createGraph(SyntheticDependencyGraph graph) {
+    GraphBuilder<DependencyNode> graphBuilder = GraphBuilder.create(DependencyNodeIdRenderer.versionlessId());
+    List<DependencyNode> sources = graph.getEdgeSources();
+    List<DependencyNode> targets = graph.getEdgeTargets();
+    for (int i = 0; i < sources.size(); i++) {
+      graphBuilder.addEdge(sources.get(i), targets.get(i));
+    }
+
+    return graphBuilder;
+  }
+}
@@ -17,7 +17,6 @@ package com.github.ferstl.depgraph;
 
 import java.util.Collection;
 import java.util.function.Supplier;
-import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 
@@ -68,10 +67,42 @@ public abstract class AbstractAggregatingDependencyGraphMojo extends AbstractDep
   @Parameter(property = "repeatTransitiveDependenciesInTextGraph", defaultValue = "false")
   boolean repeatTransitiveDependenciesInTextGraph;
 
-  @Parameter(defaultValue = "${session}", readonly = true)
-  private MavenSession mavenSession;
+  /**
+   * If set to {@code true} together with {@code repeatTransitiveDependenciesInTextGraph}, the transitive dependencies
+   * of a node are only shown at its first occurrence in the text graph. This occurrence gets a number and all further
+   * occurrences refer to it. This keeps the text graph small for graphs with many shared dependencies:
+   * <pre>
+   *   root
+   *   +- child-1 (#1)
+   *   |  \- child-1.1
+   *   +- child-2
+   *      \- child-1 (see #1)
+   * </pre>
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "useBackReferencesInTextGraph", defaultValue = "false")
+  boolean useBackReferencesInTextGraph;
+
+  /**
+   * Maximum number of lines in the text graph. The text graph is truncated when this limit is reached. {@code 0} means
+   * no limit.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "maxTextGraphLines", defaultValue = "0")
+  int maxTextGraphLines;
+
+  /**
+   * Number of threads to resolve the dependencies of the reactor modules. Resolving the dependencies concurrently can
+   * speed up the creation of the graph for large reactors. The created graph does not depend on this setting.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "resolutionThreads", defaultValue = "1")
+  int resolutionThreads;
 
   Supplier<Collection<MavenProject>> subProjectsInReactorOrder() {
-    return () -> AbstractAggregatingDependencyGraphMojo.this.mavenSession.getProjectDependencyGraph().getSortedProjects();
+    return () -> getMavenSession().getProjectDependencyGraph().getSortedProjects();
   }
 }
@@ -15,16 +15,25 @@
  */
 package com.github.ferstl.depgraph;
 
+import java.io.File;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.resolver.filter.AndArtifactFilter;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.artifact.filter.ScopeArtifactFilter;
 import org.apache.maven.shared.artifact.filter.StrictPatternExcludesArtifactFilter;
 import org.apache.maven.shared.artifact.filter.StrictPatternIncludesArtifactFilter;
+import org.eclipse.aether.RepositorySystem;
 import com.github.ferstl.depgraph.dependency.GraphFactory;
 import com.github.ferstl.depgraph.dependency.GraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.MavenGraphAdapter;
+import com.github.ferstl.depgraph.dependency.NodeResolution;
+import com.github.ferstl.depgraph.dependency.ResolutionCache;
 import static org.apache.maven.artifact.Artifact.SCOPE_COMPILE;
 import static org.apache.maven.artifact.Artifact.SCOPE_PROVIDED;
 import static org.apache.maven.artifact.Artifact.SCOPE_RUNTIME;
@@ -65,7 +74,9 @@ abstract class AbstractDependencyGraphMojo extends AbstractGraphMojo {
    * <li>{@code system}: Equivalent to `-Dscopes=system`</li>
    * <li>{@code test} (default): Shows all dependencies</li>
    * </ul>
-   * This parameter replaces the former {@code scope} parameter which was introduced in version 1.0.0.
+   * This parameter replaces the former {@code scope} parameter which was introduced in version 1.0.0. The filter is
+   * applied to the collected graph, so versions and scopes of the remaining artifacts are the ones Maven mediates over
+   * all scopes.
    *
    * @since 4.0.0
    */
@@ -73,7 +84,8 @@ abstract class AbstractDependencyGraphMojo extends AbstractGraphMojo {
   private String classpathScope;
 
   /**
-   * List of dependency scopes to be included in the graph. If empty, all scopes are included.
+   * List of dependency scopes to be included in the graph. If empty, all scopes are included. Like
+   * {@code classpathScope}, this does not skip any dependencies during collection.
    *
    * @since 4.0.0
    */
@@ -89,7 +101,8 @@ abstract class AbstractDependencyGraphMojo extends AbstractGraphMojo {
   private List<String> includes;
 
   /**
-   * List of artifacts to be excluded in the form of {@code groupId:artifactId:type:classifier}.
+   * List of artifacts to be excluded in the form of {@code groupId:artifactId:type:classifier}. Excluded artifacts are
+   * still collected because their transitive dependencies remain in the graph.
    *
    * @since 1.0.0
    */
@@ -107,7 +120,8 @@ abstract class AbstractDependencyGraphMojo extends AbstractGraphMojo {
 
   /**
    * List of artifacts in the form of {@code groupId:artifactId:type:classifier} to be excluded if they are
-   * <strong>transitive</strong>.
+   * <strong>transitive</strong>. As with {@code excludes}, the dependencies of an excluded artifact stay in the graph
+   * and are collected as usual.
    *
    * @since 3.0.0
    */
@@ -124,13 +138,59 @@ abstract class AbstractDependencyGraphMojo extends AbstractGraphMojo {
   private List<String> targetIncludes;
 
   /**
-   * Indicates whether optional dependencies should be excluded from the graph.
+   * Indicates whether optional dependencies should be excluded from the graph. They are removed after collection, so
+   * they still influence the versions of the other artifacts just as they do in the Maven build.
    *
    * @since 3.2.0
    */
   @Parameter(property = "excludeOptionalDependencies", defaultValue = "false")
   private boolean excludeOptionalDependencies;
 
+  /**
+   * If set to {@code true}, the resolved dependency graph of each project is stored in the
+   * {@code resolutionCacheDirectory}. Subsequent executions reuse the stored graph instead of resolving the
+   * dependencies again, as long as the dependencies, the dependency management, the repositories and the active profiles
+   * of the project and the dependencies of the reactor projects it depends on are unchanged. Graphs containing SNAPSHOT dependencies or version ranges are never cached.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "resolutionCache", defaultValue = "false")
+  private boolean resolutionCache;
+
+  /**
+   * Directory for the cached dependency graphs when {@code resolutionCache} is enabled.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "resolutionCacheDirectory", defaultValue = "${project.build.directory}/depgraph-cache")
+  private File resolutionCacheDirectory;
+
+  /**
+   * If set to {@code true}, the dependency graph is collected directly by the repository system instead of Maven's
+   * project dependency resolver. The graph is the same, but the resolver's additional bookkeeping is skipped. The
+   * collection can be tuned with the repository system's configuration properties, e.g.
+   * {@code -Daether.dependencyCollector.impl=bf} to use the breadth-first collector of Maven 3.9.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "collectDirectly", defaultValue = "false")
+  private boolean collectDirectly;
+
+  /**
+   * Max depth of the dependency graph, where the direct dependencies have the depth 1. Dependencies below this depth are
+   * not added to the graph. Nodes whose dependencies were cut off are marked as truncated in the dot, json and text
+   * graphs. All dependencies are still collected because the deeper dependencies take part in Maven's conflict
+   * resolution, e.g. a dependency of a test dependency has the {@code compile} scope if a deeper compile dependency
+   * depends on it as well. The depth is not limited when set to {@code 0} (which is the default).
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "maxDepth", defaultValue = "0")
+  private int maxDepth;
+
+  @Component
+  private RepositorySystem repositorySystem;
+
   @Override
   protected final GraphFactory createGraphFactory(GraphStyleConfigurer graphStyleConfigurer) {
     ArtifactFilter globalFilter = createGlobalArtifactFilter();
@@ -142,8 +202,52 @@ abstract class AbstractDependencyGraphMojo extends AbstractGraphMojo {
 
   protected abstract GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter, GraphStyleConfigurer graphStyleConfigurer);
 
+  MavenGraphAdapter createMavenGraphAdapter(ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions) {
+    MavenGraphAdapter.Options options = new MavenGraphAdapter.Options()
+        .resolutionCache(createResolutionCache())
+        .metrics(getMetrics())
+        .collectWith(this.collectDirectly ? this.repositorySystem : null)
+        .maxDepth(this.maxDepth);
+
+    return new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, includedResolutions, options);
+  }
+
+  private ResolutionCache createResolutionCache() {
+    if (!this.resolutionCache) {
+      return null;
+    }
+
+    // ${project.build.directory} is not resolved when run without a POM file (e.g. for the for-artifact goal)
+    if (this.resolutionCacheDirectory.toString().contains("${")) {
+      getLog().info("Resolution cache is not available without a project.");
+      return null;
+    }
+
+    List<MavenProject> reactorProjects = getMavenSession() != null ? getMavenSession().getProjects() : Collections.emptyList();
+    return new ResolutionCache(this.resolutionCacheDirectory.toPath(), reactorProjects);
+  }
+
   private ArtifactFilter createGlobalArtifactFilter() {
     AndArtifactFilter filter = new AndArtifactFilter();
+    filter.add(createScopeFilter());
+
+    if (!this.includes.isEmpty()) {
+      filter.add(new StrictPatternIncludesArtifactFilter(this.includes));
+    }
+
+    if (!this.excludes.isEmpty()) {
+      filter.add(new StrictPatternExcludesArtifactFilter(this.excludes));
+    }
+
+    if (this.excludeOptionalDependencies) {
+      filter.add(new OptionalArtifactFilter());
+    }
+
+    return filter;
+  }
+
+  private ArtifactFilter createScopeFilter() {
+    AndArtifactFilter filter = new AndArtifactFilter();
 
     if (this.scope != null) {
       getLog().warn("The 'scope' parameter is deprecated and will be removed in future versions. Use 'classpathScope' instead.");
@@ -165,18 +269,6 @@ abstract class AbstractDependencyGraphMojo extends AbstractGraphMojo {
       filter.add(createScopesArtifactFilter(this.scopes));
     }
 
-    if (!this.includes.isEmpty()) {
-      filter.add(new StrictPatternIncludesArtifactFilter(this.includes));
-    }
-
-    if (!this.excludes.isEmpty()) {
-      filter.add(new StrictPatternExcludesArtifactFilter(this.excludes));
-    }
-
-    if (this.excludeOptionalDependencies) {
-      filter.add(new OptionalArtifactFilter());
-    }
-
     return filter;
   }
 
@@ -15,32 +15,49 @@
  */
 package com.github.ferstl.depgraph;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
-import org.apache.commons.lang3.ArrayUtils;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.execution.ProjectDependencyGraph;
 import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectDependenciesResolver;
-import org.codehaus.plexus.util.cli.CommandLineException;
-import org.codehaus.plexus.util.cli.CommandLineUtils;
-import org.codehaus.plexus.util.cli.CommandLineUtils.StringStreamConsumer;
-import org.codehaus.plexus.util.cli.Commandline;
+import com.github.ferstl.depgraph.GraphvizCommand.RunningGraphviz;
+import com.github.ferstl.depgraph.GraphvizJobs.GraphvizJob;
+import com.github.ferstl.depgraph.dependency.CompositeGraphStyleConfigurer;
 import com.github.ferstl.depgraph.dependency.DependencyGraphException;
+import com.github.ferstl.depgraph.dependency.DependencyNode;
 import com.github.ferstl.depgraph.dependency.GraphFactory;
+import com.github.ferstl.depgraph.dependency.GraphMetrics;
+import com.github.ferstl.depgraph.dependency.GraphMetrics.Timer;
 import com.github.ferstl.depgraph.dependency.GraphStyleConfigurer;
 import com.github.ferstl.depgraph.dependency.dot.DotGraphStyleConfigurer;
 import com.github.ferstl.depgraph.dependency.dot.style.StyleConfiguration;
@@ -52,10 +69,16 @@ import com.github.ferstl.depgraph.dependency.gml.GmlGraphStyleConfigurer;
 import com.github.ferstl.depgraph.dependency.json.JsonGraphStyleConfigurer;
 import com.github.ferstl.depgraph.dependency.puml.PumlGraphStyleConfigurer;
 import com.github.ferstl.depgraph.dependency.text.TextGraphStyleConfigurer;
-import com.google.common.base.Joiner;
+import com.github.ferstl.depgraph.graph.GraphBuilder;
+import com.github.ferstl.depgraph.graph.jfr.GraphEvent;
+import com.github.ferstl.depgraph.graph.jfr.GraphEvents;
 import com.google.common.base.Splitter;
-import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import static com.github.ferstl.depgraph.GraphFormat.JSON;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Counter.GRAPH_FILES_UNCHANGED;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Phase.FILE_WRITE;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Phase.FORMATTING;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Phase.GRAPHVIZ;
 
 /**
  * Abstract mojo to create all possible kinds of graphs. Graphs are created with instances of the
@@ -65,11 +88,14 @@ import static com.github.ferstl.depgraph.GraphFormat.JSON;
  */
 abstract class AbstractGraphMojo extends AbstractMojo {
 
-  private static final Pattern LINE_SEPARATOR_PATTERN = Pattern.compile("\r?\n");
   private static final String OUTPUT_FILE_NAME = "dependency-graph";
 
   /**
    * Format of the graph, either &quot;dot&quot; (default), &quot;gml&quot;, &quot;puml&quot;, &quot;json&quot; or &quot;text&quot;.
+   * Several formats can be specified as comma-separated list, e.g. {@code dot,json,text}. The graph is built only once
+   * and a graph file is written for each format. In this case, the metrics and the fingerprint of the
+   * {@code upToDateCheck} are named after the graph file of the first format and {@code showAllAttributesForJson} only
+   * applies when &quot;json&quot; is the only format.
    *
    * @since 2.1.0
    */
@@ -130,7 +156,8 @@ abstract class AbstractGraphMojo extends AbstractMojo {
 
   /**
    * Only relevant when {@code graphFormat=dot}: The format for the graph image when {@link #createImage} is set to
-   * {@code true}.
+   * {@code true}. Several formats can be specified as comma-separated list, e.g. {@code png,svg}. All of them are
+   * created by a single invocation of Graphviz.
    *
    * @since 1.0.0
    */
@@ -156,6 +183,68 @@ abstract class AbstractGraphMojo extends AbstractMojo {
   @Parameter(property = "dotArguments", defaultValue = "")
   private String dotArguments;
 
+  /**
+   * Only relevant when {@code graphFormat=dot} and {@code createImage=true}: If set to {@code true}, Graphviz is started
+   * before the graph is formatted and the graph is streamed into its standard input while the dot file is written.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "streamToGraphviz", defaultValue = "false")
+  private boolean streamToGraphviz;
+
+  /**
+   * Only relevant when {@code graphFormat=dot} and {@code createImage=true}: Number of threads to run Graphviz
+   * asynchronously. The threads are shared by all modules of the build, which limits the number of concurrent Graphviz
+   * processes in parallel builds. The images of a module are created while the next modules are built, and the execution
+   * for the last module of the build waits until all images are created and reports the modules whose images failed.
+   * Graphviz is run synchronously when set to {@code 0} (which is the default). Asynchronous Graphviz runs are not part
+   * of the reported metrics since they usually complete after the execution.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "graphvizThreads", defaultValue = "0")
+  private int graphvizThreads;
+
+  /**
+   * Only relevant when {@code graphFormat=dot} and {@code createImage=true}: If set to {@code true}, the created images
+   * are stored in the {@code graphvizCacheDirectory}. Graphviz is not executed again as long as the dot file and the
+   * {@code dotArguments} are unchanged. Instead, the images are copied from the cache. The dot file is always written
+   * before the cache is queried, so {@code streamToGraphviz} is ignored when the cache is enabled.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "graphvizCache", defaultValue = "false")
+  private boolean graphvizCache;
+
+  /**
+   * Directory for the cached images when {@code graphvizCache} is enabled. The directory can be shared by several
+   * projects, e.g. by pointing it to a dedicated directory in the user's home. Only the cached images are deleted when
+   * the cache grows beyond {@code graphvizCacheSize}, other files in the directory are left untouched.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "graphvizCacheDirectory", defaultValue = "${project.build.directory}/depgraph-cache/images")
+  private File graphvizCacheDirectory;
+
+  /**
+   * Maximum size of the {@code graphvizCacheDirectory} in megabytes. The least recently used images are deleted when
+   * the cache grows beyond this size.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "graphvizCacheSize", defaultValue = "100")
+  private int graphvizCacheSize;
+
+  /**
+   * If set to {@code true}, the graph file is only replaced when its content changes. The new content is written to a
+   * temporary file and compared with the existing file by its digest. An unchanged graph file keeps its timestamp, which
+   * avoids triggering incremental tools like file watchers.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "writeIfChanged", defaultValue = "false")
+  private boolean writeIfChanged;
+
   /**
    * Only relevant when {@code graphFormat=dot}: Path to a custom style configuration in JSON format.
    *
@@ -173,6 +262,30 @@ abstract class AbstractGraphMojo extends AbstractMojo {
   @Parameter(property = "printStyleConfiguration", defaultValue = "false")
   private boolean printStyleConfiguration;
 
+  /**
+   * If set to {@code true}, the time spent in each phase of the graph creation (e.g. dependency resolution, formatting
+   * or running Graphviz) and counters like the number of visited nodes are printed on the console and written to
+   * {@code <graph file name>-metrics.json} next to the graph file. Otherwise they are only printed in debug mode. The
+   * {@code style-rule-evaluations} counter is the number of style rules matched against the nodes and edges of the dot
+   * graphs, including the matches that were taken from the style cache, so it does not depend on other executions.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "writeMetrics", defaultValue = "false")
+  private boolean writeMetrics;
+
+  /**
+   * If set to {@code true}, a fingerprint of all inputs is stored next to the graph file. The inputs are the POM files of
+   * the project, its parents and the reactor projects it depends on (or of all projects in the reactor for aggregating
+   * goals), the effective configuration of this goal, the custom style configuration and the plugin version. When the fingerprint of the previous execution
+   * matches and the graph file (and the images) still exist, the execution is skipped. Note that changes in dependencies
+   * outside the reactor, e.g. new SNAPSHOT versions, are not detected.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "upToDateCheck", defaultValue = "false")
+  private boolean upToDateCheck;
+
   /**
    * Skip execution when set to {@code true}.
    *
@@ -190,40 +303,90 @@ abstract class AbstractGraphMojo extends AbstractMojo {
   @Parameter(defaultValue = "${project}", readonly = true)
   private MavenProject project;
 
+  @Parameter(defaultValue = "${session}", readonly = true)
+  private MavenSession mavenSession;
+
+  @Parameter(defaultValue = "${mojoExecution}", readonly = true)
+  private MojoExecution mojoExecution;
+
   @Component
   ProjectDependenciesResolver dependenciesResolver;
 
+  private GraphMetrics metrics;
+  private List<GraphFormat> graphFormats;
+  private GraphvizJobs graphvizJobs;
+
   @Override
   public final void execute() throws MojoExecutionException, MojoFailureException {
     if (this.skip) {
       getLog().info("Skipping execution");
+      awaitGraphvizJobs();
       return;
     }
 
-    GraphFormat graphFormat = GraphFormat.forName(this.graphFormat);
-    GraphStyleConfigurer graphStyleConfigurer = createGraphStyleConfigurer(graphFormat);
-    Path graphFilePath = createGraphFilePath(graphFormat);
-
-    try {
-      GraphFactory graphFactory = createGraphFactory(graphStyleConfigurer);
-      String dependencyGraph = graphFactory.createGraph(getProject());
-      writeGraphFile(dependencyGraph, graphFilePath);
-
-      if (graphFormat == GraphFormat.DOT && this.createImage) {
-        createDotGraphImage(graphFilePath);
-      } else if (graphFormat == GraphFormat.TEXT) {
-        getLog().info("Dependency graph:\n" + dependencyGraph);
+    this.metrics = new GraphMetrics();
+    List<GraphFormat> graphFormats = GraphFormat.forNames(this.graphFormat);
+    this.graphFormats = graphFormats;
+    GraphStyleConfigurer graphStyleConfigurer = createGraphStyleConfigurer(graphFormats);
+    List<Path> graphFilePaths = createGraphFilePaths(this.useArtifactIdInFileName ? this.artifactId : this.outputFileName);
+    Path graphFilePath = graphFilePaths.get(0);
+
+    InputFingerprint fingerprint = null;
+    Path fingerprintFile = siblingFile(graphFilePath, "-fingerprint.txt");
+    if (this.upToDateCheck && isUpToDateCheckSupported()) {
+      try {
+        fingerprint = createInputFingerprint();
+        if (fingerprint.matches(fingerprintFile) && outputFilesExist(graphFormats, graphFilePaths)) {
+          getLog().info("Dependency graph is up to date: " + graphFilePath.toAbsolutePath());
+          awaitGraphvizJobs();
+          return;
+        }
+      } catch (IOException e) {
+        throw new MojoExecutionException("Unable to check whether the dependency graph is up to date.", e);
       }
+    }
 
+    this.graphvizJobs = this.graphvizThreads > 0 && this.mavenSession != null ? GraphvizJobs.forSession(this.mavenSession, this.graphvizThreads) : null;
+    try {
+      createGraphs(graphStyleConfigurer, graphFilePaths);
     } catch (DependencyGraphException e) {
       throw new MojoExecutionException("Unable to create dependency graph.", e.getCause());
     } catch (IOException e) {
       throw new MojoExecutionException("Unable to write graph file.", e);
+    } finally {
+      this.graphvizJobs = null;
     }
+
+    awaitGraphvizJobs();
+
+    if (fingerprint != null) {
+      try {
+        fingerprint.write(fingerprintFile);
+      } catch (IOException e) {
+        throw new MojoExecutionException("Unable to write fingerprint file.", e);
+      }
+    }
+
+    reportMetrics(graphFilePath);
   }
 
   protected abstract GraphFactory createGraphFactory(GraphStyleConfigurer graphStyleConfigurer);
 
+  /**
+   * Creates the graph of {@link #getProject()} and writes it to the given graph files. Goals that create several graphs
+   * in one execution override this method and write each graph with {@link #writeOutputs(GraphBuilder, List, String)}.
+   *
+   * @param graphStyleConfigurer The style configurer for all graph formats.
+   * @param graphFilePaths The configured graph file for each graph format.
+   * @throws IOException In case a graph file cannot be written.
+   */
+  void createGraphs(GraphStyleConfigurer graphStyleConfigurer, List<Path> graphFilePaths) throws IOException {
+    MavenProject project = getProject();
+    GraphFactory graphFactory = createGraphFactory(graphStyleConfigurer);
+    GraphBuilder<DependencyNode> dependencyGraph = graphFactory.createGraph(project);
+    writeOutputs(dependencyGraph, graphFilePaths, project.getId());
+  }
+
   /**
    * Override this method to configure additional style resources. It is recommended to call
    * {@code super.getAdditionalStyleResources()} and add them to the set.
@@ -242,18 +405,51 @@ abstract class AbstractGraphMojo extends AbstractMojo {
    * @return {@code true} if the full graph should be shown, {@code false} else.
    */
   protected boolean showFullGraph() {
-    return GraphFormat.forName(this.graphFormat) == JSON && this.showAllAttributesForJson;
+    return GraphFormat.forNames(this.graphFormat).equals(Collections.singletonList(JSON)) && this.showAllAttributesForJson;
+  }
+
+  /**
+   * Indicates whether the inputs of this goal can be fingerprinted for the {@code upToDateCheck}. Override this method
+   * for goals whose inputs are not part of the reactor.
+   *
+   * @return {@code true} if the up-to-date check is supported, {@code false} else.
+   */
+  protected boolean isUpToDateCheckSupported() {
+    return this.mavenSession != null && this.mojoExecution != null;
   }
 
   protected MavenProject getProject() {
     return this.project;
   }
 
+  protected MavenSession getMavenSession() {
+    return this.mavenSession;
+  }
+
+  /**
+   * Returns the metrics of the current execution.
+   */
+  GraphMetrics getMetrics() {
+    return this.metrics;
+  }
+
+  private GraphStyleConfigurer createGraphStyleConfigurer(List<GraphFormat> graphFormats) throws MojoFailureException {
+    if (graphFormats.size() == 1) {
+      return createGraphStyleConfigurer(graphFormats.get(0));
+    }
+
+    List<GraphStyleConfigurer> configurers = new ArrayList<>(graphFormats.size());
+    for (GraphFormat graphFormat : graphFormats) {
+      configurers.add(createGraphStyleConfigurer(graphFormat));
+    }
+
+    return new CompositeGraphStyleConfigurer(configurers);
+  }
+
   private GraphStyleConfigurer createGraphStyleConfigurer(GraphFormat graphFormat) throws MojoFailureException {
     switch (graphFormat) {
       case DOT:
-        StyleConfiguration styleConfiguration = loadStyleConfiguration();
-        return new DotGraphStyleConfigurer(styleConfiguration);
+        return new DotGraphStyleConfigurer(loadStyleConfiguration(), this.metrics);
       case GML:
         return new GmlGraphStyleConfigurer();
       case PUML:
@@ -309,9 +505,23 @@ abstract class AbstractGraphMojo extends AbstractMojo {
     return customStyleResource;
   }
 
-  private Path createGraphFilePath(GraphFormat graphFormat) {
-    String fileName = this.useArtifactIdInFileName ? this.artifactId : this.outputFileName;
-    fileName = addFileExtensionIfNeeded(graphFormat, fileName);
+  /**
+   * Creates the graph file for each graph format of this execution in the output directory.
+   *
+   * @param baseName The file name without extension.
+   * @return The graph files in the order of the graph formats.
+   */
+  List<Path> createGraphFilePaths(String baseName) {
+    List<Path> graphFilePaths = new ArrayList<>(this.graphFormats.size());
+    for (GraphFormat graphFormat : this.graphFormats) {
+      graphFilePaths.add(createGraphFilePath(graphFormat, baseName));
+    }
+
+    return graphFilePaths;
+  }
+
+  private Path createGraphFilePath(GraphFormat graphFormat, String baseName) {
+    String fileName = addFileExtensionIfNeeded(graphFormat, baseName);
 
     // ${project.build.directory} is not resolved when run without a POM file (e.g. for the for-artifact goal)
     if (isOutputDirectoryResolved()) {
@@ -334,74 +544,318 @@ abstract class AbstractGraphMojo extends AbstractMojo {
     return !this.outputDirectory.toString().contains("${project.basedir}");
   }
 
-  private void writeGraphFile(String graph, Path graphFilePath) throws IOException {
+  /**
+   * Writes the graph file of each format. Each format is an output of the graph builder. Several formats are written in
+   * parallel.
+   */
+  void writeOutputs(GraphBuilder<DependencyNode> graph, List<Path> graphFilePaths, String projectId) throws IOException {
+    List<GraphFormat> graphFormats = this.graphFormats;
+    if (graphFormats.size() == 1) {
+      writeOutput(graph, 0, graphFormats.get(0), graphFilePaths.get(0), projectId);
+      return;
+    }
+
+    ThreadFactory threadFactory = new ThreadFactoryBuilder()
+        .setNameFormat("depgraph-formatter-%d")
+        .setDaemon(true)
+        .build();
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(graphFormats.size(), Runtime.getRuntime().availableProcessors()), threadFactory);
+
+    try {
+      List<Future<?>> outputs = new ArrayList<>(graphFormats.size());
+      for (int i = 0; i < graphFormats.size(); i++) {
+        int output = i;
+        outputs.add(executor.submit(() -> {
+          writeOutput(graph, output, graphFormats.get(output), graphFilePaths.get(output), projectId);
+          return null;
+        }));
+      }
+
+      for (Future<?> output : outputs) {
+        awaitOutput(output);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void awaitOutput(Future<?> output) throws IOException {
+    try {
+      output.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while writing the graph files", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+
+      throw new IOException(cause);
+    }
+  }
+
+  private void writeOutput(GraphBuilder<DependencyNode> graph, int output, GraphFormat graphFormat, Path graphFilePath, String projectId) throws IOException {
+    if (graphFormat == GraphFormat.DOT && this.createImage) {
+      createGraphFileAndImage(graph, output, graphFilePath, projectId);
+    } else {
+      writeGraphFile(graph, output, graphFilePath, null);
+
+      if (graphFormat == GraphFormat.TEXT) {
+        getLog().info("Dependency graph:\n" + new String(Files.readAllBytes(graphFilePath), StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  private void createGraphFileAndImage(GraphBuilder<DependencyNode> graph, int output, Path graphFilePath, String projectId) throws IOException {
+    List<String> dotArguments = getDotArguments();
+    GraphvizCommand graphvizCommand = createGraphvizCommand(graphFilePath, dotArguments);
+    GraphvizImageCache imageCache = createImageCache();
+
+    GraphvizJob graphvizJob;
+    if (imageCache != null) {
+      writeGraphFile(graph, output, graphFilePath, null);
+      String key = GraphvizImageCache.createKey(graphFilePath, determineDotExecutable(), dotArguments);
+      Map<String, Path> imageFiles = graphvizCommand.getImageFiles();
+      if (imageCache.restore(key, imageFiles)) {
+        for (Path imageFile : imageFiles.values()) {
+          getLog().info("Graph image restored from cache on " + imageFile.toAbsolutePath());
+        }
+        return;
+      }
+
+      graphvizJob = () -> {
+        graphvizCommand.run();
+        imageCache.store(key, imageFiles);
+      };
+    } else if (this.streamToGraphviz) {
+      RunningGraphviz graphviz = graphvizCommand.start();
+      try {
+        writeGraphFile(graph, output, graphFilePath, graphviz);
+      } catch (IOException | RuntimeException e) {
+        graphviz.destroy();
+        throw e;
+      }
+      graphvizJob = graphviz::awaitCompletion;
+    } else {
+      writeGraphFile(graph, output, graphFilePath, null);
+      graphvizJob = graphvizCommand::run;
+    }
+
+    int nodeCount = graph.getNodeCount();
+    int edgeCount = graph.getEdgeCount();
+    if (this.graphvizJobs != null) {
+      this.graphvizJobs.submit(projectId, () -> {
+        GraphEvent event = GraphEvents.graphvizExecution();
+        graphvizJob.run();
+        event.commit(projectId, nodeCount, edgeCount);
+      });
+    } else {
+      GraphEvent event = GraphEvents.graphvizExecution();
+      try (Timer timer = this.metrics.start(GRAPHVIZ)) {
+        graphvizJob.run();
+      }
+      event.commit(projectId, nodeCount, edgeCount);
+    }
+  }
+
+  private void writeGraphFile(GraphBuilder<DependencyNode> graph, int output, Path graphFilePath, RunningGraphviz graphviz) throws IOException {
     Path parent = graphFilePath.getParent();
     if (parent != null) {
       Files.createDirectories(parent);
     }
 
-    try (Writer writer = Files.newBufferedWriter(graphFilePath, StandardCharsets.UTF_8)) {
-      writer.write(graph);
+    // The time spent in the file stream is the file write phase, everything else is formatting. The file write time is
+    // measured separately since several graph files may be written concurrently.
+    GraphMetrics fileMetrics = new GraphMetrics();
+    long start = System.nanoTime();
+    IfChangedFile ifChangedFile = this.writeIfChanged ? new IfChangedFile(graphFilePath) : null;
+    try {
+      // The file stream is closed by the writer as well. It is closed here in case the writer cannot be created.
+      try (OutputStream fileStream = ifChangedFile != null ? ifChangedFile.openStream() : Files.newOutputStream(graphFilePath)) {
+        OutputStream os = fileMetrics.measure(FILE_WRITE, fileStream);
+        if (graphviz != null) {
+          os = graphviz.teeInto(os);
+        }
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8.newEncoder()))) {
+          graph.writeTo(output, writer);
+        }
+      }
+
+      if (ifChangedFile != null) {
+        boolean changed;
+        try (Timer timer = fileMetrics.start(FILE_WRITE)) {
+          changed = ifChangedFile.commit();
+        }
+
+        if (!changed) {
+          this.metrics.increment(GRAPH_FILES_UNCHANGED);
+          getLog().info("Graph file is unchanged: " + graphFilePath.toAbsolutePath());
+        }
+      }
+    } finally {
+      if (ifChangedFile != null) {
+        ifChangedFile.close();
+      }
+    }
+
+    long elapsed = System.nanoTime() - start;
+    long fileWriteNanos = fileMetrics.getNanos(FILE_WRITE);
+    this.metrics.addNanos(FILE_WRITE, fileWriteNanos);
+    this.metrics.addNanos(FORMATTING, elapsed - fileWriteNanos);
+  }
+
+  private void reportMetrics(Path graphFilePath) throws MojoExecutionException {
+    String summary = "Graph metrics: " + this.metrics;
+    if (!this.writeMetrics) {
+      getLog().debug(summary);
+      return;
+    }
+
+    getLog().info(summary);
+    Path metricsFile = siblingFile(graphFilePath, "-metrics.json");
+
+    try {
+      this.metrics.writeJson(metricsFile);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Unable to write metrics file.", e);
     }
   }
 
-  private void createDotGraphImage(Path graphFilePath) throws IOException {
-    String graphFileName = createDotImageFileName(graphFilePath);
-    Path graphFile = graphFilePath.resolveSibling(graphFileName);
+  /**
+   * Creates a file next to the graph file, e.g. {@code dependency-graph-metrics.json} for {@code dependency-graph.dot}.
+   */
+  private static Path siblingFile(Path graphFilePath, String suffix) {
+    String graphFileName = graphFilePath.getFileName().toString();
+    int extensionIndex = graphFileName.lastIndexOf('.');
+    String baseName = extensionIndex > 0 ? graphFileName.substring(0, extensionIndex) : graphFileName;
+    return graphFilePath.resolveSibling(baseName + suffix);
+  }
 
-    String dotExecutable = determineDotExecutable();
-    String[] arguments = new String[]{
-        "-T", this.imageFormat,
-        "-o", graphFile.toAbsolutePath().toString(),
-        graphFilePath.toAbsolutePath().toString()};
+  private InputFingerprint createInputFingerprint() throws IOException, MojoFailureException {
+    MojoDescriptor mojoDescriptor = this.mojoExecution.getMojoDescriptor();
+    InputFingerprint fingerprint = new InputFingerprint()
+        .putString(mojoDescriptor.getPluginDescriptor().getId())
+        .putString(mojoDescriptor.getGoal())
+        .putConfiguration(this.mavenSession, this.mojoExecution);
 
-    if (StringUtils.isNotBlank(this.dotArguments)) {
-      String[] dotArguments = this.dotArguments.split(" +");
-      arguments = ArrayUtils.addAll(arguments, dotArguments);
+    if (StringUtils.isNotBlank(this.customStyleConfiguration)) {
+      try (InputStream is = getCustomStyleResource().openStream()) {
+        fingerprint.putContent(is);
+      }
     }
 
-    Commandline cmd = new Commandline();
-    cmd.setExecutable(dotExecutable);
-    cmd.addArguments(arguments);
+    Set<MavenProject> projects = new LinkedHashSet<>();
+    ProjectDependencyGraph projectDependencyGraph = this.mavenSession.getProjectDependencyGraph();
+    if (mojoDescriptor.isAggregator() || projectDependencyGraph == null) {
+      projects.addAll(this.mavenSession.getProjects());
+    } else {
+      // The dependencies of reactor projects are part of the graph, so their POM files are inputs, too
+      List<MavenProject> reactorProjects = new ArrayList<>();
+      reactorProjects.add(this.project);
+      reactorProjects.addAll(projectDependencyGraph.getUpstreamProjects(this.project, true));
+      for (MavenProject reactorProject : reactorProjects) {
+        for (MavenProject current = reactorProject; current != null; current = current.getParent()) {
+          projects.add(current);
+        }
+      }
+    }
 
-    getLog().info("Running Graphviz: " + dotExecutable + " " + Joiner.on(" ").join(arguments));
+    for (MavenProject project : projects) {
+      fingerprint.putString(project.getId())
+          .putFile(project.getFile() != null ? project.getFile().toPath() : null);
+    }
 
-    StringStreamConsumer systemOut = new StringStreamConsumer();
-    StringStreamConsumer systemErr = new StringStreamConsumer();
-    int exitCode;
+    return fingerprint;
+  }
 
-    try {
-      exitCode = CommandLineUtils.executeCommandLine(cmd, systemOut, systemErr);
-    } catch (CommandLineException e) {
-      throw new IOException("Unable to execute Graphviz", e);
+  private boolean outputFilesExist(List<GraphFormat> graphFormats, List<Path> graphFilePaths) throws IOException {
+    for (int i = 0; i < graphFormats.size(); i++) {
+      Path graphFilePath = graphFilePaths.get(i);
+      if (!Files.isRegularFile(graphFilePath)) {
+        return false;
+      }
+
+      if (graphFormats.get(i) == GraphFormat.DOT && this.createImage) {
+        for (Path imageFile : createGraphvizCommand(graphFilePath, getDotArguments()).getImageFiles().values()) {
+          if (!Files.isRegularFile(imageFile)) {
+            return false;
+          }
+        }
+      }
     }
 
-    Splitter lineSplitter = Splitter.on(LINE_SEPARATOR_PATTERN).omitEmptyStrings().trimResults();
-    Iterable<String> output = Iterables.concat(
-        lineSplitter.split(systemOut.getOutput()),
-        lineSplitter.split(systemErr.getOutput()));
+    return true;
+  }
 
-    for (String line : output) {
-      getLog().info("  dot> " + line);
+  private GraphvizCommand createGraphvizCommand(Path graphFilePath, List<String> dotArguments) throws IOException {
+    List<String> imageFormats = Splitter.on(',').trimResults().omitEmptyStrings().splitToList(this.imageFormat);
+    if (imageFormats.isEmpty()) {
+      throw new IOException("No image format configured.");
     }
 
-    if (exitCode != 0) {
-      throw new IOException("Graphviz terminated abnormally. Exit code: " + exitCode);
+    return new GraphvizCommand(determineDotExecutable(), graphFilePath, imageFormats, dotArguments, getLog());
+  }
+
+  private List<String> getDotArguments() {
+    if (StringUtils.isBlank(this.dotArguments)) {
+      return Collections.emptyList();
     }
 
-    getLog().info("Graph image created on " + graphFile.toAbsolutePath());
+    return Splitter.onPattern(" +").omitEmptyStrings().splitToList(this.dotArguments);
   }
 
-  private String createDotImageFileName(Path graphFilePath) {
-    String graphFileName = graphFilePath.getFileName().toString();
+  private GraphvizImageCache createImageCache() {
+    if (!this.graphvizCache) {
+      return null;
+    }
 
-    if (graphFileName.endsWith(GraphFormat.DOT.getFileExtension())) {
-      graphFileName = graphFileName.substring(0, graphFileName.lastIndexOf(".")) + "." + this.imageFormat;
-    } else {
-      graphFileName = graphFileName + this.imageFormat;
+    // ${project.build.directory} is not resolved when run without a POM file (e.g. for the for-artifact goal)
+    if (this.graphvizCacheDirectory.toString().contains("${")) {
+      getLog().info("Graphviz cache is not available without a project.");
+      return null;
+    }
+
+    return new GraphvizImageCache(this.graphvizCacheDirectory.toPath(), this.graphvizCacheSize * 1024L * 1024L);
+  }
+
+  /**
+   * Waits for the asynchronous Graphviz jobs of all modules if this is the last execution of the build. Aggregators
+   * wait as well since they usually depend on the images of the modules.
+   */
+  private void awaitGraphvizJobs() throws MojoExecutionException {
+    if (this.mavenSession == null) {
+      return;
+    }
+
+    GraphvizJobs graphvizJobs = GraphvizJobs.getIfPresent(this.mavenSession);
+    if (graphvizJobs == null) {
+      return;
+    }
+
+    try {
+      if (isLastProject()) {
+        graphvizJobs.close();
+      } else if (isAggregator()) {
+        graphvizJobs.awaitAll();
+      }
+    } catch (IOException e) {
+      throw new MojoExecutionException("Unable to create graph image.", e);
     }
+  }
+
+  private boolean isLastProject() {
+    ProjectDependencyGraph projectDependencyGraph = this.mavenSession.getProjectDependencyGraph();
+    List<MavenProject> projects = projectDependencyGraph != null ? projectDependencyGraph.getSortedProjects() : this.mavenSession.getProjects();
+    return projects == null || projects.isEmpty() || projects.get(projects.size() - 1).equals(this.project);
+  }
 
-    return graphFileName;
+  private boolean isAggregator() {
+    return this.mojoExecution != null && this.mojoExecution.getMojoDescriptor() != null && this.mojoExecution.getMojoDescriptor().isAggregator();
   }
 
   private String determineDotExecutable() throws IOException {
@@ -60,12 +60,14 @@ public class AggregatingDependencyGraphByGroupIdMojo extends AbstractAggregating
         .showOptional(false)
         .showScope(true)
         .repeatTransitiveDependencies(this.repeatTransitiveDependenciesInTextGraph)
+        .useBackReferences(this.useBackReferencesInTextGraph)
+        .maxLines(this.maxTextGraphLines)
         .configure(GraphBuilder.create(nodeIdRenderer))
         .omitSelfReferences();
 
-    MavenGraphAdapter adapter = new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
+    MavenGraphAdapter adapter = createMavenGraphAdapter(transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
 
-    return new AggregatingGraphFactory(adapter, subProjectsInReactorOrder(), globalFilter, graphBuilder, true, this.reduceEdges);
+    return new AggregatingGraphFactory(adapter, subProjectsInReactorOrder(), globalFilter, graphBuilder, true, this.reduceEdges, this.resolutionThreads, getMetrics());
   }
 
   @Override
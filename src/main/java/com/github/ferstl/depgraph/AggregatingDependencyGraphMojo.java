@@ -127,10 +127,12 @@ public class AggregatingDependencyGraphMojo extends AbstractAggregatingDependenc
         // This graph won't show any conflicting dependencies. So don't show versions on edges
         .showVersionsOnEdges(false)
         .repeatTransitiveDependencies(this.repeatTransitiveDependenciesInTextGraph)
+        .useBackReferences(this.useBackReferencesInTextGraph)
+        .maxLines(this.maxTextGraphLines)
         .configure(GraphBuilder.create(nodeIdRenderer));
 
-    MavenGraphAdapter adapter = new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
-    return new AggregatingGraphFactory(adapter, subProjectsInReactorOrder(), globalFilter, graphBuilder, this.includeParentProjects, this.reduceEdges);
+    MavenGraphAdapter adapter = createMavenGraphAdapter(transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
+    return new AggregatingGraphFactory(adapter, subProjectsInReactorOrder(), globalFilter, graphBuilder, this.includeParentProjects, this.reduceEdges, this.resolutionThreads, getMetrics());
   }
 
   private void handleOptionsForFullGraph() {
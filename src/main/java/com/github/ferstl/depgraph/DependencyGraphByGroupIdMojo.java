@@ -56,7 +56,7 @@ public class DependencyGraphByGroupIdMojo extends AbstractDependencyGraphMojo {
         .configure(GraphBuilder.create(DependencyNodeIdRenderer.groupId().withScope(true)))
         .omitSelfReferences();
 
-    MavenGraphAdapter adapter = new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
+    MavenGraphAdapter adapter = createMavenGraphAdapter(transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
     return new SimpleGraphFactory(adapter, globalFilter, graphBuilder);
   }
 
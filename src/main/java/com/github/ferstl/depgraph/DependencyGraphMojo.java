@@ -163,10 +163,10 @@ public class DependencyGraphMojo extends AbstractDependencyGraphMojo {
       resolutions = !this.showConflicts ? complementOf(of(NodeResolution.OMITTED_FOR_CONFLICT)) : resolutions;
       resolutions = !this.showDuplicates ? complementOf(of(NodeResolution.OMITTED_FOR_DUPLICATE)) : resolutions;
 
-      adapter = new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, resolutions);
+      adapter = createMavenGraphAdapter(transitiveIncludeExcludeFilter, targetFilter, resolutions);
     } else {
       // there are no reachable paths to be omitted
-      adapter = new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
+      adapter = createMavenGraphAdapter(transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
     }
     return adapter;
   }
@@ -69,7 +69,7 @@ public class ExampleDependencyGraphMojo extends DependencyGraphMojo {
 
 
     @Override
-    public String createGraph(MavenProject project) {
+    public GraphBuilder<DependencyNode> createGraph(MavenProject project) {
       DefaultArtifact aA = new DefaultArtifact("com.example", "artifact-a", "1.0.0", SCOPE_COMPILE, "jar", "", null);
       DefaultArtifact aB = new DefaultArtifact("com.example", "artifact-b", "1.0.0", SCOPE_COMPILE, "jar", "", null);
       DefaultArtifact aC = new DefaultArtifact("com.example", "artifact-c", "2.0.0", SCOPE_COMPILE, "jar", "", null);
@@ -101,7 +101,7 @@ public class ExampleDependencyGraphMojo extends DependencyGraphMojo {
       addEdge(nB, nG);
       addEdge(nB, nZ);
 
-      return this.graphBuilder.toString();
+      return this.graphBuilder;
     }
 
     private void addEdge(DependencyNode from, DependencyNode to) {
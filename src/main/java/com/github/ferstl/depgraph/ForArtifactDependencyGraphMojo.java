@@ -15,12 +15,26 @@
  */
 package com.github.ferstl.depgraph;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.handler.DefaultArtifactHandler;
-import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -31,10 +45,16 @@ import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.project.ProjectBuildingException;
 import org.apache.maven.project.ProjectBuildingRequest;
+import com.github.ferstl.depgraph.dependency.DependencyNode;
+import com.github.ferstl.depgraph.dependency.GraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.SimpleGraphFactory;
+import com.github.ferstl.depgraph.graph.GraphBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import static org.apache.maven.artifact.Artifact.SCOPE_COMPILE;
 
 /**
- * Creates a dependency graph from an arbitrary artifact.
+ * Creates a dependency graph from an arbitrary artifact. With the {@code artifacts} or {@code artifactsFile} parameter,
+ * a graph is created for each of several artifacts in one execution.
  *
  * @since 3.3.0
  */
@@ -106,56 +126,255 @@ public class ForArtifactDependencyGraphMojo extends DependencyGraphMojo {
   @Parameter(property = "profiles")
   private List<String> profiles;
 
-  @Parameter(defaultValue = "${session}", readonly = true, required = true)
-  private MavenSession session;
+  /**
+   * List of artifacts in the form of {@code groupId:artifactId:version[:packaging[:classifier]]} to create a graph for.
+   * A graph file named {@code <groupId>_<artifactId>_<version>} is written for each artifact. This parameter cannot be
+   * combined with {@code artifact} or {@code groupId}/{@code artifactId}/{@code version}.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "artifacts")
+  private List<String> artifacts;
+
+  /**
+   * File containing artifacts in the form of {@code groupId:artifactId:version[:packaging[:classifier]]}, one per line.
+   * Empty lines and lines starting with {@code #} are ignored. The artifacts are added to the {@code artifacts}
+   * parameter.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "artifactsFile")
+  private File artifactsFile;
+
+  /**
+   * Only relevant with {@code artifacts} or {@code artifactsFile}: If set to {@code true}, the union of the dependency
+   * graphs of all artifacts is additionally written to the graph file configured by {@code outputFileName}.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "unionGraph", defaultValue = "false")
+  private boolean unionGraph;
+
+  /**
+   * Only relevant with {@code artifacts} or {@code artifactsFile}: Number of threads to build the Maven projects of
+   * the artifacts. The created graphs do not depend on this setting.
+   *
+   * @since 4.1.0
+   */
+  @Parameter(property = "projectBuildingThreads", defaultValue = "4")
+  private int projectBuildingThreads;
 
   @Component
   private ProjectBuilder projectBuilder;
 
+  @Override
+  protected boolean isUpToDateCheckSupported() {
+    // The artifact is resolved from a repository and not part of the reactor
+    return false;
+  }
+
   @Override
   public MavenProject getProject() {
-    ProjectBuildingRequest buildingRequest = new DefaultProjectBuildingRequest(this.session.getProjectBuildingRequest());
-    buildingRequest.setRepositorySession(this.session.getRepositorySession());
+    return buildProject(createArtifact());
+  }
+
+  @Override
+  void createGraphs(GraphStyleConfigurer graphStyleConfigurer, List<Path> graphFilePaths) throws IOException {
+    List<String> batchArtifacts = getBatchArtifacts();
+    if (batchArtifacts.isEmpty()) {
+      super.createGraphs(graphStyleConfigurer, graphFilePaths);
+      return;
+    }
+
+    List<Artifact> artifacts = new ArrayList<>(batchArtifacts.size());
+    Map<String, Artifact> artifactsByBaseName = new HashMap<>();
+    for (String batchArtifact : batchArtifacts) {
+      Artifact artifact = createArtifact(batchArtifact);
+      Artifact duplicate = artifactsByBaseName.put(createBaseName(artifact), artifact);
+      if (duplicate != null) {
+        throw new IllegalArgumentException("The artifacts '" + duplicate + "' and '" + artifact + "' would be written to the same graph file");
+      }
+      artifacts.add(artifact);
+    }
+
+    List<MavenProject> projects = buildProjects(artifacts);
+    SimpleGraphFactory unionGraphFactory = this.unionGraph ? createSimpleGraphFactory(graphStyleConfigurer) : null;
+    GraphBuilder<DependencyNode> union = null;
+    for (int i = 0; i < projects.size(); i++) {
+      MavenProject project = projects.get(i);
+      SimpleGraphFactory graphFactory = createSimpleGraphFactory(graphStyleConfigurer);
+      // The dependencies are resolved once for the graph of the artifact and the union graph
+      org.eclipse.aether.graph.DependencyNode root = graphFactory.resolveDependencyGraph(project);
+      GraphBuilder<DependencyNode> graph = graphFactory.createGraph(project, root);
+      writeOutputs(graph, createGraphFilePaths(createBaseName(artifacts.get(i))), project.getId());
+
+      if (unionGraphFactory != null) {
+        union = unionGraphFactory.createGraph(project, root);
+      }
+    }
+
+    if (union != null) {
+      writeOutputs(union.graphName("union"), graphFilePaths, "union");
+    }
+  }
+
+  /**
+   * Creates the base name of the graph files of the given artifact. The type and the classifier are only part of the
+   * name if they differ from the defaults, so artifacts like {@code g:a:1} and {@code g:a:1:test-jar:tests} get their
+   * own graph files.
+   */
+  private static String createBaseName(Artifact artifact) {
+    StringBuilder baseName = new StringBuilder()
+        .append(artifact.getGroupId()).append('_')
+        .append(artifact.getArtifactId()).append('_')
+        .append(artifact.getVersion());
+    if (!"jar".equals(artifact.getType())) {
+      baseName.append('_').append(artifact.getType());
+    }
+    if (StringUtils.isNotBlank(artifact.getClassifier())) {
+      baseName.append('_').append(artifact.getClassifier());
+    }
+
+    return baseName.toString();
+  }
+
+  /**
+   * Creates a graph factory with a new graph builder. The graph factory of this goal is always a
+   * {@link SimpleGraphFactory}, see {@link DependencyGraphMojo}.
+   */
+  private SimpleGraphFactory createSimpleGraphFactory(GraphStyleConfigurer graphStyleConfigurer) {
+    return (SimpleGraphFactory) createGraphFactory(graphStyleConfigurer);
+  }
+
+  /**
+   * Builds the Maven projects of the given artifacts concurrently. All projects share the repository session of the
+   * Maven session, so artifacts that are common to several projects are only resolved once.
+   */
+  private List<MavenProject> buildProjects(List<Artifact> artifacts) {
+    ThreadFactory threadFactory = new ThreadFactoryBuilder()
+        .setNameFormat("depgraph-project-builder-%d")
+        .setDaemon(true)
+        .build();
+    ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(this.projectBuildingThreads, artifacts.size())), threadFactory);
+
+    try {
+      List<Future<MavenProject>> futures = new ArrayList<>(artifacts.size());
+      for (Artifact artifact : artifacts) {
+        futures.add(executor.submit(() -> buildProject(artifact)));
+      }
+
+      List<MavenProject> projects = new ArrayList<>(futures.size());
+      for (Future<MavenProject> future : futures) {
+        projects.add(awaitProject(future));
+      }
+
+      return projects;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static MavenProject awaitProject(Future<MavenProject> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while creating Maven projects", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  private MavenProject buildProject(Artifact artifact) {
+    ProjectBuildingRequest buildingRequest = new DefaultProjectBuildingRequest(getMavenSession().getProjectBuildingRequest());
+    buildingRequest.setRepositorySession(getMavenSession().getRepositorySession());
     buildingRequest.setProject(null);
     buildingRequest.setResolveDependencies(true);
     buildingRequest.setActiveProfileIds(this.profiles);
 
-    Artifact artifact = createArtifact();
     try {
       return this.projectBuilder.build(artifact, buildingRequest).getProject();
     } catch (ProjectBuildingException e) {
       throw new IllegalStateException("Error while creating Maven project from Artifact '" + artifact + "'.", e);
     }
+  }
+
+  /**
+   * Returns the artifacts of the {@code artifacts} and {@code artifactsFile} parameters without duplicates.
+   */
+  private List<String> getBatchArtifacts() {
+    Set<String> batchArtifacts = new LinkedHashSet<>();
+    if (this.artifacts != null) {
+      for (String batchArtifact : this.artifacts) {
+        if (StringUtils.isNotBlank(batchArtifact)) {
+          batchArtifacts.add(batchArtifact.trim());
+        }
+      }
+    }
 
+    if (this.artifactsFile != null) {
+      for (String line : readArtifactsFile()) {
+        String batchArtifact = line.trim();
+        if (!batchArtifact.isEmpty() && !batchArtifact.startsWith("#")) {
+          batchArtifacts.add(batchArtifact);
+        }
+      }
+    }
+
+    if (!batchArtifacts.isEmpty()
+        && (StringUtils.isNotBlank(this.artifact)
+        || StringUtils.isNotBlank(this.groupId)
+        || StringUtils.isNotBlank(this.artifactId)
+        || StringUtils.isNotBlank(this.version))) {
+      throw new IllegalArgumentException("Artifacts can be defined with either 'artifacts'/'artifactsFile' or 'artifact'/'groupId'/'artifactId'/'version' but not both");
+    }
+
+    return new ArrayList<>(batchArtifacts);
+  }
+
+  private List<String> readArtifactsFile() {
+    try {
+      return Files.readAllLines(this.artifactsFile.toPath(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Unable to read artifacts file: " + this.artifactsFile, e);
+    }
   }
 
   private Artifact createArtifact() {
     validateParameters();
 
-    String groupId = this.groupId;
-    String artifactId = this.artifactId;
-    String version = this.version;
-    String type = this.type;
-    String classifier = this.classifier;
-
     if (StringUtils.isNotBlank(this.artifact)) {
-      String[] parts = this.artifact.split(":");
+      return createArtifact(this.artifact);
+    }
 
-      // At least groupId/artifactId/version is required
-      if (parts.length < 3) {
-        throw new IllegalArgumentException("Invalid artifact definition: " + this.artifact);
-      }
+    return new DefaultArtifact(this.groupId, this.artifactId, this.version, SCOPE_COMPILE, this.type, this.classifier, new DefaultArtifactHandler());
+  }
 
-      groupId = parts[0];
-      artifactId = parts[1];
-      version = parts[2];
-      if (parts.length > 3 && StringUtils.isNotBlank(parts[3])) {
-        type = parts[3];
-      }
-      if (parts.length > 4) {
-        classifier = parts[4];
-      }
+  private Artifact createArtifact(String coordinates) {
+    String type = this.type;
+    String classifier = this.classifier;
+    String[] parts = coordinates.split(":");
 
+    // At least groupId/artifactId/version is required
+    if (parts.length < 3) {
+      throw new IllegalArgumentException("Invalid artifact definition: " + coordinates);
+    }
+
+    String groupId = parts[0];
+    String artifactId = parts[1];
+    String version = parts[2];
+    if (parts.length > 3 && StringUtils.isNotBlank(parts[3])) {
+      type = parts[3];
+    }
+    if (parts.length > 4) {
+      classifier = parts[4];
     }
 
     return new DefaultArtifact(groupId, artifactId, version, SCOPE_COMPILE, type, classifier, new DefaultArtifactHandler());
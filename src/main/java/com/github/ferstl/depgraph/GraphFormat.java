@@ -15,6 +15,12 @@
  */
 package com.github.ferstl.depgraph;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import com.google.common.base.Splitter;
+
 public enum GraphFormat {
   DOT,
   GML,
@@ -35,6 +41,25 @@ public enum GraphFormat {
     }
   }
 
+  /**
+   * Parses a comma-separated list of graph formats. Duplicates are ignored.
+   *
+   * @param names Comma-separated list of format names.
+   * @return The formats in the given order.
+   */
+  public static List<GraphFormat> forNames(String names) {
+    Set<GraphFormat> formats = new LinkedHashSet<>();
+    for (String name : Splitter.on(',').trimResults().omitEmptyStrings().split(names)) {
+      formats.add(forName(name));
+    }
+
+    if (formats.isEmpty()) {
+      throw new IllegalArgumentException("No output format: " + names);
+    }
+
+    return new ArrayList<>(formats);
+  }
+
   public String getFileExtension() {
     return "." + name().toLowerCase();
   }
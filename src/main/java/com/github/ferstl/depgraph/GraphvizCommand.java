@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.CommandLineUtils.StringStreamConsumer;
+import org.codehaus.plexus.util.cli.Commandline;
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.collect.Iterables;
+import com.google.common.io.ByteStreams;
+
+/**
+ * Invocation of Graphviz' dot executable. All configured image formats are created by a single invocation using one
+ * {@code -T}/{@code -o} pair per format. The DOT graph is either read from the graph file or streamed into the standard
+ * input of the dot process while it is written (see {@link #start()}).
+ */
+final class GraphvizCommand {
+
+  private static final Pattern LINE_SEPARATOR_PATTERN = Pattern.compile("\r?\n");
+
+  private final String dotExecutable;
+  private final Path graphFile;
+  private final List<String> imageFormats;
+  private final List<String> additionalArguments;
+  private final Log log;
+
+  GraphvizCommand(String dotExecutable, Path graphFile, List<String> imageFormats, List<String> additionalArguments, Log log) {
+    this.dotExecutable = dotExecutable;
+    this.graphFile = graphFile;
+    this.imageFormats = imageFormats;
+    this.additionalArguments = additionalArguments;
+    this.log = log;
+  }
+
+  /**
+   * Runs dot on the graph file, which has to be completely written.
+   *
+   * @throws IOException In case dot cannot be executed or terminates abnormally.
+   */
+  void run() throws IOException {
+    String[] arguments = createArguments(true);
+
+    Commandline cmd = new Commandline();
+    cmd.setExecutable(this.dotExecutable);
+    cmd.addArguments(arguments);
+
+    this.log.info("Running Graphviz: " + this.dotExecutable + " " + Joiner.on(" ").join(arguments));
+
+    StringStreamConsumer systemOut = new StringStreamConsumer();
+    StringStreamConsumer systemErr = new StringStreamConsumer();
+    int exitCode;
+
+    try {
+      exitCode = CommandLineUtils.executeCommandLine(cmd, systemOut, systemErr);
+    } catch (CommandLineException e) {
+      throw new IOException("Unable to execute Graphviz", e);
+    }
+
+    handleResult(exitCode, systemOut.getOutput(), systemErr.getOutput());
+  }
+
+  /**
+   * Starts dot reading the graph from its standard input. Use {@link RunningGraphviz#teeInto(OutputStream)} to write the
+   * graph file and the input of dot at the same time.
+   *
+   * @return The running dot process.
+   * @throws IOException In case dot cannot be started.
+   */
+  RunningGraphviz start() throws IOException {
+    String[] arguments = createArguments(false);
+    List<String> command = new ArrayList<>(arguments.length + 1);
+    command.add(this.dotExecutable);
+    command.addAll(Arrays.asList(arguments));
+
+    this.log.info("Running Graphviz: " + Joiner.on(" ").join(command) + " < " + this.graphFile.toAbsolutePath());
+
+    Process process;
+    try {
+      process = new ProcessBuilder(command)
+          .redirectErrorStream(true)
+          .start();
+    } catch (IOException e) {
+      throw new IOException("Unable to execute Graphviz", e);
+    }
+
+    return new RunningGraphviz(process);
+  }
+
+  String[] createArguments(boolean readFromFile) {
+    List<String> arguments = new ArrayList<>();
+    for (String imageFormat : this.imageFormats) {
+      arguments.add("-T");
+      arguments.add(imageFormat);
+      arguments.add("-o");
+      arguments.add(getImageFile(imageFormat).toAbsolutePath().toString());
+    }
+
+    if (readFromFile) {
+      arguments.add(this.graphFile.toAbsolutePath().toString());
+    }
+
+    arguments.addAll(this.additionalArguments);
+    return arguments.toArray(new String[0]);
+  }
+
+  /**
+   * Returns the image files which are created by dot.
+   *
+   * @return The image files by image format.
+   */
+  Map<String, Path> getImageFiles() {
+    Map<String, Path> imageFiles = new LinkedHashMap<>();
+    for (String imageFormat : this.imageFormats) {
+      imageFiles.put(imageFormat, getImageFile(imageFormat));
+    }
+
+    return imageFiles;
+  }
+
+  Path getImageFile(String imageFormat) {
+    String graphFileName = this.graphFile.getFileName().toString();
+
+    String imageFileName;
+    if (graphFileName.endsWith(GraphFormat.DOT.getFileExtension())) {
+      imageFileName = graphFileName.substring(0, graphFileName.lastIndexOf(".")) + "." + imageFormat;
+    } else {
+      imageFileName = graphFileName + imageFormat;
+    }
+
+    return this.graphFile.resolveSibling(imageFileName);
+  }
+
+  private void handleResult(int exitCode, String systemOut, String systemErr) throws IOException {
+    Splitter lineSplitter = Splitter.on(LINE_SEPARATOR_PATTERN).omitEmptyStrings().trimResults();
+    Iterable<String> output = Iterables.concat(
+        lineSplitter.split(systemOut),
+        lineSplitter.split(systemErr));
+
+    for (String line : output) {
+      this.log.info("  dot> " + line);
+    }
+
+    if (exitCode != 0) {
+      throw new IOException("Graphviz terminated abnormally. Exit code: " + exitCode);
+    }
+
+    for (String imageFormat : this.imageFormats) {
+      this.log.info("Graph image created on " + getImageFile(imageFormat).toAbsolutePath());
+    }
+  }
+
+  /**
+   * A dot process which reads the graph from its standard input.
+   */
+  final class RunningGraphviz {
+
+    private final Process process;
+    private final Thread outputReader;
+    private final ByteArrayOutputStream output;
+
+    RunningGraphviz(Process process) {
+      this.process = process;
+      this.output = new ByteArrayOutputStream();
+      // dot may block if its output is not consumed
+      this.outputReader = new Thread(() -> {
+        try (InputStream is = process.getInputStream()) {
+          ByteStreams.copy(is, this.output);
+        } catch (IOException e) {
+          // The process was destroyed
+        }
+      }, "depgraph-graphviz-output");
+      this.outputReader.setDaemon(true);
+      this.outputReader.start();
+    }
+
+    /**
+     * Creates a stream which writes to the given stream and to the standard input of dot. Closing the stream closes both
+     * streams. Failures of dot, e.g. because it terminates early, do not affect the given stream. They are reported by
+     * {@link #awaitCompletion()}.
+     *
+     * @param out The stream to write the graph file.
+     * @return The combined stream.
+     */
+    OutputStream teeInto(OutputStream out) {
+      return new TeeOutputStream(out, this.process.getOutputStream());
+    }
+
+    /**
+     * Waits until dot terminates. The standard input of dot must have been closed before.
+     *
+     * @throws IOException In case dot terminates abnormally.
+     */
+    void awaitCompletion() throws IOException {
+      int exitCode;
+      try {
+        exitCode = this.process.waitFor();
+        this.outputReader.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        this.process.destroy();
+        throw new IOException("Interrupted while waiting for Graphviz", e);
+      }
+
+      handleResult(exitCode, new String(this.output.toByteArray(), Charset.defaultCharset()), "");
+    }
+
+    /**
+     * Terminates dot, e.g. in case the graph could not be written.
+     */
+    void destroy() {
+      this.process.destroy();
+    }
+  }
+
+  private static final class TeeOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private final OutputStream processInput;
+    private boolean processFailed;
+
+    TeeOutputStream(OutputStream out, OutputStream processInput) {
+      this.out = out;
+      this.processInput = processInput;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      this.out.write(b);
+      if (!this.processFailed) {
+        try {
+          this.processInput.write(b);
+        } catch (IOException e) {
+          this.processFailed = true;
+        }
+      }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      this.out.write(b, off, len);
+      if (!this.processFailed) {
+        try {
+          this.processInput.write(b, off, len);
+        } catch (IOException e) {
+          this.processFailed = true;
+        }
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      this.out.flush();
+      if (!this.processFailed) {
+        try {
+          this.processInput.flush();
+        } catch (IOException e) {
+          this.processFailed = true;
+        }
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        this.processInput.close();
+      } catch (IOException e) {
+        // Reported by the exit code of the process
+      } finally {
+        this.out.close();
+      }
+    }
+  }
+}
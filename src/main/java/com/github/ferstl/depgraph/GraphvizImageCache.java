@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Pattern;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * File system cache for graph images created by Graphviz. The images are stored under a key which is computed from the
+ * content of the dot file, the dot executable and the additional arguments of dot. Each image format is a separate entry, so the cache can be
+ * shared by builds that create different formats. When the total size of the entries exceeds the configured maximum,
+ * the least recently used entries are deleted. Only files named like the entries of the cache are considered, so the
+ * cache directory may contain other files. The cache is only an optimization. Any errors while reading or writing an
+ * entry are treated like a cache miss.
+ */
+final class GraphvizImageCache {
+
+  /**
+   * Increment this version when the format of the cache entries changes.
+   */
+  private static final int FORMAT_VERSION = 1;
+  private static final String TEMP_FILE_EXTENSION = ".tmp";
+  /**
+   * Name of the cache entries: The SHA-256 key followed by the image format.
+   */
+  private static final Pattern ENTRY_NAME = Pattern.compile("[0-9a-f]{64}\\.[A-Za-z0-9]+");
+
+  private final Path directory;
+  private final long maxSize;
+
+  GraphvizImageCache(Path directory, long maxSize) {
+    this.directory = directory;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Creates the cache key for the given dot file.
+   *
+   * @param graphFile The completely written dot file.
+   * @param dotExecutable The dot executable.
+   * @param dotArguments The additional arguments of dot (besides {@code -T} and {@code -o}).
+   * @return The cache key.
+   * @throws IOException In case the dot file cannot be read.
+   */
+  static String createKey(Path graphFile, String dotExecutable, List<String> dotArguments) throws IOException {
+    Hasher hasher = Hashing.sha256().newHasher()
+        .putInt(FORMAT_VERSION)
+        .putInt(dotExecutable.length())
+        .putString(dotExecutable, StandardCharsets.UTF_8);
+
+    hasher.putInt(dotArguments.size());
+    for (String dotArgument : dotArguments) {
+      // Include the length to avoid ambiguities between consecutive arguments
+      hasher.putInt(dotArgument.length()).putString(dotArgument, StandardCharsets.UTF_8);
+    }
+
+    try (InputStream is = Files.newInputStream(graphFile)) {
+      ByteStreams.copy(is, Funnels.asOutputStream(hasher));
+    }
+
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Copies the cached images for the given key to the given image files.
+   *
+   * @param key The cache key.
+   * @param imageFiles The image files by image format.
+   * @return {@code true} if all images were restored, {@code false} else.
+   */
+  boolean restore(String key, Map<String, Path> imageFiles) {
+    List<Path> entries = new ArrayList<>(imageFiles.size());
+    for (String imageFormat : imageFiles.keySet()) {
+      Path entry = entryPath(key, imageFormat);
+      if (!Files.isRegularFile(entry)) {
+        return false;
+      }
+      entries.add(entry);
+    }
+
+    try {
+      int i = 0;
+      for (Path imageFile : imageFiles.values()) {
+        Path entry = entries.get(i++);
+        Files.copy(entry, imageFile, REPLACE_EXISTING);
+        // The modification time tracks the last use of the entry
+        Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+      }
+    } catch (IOException e) {
+      return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Stores the given images and evicts the least recently used entries if the cache exceeds its maximum size.
+   *
+   * @param key The cache key.
+   * @param imageFiles The image files by image format.
+   * @return {@code true} if all images were stored, {@code false} else.
+   */
+  boolean store(String key, Map<String, Path> imageFiles) {
+    try {
+      Files.createDirectories(this.directory);
+      for (Entry<String, Path> imageFile : imageFiles.entrySet()) {
+        Path tempFile = Files.createTempFile(this.directory, key, TEMP_FILE_EXTENSION);
+        try {
+          Files.copy(imageFile.getValue(), tempFile, REPLACE_EXISTING);
+          moveAtomically(tempFile, entryPath(key, imageFile.getKey()));
+        } finally {
+          Files.deleteIfExists(tempFile);
+        }
+      }
+
+      evict();
+    } catch (IOException e) {
+      return false;
+    }
+
+    return true;
+  }
+
+  private void evict() throws IOException {
+    List<CacheEntry> entries = new ArrayList<>();
+    long totalSize = 0;
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory)) {
+      for (Path file : files) {
+        // Neither temporary files nor files that were not created by this cache
+        if (!ENTRY_NAME.matcher(file.getFileName().toString()).matches()) {
+          continue;
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        if (attributes.isRegularFile()) {
+          entries.add(new CacheEntry(file, attributes.size(), attributes.lastModifiedTime()));
+          totalSize += attributes.size();
+        }
+      }
+    }
+
+    entries.sort(Comparator.comparing(entry -> entry.lastUsed));
+    for (CacheEntry entry : entries) {
+      if (totalSize <= this.maxSize) {
+        break;
+      }
+
+      // Concurrent builds might already have deleted the entry
+      Files.deleteIfExists(entry.file);
+      totalSize -= entry.size;
+    }
+  }
+
+  private Path entryPath(String key, String imageFormat) {
+    return this.directory.resolve(key + "." + imageFormat);
+  }
+
+  private static void moveAtomically(Path source, Path target) throws IOException {
+    // Concurrent builds might read the entry while it is written
+    try {
+      Files.move(source, target, ATOMIC_MOVE, REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, REPLACE_EXISTING);
+    }
+  }
+
+  private static final class CacheEntry {
+
+    private final Path file;
+    private final long size;
+    private final FileTime lastUsed;
+
+    CacheEntry(Path file, long size, FileTime lastUsed) {
+      this.file = file;
+      this.size = size;
+      this.lastUsed = lastUsed;
+    }
+  }
+}
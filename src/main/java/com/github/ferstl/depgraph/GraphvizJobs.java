@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Runs the Graphviz jobs of a Maven build asynchronously. All goal executions of a build share the same instance and
+ * its bounded thread pool, so the number of concurrent Graphviz processes is limited even in parallel builds and the
+ * images of a module are created while the following modules are built. The execution for the last project of the build
+ * waits for all jobs with {@link #close()}. Jobs submitted after that are executed synchronously.
+ */
+final class GraphvizJobs {
+
+  /**
+   * Jobs by execution request. Maven creates a clone of the session for each project in the reactor, but all clones
+   * share the same execution request.
+   */
+  private static final Map<MavenExecutionRequest, GraphvizJobs> SHARED_JOBS = new WeakHashMap<>();
+
+  private final ExecutorService executor;
+  private final Map<Future<?>, String> pendingJobs;
+  private boolean closed;
+
+  GraphvizJobs(int threads) {
+    this.executor = createExecutor(threads);
+    this.pendingJobs = new LinkedHashMap<>();
+  }
+
+  /**
+   * Returns the jobs of the build the given session belongs to. The jobs are created by the first call, so only the
+   * number of threads of the first call is relevant.
+   *
+   * @param session The Maven session.
+   * @param threads Number of threads.
+   * @return The jobs of the build.
+   */
+  static GraphvizJobs forSession(MavenSession session, int threads) {
+    synchronized (SHARED_JOBS) {
+      return SHARED_JOBS.computeIfAbsent(session.getRequest(), r -> new GraphvizJobs(threads));
+    }
+  }
+
+  /**
+   * Returns the jobs of the build the given session belongs to or {@code null} if no jobs were created.
+   *
+   * @param session The Maven session.
+   * @return The jobs of the build or {@code null}.
+   */
+  static GraphvizJobs getIfPresent(MavenSession session) {
+    synchronized (SHARED_JOBS) {
+      return SHARED_JOBS.get(session.getRequest());
+    }
+  }
+
+  private static ExecutorService createExecutor(int threads) {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new ThreadFactoryBuilder()
+        .setNameFormat("depgraph-graphviz-%d")
+        .setDaemon(true)
+        .build());
+    // The pool is not shut down since later jobs of the build may still use it. Idle threads terminate instead.
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Submits the given job. The job is executed immediately in case {@link #close()} was already called.
+   *
+   * @param projectId ID of the project the job belongs to.
+   * @param job The job.
+   * @throws IOException In case the job is executed immediately and fails.
+   */
+  void submit(String projectId, GraphvizJob job) throws IOException {
+    synchronized (this) {
+      if (!this.closed) {
+        this.pendingJobs.put(this.executor.submit(() -> {
+          job.run();
+          return null;
+        }), projectId);
+        return;
+      }
+    }
+
+    job.run();
+  }
+
+  /**
+   * Waits for all pending jobs. Jobs submitted later are still executed asynchronously.
+   *
+   * @throws IOException In case any job failed. The failure of the first failed job is the cause, the failures of the
+   * other jobs are suppressed exceptions.
+   */
+  void awaitAll() throws IOException {
+    Map<Future<?>, String> jobs;
+    synchronized (this) {
+      jobs = new LinkedHashMap<>(this.pendingJobs);
+      this.pendingJobs.clear();
+    }
+
+    Set<String> failedProjects = new LinkedHashSet<>();
+    List<Throwable> failures = new ArrayList<>();
+    try {
+      for (Entry<Future<?>, String> job : jobs.entrySet()) {
+        try {
+          job.getKey().get();
+        } catch (ExecutionException e) {
+          failedProjects.add(job.getValue());
+          failures.add(e.getCause());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for Graphviz", e);
+    }
+
+    if (!failures.isEmpty()) {
+      IOException exception = new IOException("Graphviz failed for " + String.join(", ", failedProjects), failures.get(0));
+      failures.subList(1, failures.size()).forEach(exception::addSuppressed);
+      throw exception;
+    }
+  }
+
+  /**
+   * Waits for all pending jobs. Jobs submitted later are executed synchronously.
+   *
+   * @throws IOException In case any job failed.
+   * @see #awaitAll()
+   */
+  void close() throws IOException {
+    synchronized (this) {
+      this.closed = true;
+    }
+
+    awaitAll();
+  }
+
+  @FunctionalInterface
+  interface GraphvizJob {
+
+    void run() throws IOException;
+  }
+}
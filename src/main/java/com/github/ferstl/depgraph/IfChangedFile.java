@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import com.google.common.io.MoreFiles;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * A file which is only replaced when its content changes. The new content is written to a temporary file next to the
+ * target file while its digest is computed. {@link #commit()} compares the digest with the digest of the existing file
+ * and either moves the temporary file into place or discards it. This keeps the timestamp of unchanged files, so
+ * downstream tools do not see a modification.
+ */
+final class IfChangedFile implements Closeable {
+
+  private static final HashFunction HASH_FUNCTION = Hashing.sha256();
+
+  private final Path target;
+  private Path tempFile;
+  private HashingOutputStream hashingStream;
+
+  IfChangedFile(Path target) {
+    this.target = target;
+  }
+
+  /**
+   * Opens the stream for the new content. The stream has to be closed before calling {@link #commit()}.
+   *
+   * @return The stream to write the new content.
+   * @throws IOException In case the temporary file cannot be created.
+   */
+  OutputStream openStream() throws IOException {
+    Path directory = this.target.toAbsolutePath().getParent();
+    this.tempFile = Files.createTempFile(directory, "." + this.target.getFileName(), ".tmp");
+    this.hashingStream = new HashingOutputStream(HASH_FUNCTION, Files.newOutputStream(this.tempFile));
+    return this.hashingStream;
+  }
+
+  /**
+   * Replaces the target file with the new content if it differs from the existing content.
+   *
+   * @return {@code true} if the target file was replaced, {@code false} if its content was unchanged.
+   * @throws IOException In case the target file cannot be read or replaced.
+   */
+  boolean commit() throws IOException {
+    if (Files.isRegularFile(this.target) && Files.size(this.target) == Files.size(this.tempFile)) {
+      HashCode existing = MoreFiles.asByteSource(this.target).hash(HASH_FUNCTION);
+      if (existing.equals(this.hashingStream.hash())) {
+        Files.delete(this.tempFile);
+        return false;
+      }
+    }
+
+    // Concurrent readers must not see a partially written file
+    try {
+      Files.move(this.tempFile, this.target, ATOMIC_MOVE, REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(this.tempFile, this.target, REPLACE_EXISTING);
+    }
+
+    return true;
+  }
+
+  /**
+   * Deletes the temporary file in case {@link #commit()} was not called or failed.
+   */
+  @Override
+  public void close() throws IOException {
+    if (this.tempFile != null) {
+      Files.deleteIfExists(this.tempFile);
+    }
+  }
+}
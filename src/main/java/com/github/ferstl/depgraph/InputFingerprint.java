@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.PluginParameterExpressionEvaluator;
+import org.apache.maven.plugin.descriptor.Parameter;
+import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
+import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluator;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+/**
+ * Fingerprint of all inputs of a goal execution. The fingerprint is stored next to the graph file after a successful
+ * execution. Subsequent executions with the same fingerprint can be skipped.
+ */
+final class InputFingerprint {
+
+  /**
+   * Increment this version when the way how the fingerprint is computed changes.
+   */
+  private static final int FORMAT_VERSION = 1;
+
+  private final Hasher hasher;
+  private String value;
+
+  InputFingerprint() {
+    this.hasher = Hashing.sha256().newHasher()
+        .putInt(FORMAT_VERSION);
+  }
+
+  InputFingerprint putString(String value) {
+    // Include the length to avoid ambiguities between consecutive strings
+    String nonNullValue = value != null ? value : "";
+    this.hasher.putInt(nonNullValue.length()).putString(nonNullValue, StandardCharsets.UTF_8);
+    return this;
+  }
+
+  /**
+   * Adds the content of the given stream.
+   *
+   * @param is The stream to read. It is not closed by this method.
+   * @return This fingerprint.
+   * @throws IOException In case the stream cannot be read.
+   */
+  InputFingerprint putContent(InputStream is) throws IOException {
+    // Separates the content from the next value
+    long length = ByteStreams.copy(is, Funnels.asOutputStream(this.hasher));
+    this.hasher.putLong(length);
+    return this;
+  }
+
+  InputFingerprint putFile(Path file) throws IOException {
+    putString(file != null ? file.toAbsolutePath().toString() : null);
+    if (file == null || !Files.isRegularFile(file)) {
+      this.hasher.putBoolean(false);
+      return this;
+    }
+
+    this.hasher.putBoolean(true);
+    try (InputStream is = Files.newInputStream(file)) {
+      return putContent(is);
+    }
+  }
+
+  /**
+   * Adds the effective configuration of the given mojo execution. All expressions and default values are evaluated, so
+   * the fingerprint changes with properties that are set on the command line, too. Read-only parameters like the
+   * project or the session are ignored.
+   *
+   * @param session The Maven session.
+   * @param mojoExecution The mojo execution.
+   * @return This fingerprint.
+   * @throws IOException In case a parameter cannot be evaluated.
+   */
+  InputFingerprint putConfiguration(MavenSession session, MojoExecution mojoExecution) throws IOException {
+    Xpp3Dom configuration = mojoExecution.getConfiguration();
+    if (configuration == null) {
+      return this;
+    }
+
+    Map<String, Parameter> parameters = mojoExecution.getMojoDescriptor().getParameterMap();
+    ExpressionEvaluator evaluator = new PluginParameterExpressionEvaluator(session, mojoExecution);
+    Xpp3Dom[] children = configuration.getChildren();
+    Arrays.sort(children, Comparator.comparing(Xpp3Dom::getName));
+    for (Xpp3Dom child : children) {
+      Parameter parameter = parameters.get(child.getName());
+      if (parameter != null && parameter.isEditable()) {
+        putString(child.getName());
+        putConfigurationValue(child, evaluator);
+      }
+    }
+
+    return this;
+  }
+
+  private void putConfigurationValue(Xpp3Dom node, ExpressionEvaluator evaluator) throws IOException {
+    // Lists and maps
+    if (node.getChildCount() > 0) {
+      this.hasher.putInt(node.getChildCount());
+      for (Xpp3Dom child : node.getChildren()) {
+        putString(child.getName());
+        putConfigurationValue(child, evaluator);
+      }
+      return;
+    }
+
+    String expression = node.getValue() != null ? node.getValue() : node.getAttribute("default-value");
+    try {
+      Object value = evaluator.evaluate(expression);
+      putString(value != null ? value.toString() : null);
+    } catch (ExpressionEvaluationException e) {
+      throw new IOException("Unable to evaluate parameter '" + node.getName() + "'", e);
+    }
+  }
+
+  /**
+   * Checks whether the given file contains this fingerprint.
+   *
+   * @param fingerprintFile The fingerprint file of the previous execution.
+   * @return {@code true} if the file exists and contains this fingerprint, {@code false} else.
+   * @throws IOException In case the file exists but cannot be read.
+   */
+  boolean matches(Path fingerprintFile) throws IOException {
+    try {
+      return value().equals(new String(Files.readAllBytes(fingerprintFile), StandardCharsets.UTF_8).trim());
+    } catch (NoSuchFileException e) {
+      return false;
+    }
+  }
+
+  void write(Path fingerprintFile) throws IOException {
+    Files.write(fingerprintFile, value().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Returns the value of this fingerprint. No more inputs can be added afterwards.
+   *
+   * @return The fingerprint as hex string.
+   */
+  String value() {
+    if (this.value == null) {
+      this.value = this.hasher.hash().toString();
+    }
+
+    return this.value;
+  }
+}
@@ -16,7 +16,6 @@
 package com.github.ferstl.depgraph;
 
 import java.util.Set;
-import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
@@ -59,15 +58,12 @@ public class ReactorGraphMojo extends AbstractGraphMojo {
   @Parameter(property = "showVersions", defaultValue = "false")
   private boolean showVersions;
 
-  @Parameter(defaultValue = "${session}", readonly = true)
-  private MavenSession mavenSession;
-
   @Override
   protected GraphFactory createGraphFactory(GraphStyleConfigurer graphStyleConfigurer) {
     DependencyNodeIdRenderer nodeIdRenderer = DependencyNodeIdRenderer.versionlessId();
     GraphBuilder<DependencyNode> graphBuilder = createGraphBuilder(graphStyleConfigurer, nodeIdRenderer);
 
-    return new ReactorGraphFactory(this.mavenSession.getProjectDependencyGraph(), graphBuilder, nodeIdRenderer);
+    return new ReactorGraphFactory(getMavenSession().getProjectDependencyGraph(), graphBuilder, nodeIdRenderer);
   }
 
   private GraphBuilder<DependencyNode> createGraphBuilder(GraphStyleConfigurer graphStyleConfigurer, DependencyNodeIdRenderer nodeIdRenderer) {
@@ -79,4 +79,16 @@ public abstract class AbstractGraphStyleConfigurer implements GraphStyleConfigur
   public GraphStyleConfigurer repeatTransitiveDependencies(boolean repeatTransitiveDependencies) {
     return this;
   }
+
+  // Only relevant for the text graph. Don't do anything here.
+  @Override
+  public GraphStyleConfigurer useBackReferences(boolean useBackReferences) {
+    return this;
+  }
+
+  // Only relevant for the text graph. Don't do anything here.
+  @Override
+  public GraphStyleConfigurer maxLines(int maxLines) {
+    return this;
+  }
 }
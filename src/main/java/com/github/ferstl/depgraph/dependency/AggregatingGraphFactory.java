@@ -15,17 +15,33 @@
  */
 package com.github.ferstl.depgraph.dependency;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.Supplier;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.project.MavenProject;
+import com.github.ferstl.depgraph.dependency.GraphMetrics.Timer;
 import com.github.ferstl.depgraph.graph.GraphBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Counter.EDGES_REMOVED_BY_REDUCTION;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Phase.EDGE_REDUCTION;
 
 /**
  * A graph factory that creates a dependency graph from a multimodule project. Child modules are treated as
  * dependencies of the parent project. The created graph is the <strong>union</strong> of the child modules' dependency
  * graphs.
+ * <p>
+ * The dependencies of the child modules can optionally be resolved by multiple threads. The resolved graphs are always
+ * added to the {@link GraphBuilder} by the calling thread and in the order of the child modules. So the created graph
+ * does not depend on the number of threads.
+ * </p>
  */
 public class AggregatingGraphFactory implements GraphFactory {
 
@@ -35,6 +51,8 @@ public class AggregatingGraphFactory implements GraphFactory {
   private final GraphBuilder<DependencyNode> graphBuilder;
   private final boolean includeParentProjects;
   private final boolean reduceEdges;
+  private final int resolutionThreads;
+  private final GraphMetrics metrics;
 
   public AggregatingGraphFactory(
       MavenGraphAdapter mavenGraphAdapter,
@@ -43,27 +61,60 @@ public class AggregatingGraphFactory implements GraphFactory {
       GraphBuilder<DependencyNode> graphBuilder,
       boolean includeParentProjects,
       boolean reduceEdges) {
+    this(mavenGraphAdapter, subProjectSupplier, globalFilter, graphBuilder, includeParentProjects, reduceEdges, 1);
+  }
+
+  public AggregatingGraphFactory(
+      MavenGraphAdapter mavenGraphAdapter,
+      Supplier<Collection<MavenProject>> subProjectSupplier,
+      ArtifactFilter globalFilter,
+      GraphBuilder<DependencyNode> graphBuilder,
+      boolean includeParentProjects,
+      boolean reduceEdges,
+      int resolutionThreads) {
+    this(mavenGraphAdapter, subProjectSupplier, globalFilter, graphBuilder, includeParentProjects, reduceEdges, resolutionThreads, new GraphMetrics());
+  }
+
+  public AggregatingGraphFactory(
+      MavenGraphAdapter mavenGraphAdapter,
+      Supplier<Collection<MavenProject>> subProjectSupplier,
+      ArtifactFilter globalFilter,
+      GraphBuilder<DependencyNode> graphBuilder,
+      boolean includeParentProjects,
+      boolean reduceEdges,
+      int resolutionThreads,
+      GraphMetrics metrics) {
     this.mavenGraphAdapter = mavenGraphAdapter;
     this.subProjectSupplier = subProjectSupplier;
     this.globalFilter = globalFilter;
     this.graphBuilder = graphBuilder;
     this.includeParentProjects = includeParentProjects;
     this.reduceEdges = reduceEdges;
+    this.resolutionThreads = resolutionThreads;
+    this.metrics = metrics;
   }
 
   @Override
-  public String createGraph(MavenProject parent) {
+  public GraphBuilder<DependencyNode> createGraph(MavenProject parent) {
     this.graphBuilder.graphName(parent.getArtifactId());
 
     if (this.includeParentProjects) {
       buildModuleTree(parent, this.graphBuilder);
     }
 
-    Collection<MavenProject> collectedProjects = this.subProjectSupplier.get();
-    for (MavenProject collectedProject : collectedProjects) {
+    List<MavenProject> projects = new ArrayList<>();
+    for (MavenProject collectedProject : this.subProjectSupplier.get()) {
       // Process project only if its artifact is not filtered
       if (isPartOfGraph(collectedProject)) {
-        this.mavenGraphAdapter.buildDependencyGraph(collectedProject, this.globalFilter, this.graphBuilder);
+        projects.add(collectedProject);
+      }
+    }
+
+    if (this.resolutionThreads > 1 && projects.size() > 1) {
+      buildDependencyGraphsInParallel(projects);
+    } else {
+      for (MavenProject project : projects) {
+        this.mavenGraphAdapter.buildDependencyGraph(project, this.globalFilter, this.graphBuilder);
       }
     }
 
@@ -74,10 +125,56 @@ public class AggregatingGraphFactory implements GraphFactory {
     }
 
     if (this.reduceEdges) {
-      this.graphBuilder.reduceEdges();
+      try (Timer timer = this.metrics.start(EDGE_REDUCTION)) {
+        this.metrics.add(EDGES_REMOVED_BY_REDUCTION, this.graphBuilder.reduceEdges());
+      }
+    }
+
+    return this.graphBuilder;
+  }
+
+  /**
+   * Resolves the dependency graphs concurrently and merges them in the order of the given projects. Merging in order is
+   * required since {@link GraphBuilder#reduceEdges()} prefers edges that were added first.
+   */
+  private void buildDependencyGraphsInParallel(List<MavenProject> projects) {
+    ThreadFactory threadFactory = new ThreadFactoryBuilder()
+        .setNameFormat("depgraph-resolver-%d")
+        .setDaemon(true)
+        .build();
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.resolutionThreads, projects.size()), threadFactory);
+
+    try {
+      List<Future<org.eclipse.aether.graph.DependencyNode>> resolvedGraphs = new ArrayList<>(projects.size());
+      for (MavenProject project : projects) {
+        resolvedGraphs.add(executor.submit(() -> this.mavenGraphAdapter.resolveDependencyGraph(project)));
+      }
+
+      for (int i = 0; i < projects.size(); i++) {
+        org.eclipse.aether.graph.DependencyNode root = awaitResult(resolvedGraphs.get(i));
+        this.mavenGraphAdapter.buildDependencyGraph(projects.get(i), root, this.globalFilter, this.graphBuilder);
+      }
+    } finally {
+      executor.shutdownNow();
     }
+  }
+
+  private static <T> T awaitResult(Future<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while resolving dependencies", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
 
-    return this.graphBuilder.toString();
+      throw new IllegalStateException(cause);
+    }
   }
 
   private void buildModuleTree(MavenProject parentProject, GraphBuilder<DependencyNode> graphBuilder) {
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import com.github.ferstl.depgraph.graph.GraphBuilder;
+
+/**
+ * Configures a graph for several formats at once. The first configurer configures the graph builder itself, the others
+ * configure additional outputs of the builder (see {@link GraphBuilder#addOutput(java.util.function.UnaryOperator)}).
+ * All options are passed to each configurer.
+ */
+public class CompositeGraphStyleConfigurer implements GraphStyleConfigurer {
+
+  private final List<GraphStyleConfigurer> configurers;
+
+  public CompositeGraphStyleConfigurer(List<GraphStyleConfigurer> configurers) {
+    if (configurers.isEmpty()) {
+      throw new IllegalArgumentException("At least one graph style configurer is required");
+    }
+
+    this.configurers = Collections.unmodifiableList(new ArrayList<>(configurers));
+  }
+
+  @Override
+  public GraphStyleConfigurer showGroupIds(boolean showGroupId) {
+    this.configurers.forEach(configurer -> configurer.showGroupIds(showGroupId));
+    return this;
+  }
+
+  @Override
+  public GraphStyleConfigurer showArtifactIds(boolean showArtifactId) {
+    this.configurers.forEach(configurer -> configurer.showArtifactIds(showArtifactId));
+    return this;
+  }
+
+  @Override
+  public GraphStyleConfigurer showTypes(boolean showTypes) {
+    this.configurers.forEach(configurer -> configurer.showTypes(showTypes));
+    return this;
+  }
+
+  @Override
+  public GraphStyleConfigurer showClassifiers(boolean showClassifiers) {
+    this.configurers.forEach(configurer -> configurer.showClassifiers(showClassifiers));
+    return this;
+  }
+
+  @Override
+  public GraphStyleConfigurer showVersionsOnNodes(boolean showVersionsOnNodes) {
+    this.configurers.forEach(configurer -> configurer.showVersionsOnNodes(showVersionsOnNodes));
+    return this;
+  }
+
+  @Override
+  public GraphStyleConfigurer showVersionsOnEdges(boolean showVersionOnEdges) {
+    this.configurers.forEach(configurer -> configurer.showVersionsOnEdges(showVersionOnEdges));
+    return this;
+  }
+
+  @Override
+  public GraphStyleConfigurer showOptional(boolean optional) {
+    this.configurers.forEach(configurer -> configurer.showOptional(optional));
+    return this;
+  }
+
+  @Override
+  public GraphStyleConfigurer repeatTransitiveDependencies(boolean repeatTransitiveDependencies) {
+    this.configurers.forEach(configurer -> configurer.repeatTransitiveDependencies(repeatTransitiveDependencies));
+    return this;
+  }
+
+  @Override
+  public GraphStyleConfigurer useBackReferences(boolean useBackReferences) {
+    this.configurers.forEach(configurer -> configurer.useBackReferences(useBackReferences));
+    return this;
+  }
+
+  @Override
+  public GraphStyleConfigurer maxLines(int maxLines) {
+    this.configurers.forEach(configurer -> configurer.maxLines(maxLines));
+    return this;
+  }
+
+  @Override
+  public GraphStyleConfigurer showScope(boolean showScope) {
+    this.configurers.forEach(configurer -> configurer.showScope(showScope));
+    return this;
+  }
+
+  @Override
+  public GraphBuilder<DependencyNode> configure(GraphBuilder<DependencyNode> graphBuilder) {
+    GraphBuilder<DependencyNode> configuredBuilder = this.configurers.get(0).configure(graphBuilder);
+    for (GraphStyleConfigurer configurer : this.configurers.subList(1, this.configurers.size())) {
+      configuredBuilder.addOutput(configurer::configure);
+    }
+
+    return configuredBuilder;
+  }
+}
@@ -16,9 +16,10 @@
 package com.github.ferstl.depgraph.dependency;
 
 import org.apache.maven.project.DependencyResolutionException;
+import org.eclipse.aether.collection.DependencyCollectionException;
 
 /**
- * Wrapper for {@link DependencyResolutionException}.
+ * Wrapper for {@link DependencyResolutionException} and {@link DependencyCollectionException}.
  */
 public final class DependencyGraphException extends RuntimeException {
 
@@ -27,4 +28,8 @@ public final class DependencyGraphException extends RuntimeException {
   public DependencyGraphException(DependencyResolutionException cause) {
     super(cause);
   }
+
+  public DependencyGraphException(DependencyCollectionException cause) {
+    super(cause);
+  }
 }
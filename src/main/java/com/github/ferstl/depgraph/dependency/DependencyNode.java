@@ -42,14 +42,28 @@ public final class DependencyNode {
   private final Set<String> scopes;
   private final Set<String> classifiers;
   private final Set<String> types;
+  private boolean truncated;
 
+  // ID rendered by the last used DependencyNodeIdRenderer. Reset when the node is merged.
+  private DependencyNodeIdRenderer idRenderer;
+  private String renderedId;
 
   public DependencyNode(Artifact artifact) {
     this(artifact, determineNodeResolution(artifact), artifact.getVersion());
   }
 
   public DependencyNode(org.eclipse.aether.graph.DependencyNode dependencyNode) {
-    this(createMavenArtifact(dependencyNode), determineResolution(dependencyNode), determineEffectiveVersion(dependencyNode));
+    this(dependencyNode, determineResolution(dependencyNode));
+  }
+
+  /**
+   * Creates a node with an already known resolution.
+   *
+   * @param dependencyNode The Aether node.
+   * @param resolution The resolution as determined by {@link #determineResolution(org.eclipse.aether.graph.DependencyNode)}.
+   */
+  DependencyNode(org.eclipse.aether.graph.DependencyNode dependencyNode, NodeResolution resolution) {
+    this(createMavenArtifact(dependencyNode), resolution, determineEffectiveVersion(dependencyNode));
   }
 
   private DependencyNode(Artifact artifact, NodeResolution resolution, String effectiveVersion) {
@@ -84,6 +98,25 @@ public final class DependencyNode {
     this.scopes.addAll(other.scopes);
     this.classifiers.addAll(other.classifiers);
     this.types.addAll(other.types);
+    // The dependencies are shown if any occurrence of this node is above the max depth
+    this.truncated = this.truncated && other.truncated;
+    this.idRenderer = null;
+    this.renderedId = null;
+  }
+
+  /**
+   * Returns the ID that was rendered for this node by the given renderer.
+   *
+   * @param renderer The ID renderer.
+   * @return The cached ID or {@code null} if this node was not rendered by the given renderer or has changed since.
+   */
+  String getRenderedId(DependencyNodeIdRenderer renderer) {
+    return this.idRenderer == renderer ? this.renderedId : null;
+  }
+
+  void setRenderedId(DependencyNodeIdRenderer renderer, String renderedId) {
+    this.idRenderer = renderer;
+    this.renderedId = renderedId;
   }
 
   public Artifact getArtifact() {
@@ -106,6 +139,22 @@ public final class DependencyNode {
     return ImmutableSet.copyOf(this.types);
   }
 
+  /**
+   * Indicates whether the dependencies of this node were cut off because of the max depth.
+   *
+   * @return {@code true} if this node has dependencies that are not part of the graph, {@code false} else.
+   */
+  public boolean isTruncated() {
+    return this.truncated;
+  }
+
+  /**
+   * Marks this node as truncated because its dependencies are below the max depth.
+   */
+  void markTruncated() {
+    this.truncated = true;
+  }
+
 
   /**
    * Returns the <strong>effective</strong> version of this node, i.e. the version that is actually used. This is
@@ -138,7 +187,7 @@ public final class DependencyNode {
     return this.artifact.toString();
   }
 
-  private static Artifact createMavenArtifact(org.eclipse.aether.graph.DependencyNode dependencyNode) {
+  static Artifact createMavenArtifact(org.eclipse.aether.graph.DependencyNode dependencyNode) {
     org.eclipse.aether.artifact.Artifact artifact = dependencyNode.getArtifact();
     String scope = null;
     boolean optional = false;
@@ -161,7 +210,7 @@ public final class DependencyNode {
     return mavenArtifact;
   }
 
-  private static NodeResolution determineResolution(org.eclipse.aether.graph.DependencyNode dependencyNode) {
+  static NodeResolution determineResolution(org.eclipse.aether.graph.DependencyNode dependencyNode) {
     org.eclipse.aether.graph.DependencyNode winner = (org.eclipse.aether.graph.DependencyNode) dependencyNode.getData().get(ConflictResolver.NODE_DATA_WINNER);
 
     if (winner != null) {
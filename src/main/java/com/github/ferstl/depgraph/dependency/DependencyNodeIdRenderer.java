@@ -69,8 +69,22 @@ public class DependencyNodeIdRenderer implements NodeRenderer<DependencyNode> {
     return this;
   }
 
+  /**
+   * Renders the ID of the given node. The ID is cached in the node, since the graph builder renders the ID each time a
+   * node is added.
+   */
   @Override
   public String render(DependencyNode node) {
+    String id = node.getRenderedId(this);
+    if (id == null) {
+      id = renderId(node);
+      node.setRenderedId(this, id);
+    }
+
+    return id;
+  }
+
+  private String renderId(DependencyNode node) {
     Artifact artifact = node.getArtifact();
 
     return COLON_JOINER.join(
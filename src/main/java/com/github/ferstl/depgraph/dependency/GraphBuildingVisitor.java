@@ -16,25 +16,61 @@
 package com.github.ferstl.depgraph.dependency;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyVisitor;
 import com.github.ferstl.depgraph.graph.GraphBuilder;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Counter.EDGES_ADDED;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Counter.NODES_FILTERED_BY_GLOBAL_FILTER;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Counter.NODES_FILTERED_BY_RESOLUTION;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Counter.NODES_FILTERED_BY_TRANSITIVE_FILTER;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Counter.NODES_VISITED;
 
 
 /**
  * A node visitor that creates edges between the visited nodes using a {@link GraphBuilder}.
+ * <p>
+ * Each visited Aether node is wrapped only once in {@link #visitEnter(org.eclipse.aether.graph.DependencyNode)} and
+ * kept on a stack until {@link #visitLeave(org.eclipse.aether.graph.DependencyNode)}. Since the filters only depend on
+ * the dependency of a node, their results are cached per {@link Dependency}. Excluded nodes are never wrapped.
+ * </p>
+ * <p>
+ * The visitor does not descend below the max depth. Nodes at the max depth which have dependencies are marked as
+ * truncated. Since the complete graph is visited by Aether's conflict resolution before, the versions and scopes of the
+ * nodes are the same as without a max depth.
+ * </p>
  */
 class GraphBuildingVisitor implements DependencyVisitor {
 
+  private static final int INCLUDED = 0;
+  private static final int EXCLUDED_BY_GLOBAL_FILTER = 1;
+  private static final int EXCLUDED_BY_TRANSITIVE_FILTER = 2;
+  private static final int TARGET = 3;
+
   private final GraphBuilder<DependencyNode> graphBuilder;
   private final Deque<DependencyNode> nodeStack;
+  /**
+   * Wrapped node for each node that is currently visited or {@code null} if the node is excluded.
+   */
+  private final List<DependencyNode> visitedNodes;
+  private final Map<Dependency, Integer> filterResults;
   private final ArtifactFilter globalFilter;
   private final ArtifactFilter transitiveFilter;
   private final ArtifactFilter targetFilter;
   private final Set<NodeResolution> includedResolutions;
+  private final GraphMetrics metrics;
+  private final int maxDepth;
+  /**
+   * Depth of the currently visited Aether node, including the excluded nodes.
+   */
+  private int depth = -1;
 
   /**
    * Max depth of the graph. Nodes deeper than this depth will be cut off from the graph.
@@ -42,34 +78,67 @@ class GraphBuildingVisitor implements DependencyVisitor {
   private int cutOffDepth = 0;
 
   GraphBuildingVisitor(GraphBuilder<DependencyNode> graphBuilder, ArtifactFilter globalFilter, ArtifactFilter transitiveFilter, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions) {
+    this(graphBuilder, globalFilter, transitiveFilter, targetFilter, includedResolutions, new GraphMetrics(), 0);
+  }
+
+  /**
+   * Creates a visitor that stops at the given depth.
+   *
+   * @param metrics Metrics of the current goal execution.
+   * @param maxDepth Max depth of the graph or {@code 0} for an unlimited depth. The direct dependencies of the visited
+   * project have the depth 1.
+   */
+  GraphBuildingVisitor(GraphBuilder<DependencyNode> graphBuilder, ArtifactFilter globalFilter, ArtifactFilter transitiveFilter, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions, GraphMetrics metrics, int maxDepth) {
     this.graphBuilder = graphBuilder;
     this.nodeStack = new ArrayDeque<>();
+    this.visitedNodes = new ArrayList<>();
+    this.filterResults = new HashMap<>();
     this.globalFilter = globalFilter;
     this.transitiveFilter = transitiveFilter;
     this.targetFilter = targetFilter;
     this.includedResolutions = includedResolutions;
+    this.metrics = metrics;
+    this.maxDepth = maxDepth;
   }
 
   @Override
   public boolean visitEnter(org.eclipse.aether.graph.DependencyNode node) {
-    DependencyNode node1 = new DependencyNode(node);
-    if (isExcluded(node1)) {
-      return true;
+    this.metrics.increment(NODES_VISITED);
+    this.depth++;
+    boolean maxDepthReached = this.maxDepth > 0 && this.depth >= this.maxDepth;
+    NodeResolution resolution = DependencyNode.determineResolution(node);
+    if (!this.includedResolutions.contains(resolution)) {
+      this.metrics.increment(NODES_FILTERED_BY_RESOLUTION);
+      this.visitedNodes.add(null);
+      return !maxDepthReached;
     }
 
-    this.nodeStack.push(node1);
+    int filterResult = getFilterResult(node);
+    if (filterResult == EXCLUDED_BY_GLOBAL_FILTER || filterResult == EXCLUDED_BY_TRANSITIVE_FILTER) {
+      this.metrics.increment(filterResult == EXCLUDED_BY_GLOBAL_FILTER ? NODES_FILTERED_BY_GLOBAL_FILTER : NODES_FILTERED_BY_TRANSITIVE_FILTER);
+      this.visitedNodes.add(null);
+      return !maxDepthReached;
+    }
 
-    if (this.targetFilter.include(node1.getArtifact())) {
+    DependencyNode dependencyNode = new DependencyNode(node, resolution);
+    if (maxDepthReached && !node.getChildren().isEmpty()) {
+      dependencyNode.markTruncated();
+    }
+    this.visitedNodes.add(dependencyNode);
+    this.nodeStack.push(dependencyNode);
+
+    if (filterResult == TARGET) {
       this.cutOffDepth = this.nodeStack.size();
     }
 
-    return true;
+    return !maxDepthReached;
   }
 
   @Override
   public boolean visitLeave(org.eclipse.aether.graph.DependencyNode node) {
-    DependencyNode dependencyNode = new DependencyNode(node);
-    if (isExcluded(dependencyNode)) {
+    this.depth--;
+    DependencyNode dependencyNode = this.visitedNodes.remove(this.visitedNodes.size() - 1);
+    if (dependencyNode == null) {
       return true;
     }
 
@@ -81,6 +150,7 @@ class GraphBuildingVisitor implements DependencyVisitor {
 
       if (currentParent != null) {
         mergeWithExisting(dependencyNode);
+        this.metrics.increment(EDGES_ADDED);
         if ("test".equals(dependencyNode.getArtifact().getScope())) {
           this.graphBuilder.addPermanentEdge(currentParent, dependencyNode);
         } else {
@@ -92,13 +162,34 @@ class GraphBuildingVisitor implements DependencyVisitor {
     return true;
   }
 
+  private int getFilterResult(org.eclipse.aether.graph.DependencyNode node) {
+    Dependency dependency = node.getDependency();
+    // The root node has no dependency
+    if (dependency == null) {
+      return applyFilters(node);
+    }
+
+    Integer filterResult = this.filterResults.get(dependency);
+    if (filterResult == null) {
+      filterResult = applyFilters(node);
+      this.filterResults.put(dependency, filterResult);
+    }
 
-  private boolean isExcluded(DependencyNode node) {
-    Artifact artifact = node.getArtifact();
+    return filterResult;
+  }
+
+  private int applyFilters(org.eclipse.aether.graph.DependencyNode node) {
+    Artifact artifact = DependencyNode.createMavenArtifact(node);
+
+    if (!this.globalFilter.include(artifact)) {
+      return EXCLUDED_BY_GLOBAL_FILTER;
+    }
+
+    if (!this.transitiveFilter.include(artifact)) {
+      return EXCLUDED_BY_TRANSITIVE_FILTER;
+    }
 
-    return !this.globalFilter.include(artifact)
-        || !this.transitiveFilter.include(artifact)
-        || !this.includedResolutions.contains(node.getResolution());
+    return this.targetFilter.include(artifact) ? TARGET : INCLUDED;
   }
 
   private void mergeWithExisting(DependencyNode node) {
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Timers and counters for a single goal execution. All methods may be called concurrently, e.g. by the threads that
+ * resolve the dependencies of several modules. The time of a phase that runs in multiple threads is the sum over all
+ * threads.
+ */
+public final class GraphMetrics {
+
+  public enum Phase {
+    RESOLUTION("resolution"),
+    TRAVERSAL("visitor-traversal"),
+    EDGE_REDUCTION("edge-reduction"),
+    FORMATTING("formatting"),
+    FILE_WRITE("file-write"),
+    GRAPHVIZ("graphviz");
+
+    private final String name;
+
+    Phase(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String toString() {
+      return this.name;
+    }
+  }
+
+  public enum Counter {
+    NODES_VISITED("nodes-visited"),
+    NODES_FILTERED_BY_RESOLUTION("nodes-filtered-by-resolution"),
+    NODES_FILTERED_BY_GLOBAL_FILTER("nodes-filtered-by-global-filter"),
+    NODES_FILTERED_BY_TRANSITIVE_FILTER("nodes-filtered-by-transitive-filter"),
+    EDGES_ADDED("edges-added"),
+    EDGES_REMOVED_BY_REDUCTION("edges-removed-by-reduction"),
+    /**
+     * Style rules matched to find the styles of the nodes and edges. Cached matches count as if they were evaluated
+     * again, so the counter is the same in each execution, no matter which styles other executions already matched.
+     */
+    STYLE_RULE_EVALUATIONS("style-rule-evaluations"),
+    GRAPH_FILES_UNCHANGED("graph-files-unchanged");
+
+    private final String name;
+
+    Counter(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String toString() {
+      return this.name;
+    }
+  }
+
+  private final Map<Phase, LongAdder> phaseNanos;
+  private final Map<Counter, LongAdder> counters;
+
+  public GraphMetrics() {
+    // Both maps are completely populated here and never modified afterwards
+    this.phaseNanos = new EnumMap<>(Phase.class);
+    for (Phase phase : Phase.values()) {
+      this.phaseNanos.put(phase, new LongAdder());
+    }
+
+    this.counters = new EnumMap<>(Counter.class);
+    for (Counter counter : Counter.values()) {
+      this.counters.put(counter, new LongAdder());
+    }
+  }
+
+  /**
+   * Starts a timer for the given phase. The elapsed time is added to the phase when the timer is closed.
+   *
+   * @param phase The phase to measure.
+   * @return The running timer.
+   */
+  public Timer start(Phase phase) {
+    return new Timer(this.phaseNanos.get(phase));
+  }
+
+  /**
+   * Wraps the given stream and adds the time spent in its methods to the given phase.
+   *
+   * @param phase The phase to measure.
+   * @param out The stream to wrap.
+   * @return The wrapped stream.
+   */
+  public OutputStream measure(Phase phase, OutputStream out) {
+    return new TimedOutputStream(out, this.phaseNanos.get(phase));
+  }
+
+  public void addNanos(Phase phase, long nanos) {
+    this.phaseNanos.get(phase).add(nanos);
+  }
+
+  public long getNanos(Phase phase) {
+    return this.phaseNanos.get(phase).sum();
+  }
+
+  public void increment(Counter counter) {
+    this.counters.get(counter).increment();
+  }
+
+  public void add(Counter counter, long value) {
+    this.counters.get(counter).add(value);
+  }
+
+  public long get(Counter counter) {
+    return this.counters.get(counter).sum();
+  }
+
+  /**
+   * Writes all timers (in milliseconds) and counters as JSON file.
+   *
+   * @param file The file to write.
+   * @throws IOException In case the file cannot be written.
+   */
+  public void writeJson(Path file) throws IOException {
+    Map<String, Double> phases = new LinkedHashMap<>();
+    for (Phase phase : Phase.values()) {
+      phases.put(phase.toString(), getNanos(phase) / 1_000_000.0);
+    }
+
+    Map<String, Long> counterValues = new LinkedHashMap<>();
+    for (Counter counter : Counter.values()) {
+      counterValues.put(counter.toString(), get(counter));
+    }
+
+    Map<String, Object> json = new LinkedHashMap<>();
+    json.put("phase-millis", phases);
+    json.put("counters", counterValues);
+
+    new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), json);
+  }
+
+  @Override
+  public String toString() {
+    StringJoiner phases = new StringJoiner(", ");
+    for (Phase phase : Phase.values()) {
+      phases.add(phase + "=" + TimeUnit.NANOSECONDS.toMillis(getNanos(phase)) + "ms");
+    }
+
+    StringJoiner counterValues = new StringJoiner(", ");
+    for (Counter counter : Counter.values()) {
+      counterValues.add(counter + "=" + get(counter));
+    }
+
+    return phases + "; " + counterValues;
+  }
+
+  /**
+   * Timer of a single phase, intended to be used in a try-with-resources statement.
+   */
+  public static final class Timer implements AutoCloseable {
+
+    private final LongAdder nanos;
+    private final long start;
+
+    Timer(LongAdder nanos) {
+      this.nanos = nanos;
+      this.start = System.nanoTime();
+    }
+
+    @Override
+    public void close() {
+      this.nanos.add(System.nanoTime() - this.start);
+    }
+  }
+
+  private static final class TimedOutputStream extends FilterOutputStream {
+
+    private final LongAdder nanos;
+
+    TimedOutputStream(OutputStream out, LongAdder nanos) {
+      super(out);
+      this.nanos = nanos;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      long start = System.nanoTime();
+      this.out.write(b);
+      this.nanos.add(System.nanoTime() - start);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      long start = System.nanoTime();
+      this.out.write(b, off, len);
+      this.nanos.add(System.nanoTime() - start);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      long start = System.nanoTime();
+      this.out.flush();
+      this.nanos.add(System.nanoTime() - start);
+    }
+
+    @Override
+    public void close() throws IOException {
+      long start = System.nanoTime();
+      this.out.close();
+      this.nanos.add(System.nanoTime() - start);
+    }
+  }
+}
@@ -38,6 +38,10 @@ public interface GraphStyleConfigurer {
 
   GraphStyleConfigurer repeatTransitiveDependencies(boolean repeatTransitiveDependencies);
 
+  GraphStyleConfigurer useBackReferences(boolean useBackReferences);
+
+  GraphStyleConfigurer maxLines(int maxLines);
+
   GraphStyleConfigurer showScope(boolean showScope);
 
   GraphBuilder<DependencyNode> configure(GraphBuilder<DependencyNode> graphBuilder);
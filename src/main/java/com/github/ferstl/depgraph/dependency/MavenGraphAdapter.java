@@ -18,18 +18,31 @@ package com.github.ferstl.depgraph.dependency;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import org.apache.maven.RepositoryUtils;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.artifact.resolver.filter.OrArtifactFilter;
 import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.project.DefaultDependencyResolutionRequest;
 import org.apache.maven.project.DependencyResolutionException;
 import org.apache.maven.project.DependencyResolutionResult;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectDependenciesResolver;
 import org.apache.maven.shared.artifact.filter.StrictPatternIncludesArtifactFilter;
+import org.eclipse.aether.DefaultRepositoryCache;
 import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.ArtifactTypeRegistry;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.graph.DependencyVisitor;
+import com.github.ferstl.depgraph.dependency.GraphMetrics.Timer;
 import com.github.ferstl.depgraph.graph.GraphBuilder;
+import com.github.ferstl.depgraph.graph.jfr.GraphEvent;
+import com.github.ferstl.depgraph.graph.jfr.GraphEvents;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Phase.RESOLUTION;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Phase.TRAVERSAL;
 import static java.util.Collections.singletonList;
 import static org.eclipse.aether.util.graph.transformer.ConflictResolver.CONFIG_PROP_VERBOSE;
 
@@ -42,15 +55,84 @@ public final class MavenGraphAdapter {
   private final ArtifactFilter transitiveIncludeExcludeFilter;
   private final ArtifactFilter targetFilter;
   private final Set<NodeResolution> includedResolutions;
+  private final ResolutionCache resolutionCache;
+  private final GraphMetrics metrics;
+  private final RepositorySystem repositorySystem;
+  private final int maxDepth;
+
+  // The verbose session is shared by all projects with the same repository session
+  private RepositorySystemSession repositorySession;
+  private RepositorySystemSession verboseRepositorySession;
 
   public MavenGraphAdapter(ProjectDependenciesResolver dependenciesResolver, ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions) {
+    this(dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, includedResolutions, new Options());
+  }
+
+  /**
+   * Creates an adapter with the given options for the resolution of the dependencies.
+   *
+   * @param options Optional settings of the adapter.
+   */
+  public MavenGraphAdapter(ProjectDependenciesResolver dependenciesResolver, ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions, Options options) {
     this.dependenciesResolver = dependenciesResolver;
     this.transitiveIncludeExcludeFilter = transitiveIncludeExcludeFilter;
     this.targetFilter = targetFilter;
     this.includedResolutions = includedResolutions;
+    this.resolutionCache = options.resolutionCache;
+    this.metrics = options.metrics;
+    this.repositorySystem = options.repositorySystem;
+    this.maxDepth = options.maxDepth;
   }
 
   public void buildDependencyGraph(MavenProject project, ArtifactFilter globalFilter, GraphBuilder<DependencyNode> graphBuilder) {
+    org.eclipse.aether.graph.DependencyNode root = resolveDependencyGraph(project);
+    buildDependencyGraph(project, root, globalFilter, graphBuilder);
+  }
+
+  /**
+   * Resolves the dependency graph of the given project without adding it to a graph. This method may be called
+   * concurrently for different projects, which share the same verbose repository session. If a resolution cache is
+   * configured, the dependency graph is taken from the cache if possible.
+   *
+   * @param project The project to resolve.
+   * @return The root node of the resolved dependency graph.
+   * @throws DependencyGraphException In case the dependencies cannot be resolved.
+   */
+  public org.eclipse.aether.graph.DependencyNode resolveDependencyGraph(MavenProject project) {
+    GraphEvent event = GraphEvents.dependencyResolution();
+    org.eclipse.aether.graph.DependencyNode root;
+    try (Timer timer = this.metrics.start(RESOLUTION)) {
+      root = resolveDependencyGraphWithCache(project);
+    }
+
+    if (event.isEnabled()) {
+      int nodeCount = countNodes(root);
+      event.commit(project.getId(), nodeCount, nodeCount - 1);
+    }
+
+    return root;
+  }
+
+  private org.eclipse.aether.graph.DependencyNode resolveDependencyGraphWithCache(MavenProject project) {
+    if (this.resolutionCache == null) {
+      return resolveDependencyGraphWithAether(project);
+    }
+
+    String cacheKey = this.resolutionCache.createKey(project, getResolutionConfig());
+    org.eclipse.aether.graph.DependencyNode root = this.resolutionCache.get(cacheKey);
+    if (root == null) {
+      root = resolveDependencyGraphWithAether(project);
+      this.resolutionCache.put(cacheKey, root);
+    }
+
+    return root;
+  }
+
+  private org.eclipse.aether.graph.DependencyNode resolveDependencyGraphWithAether(MavenProject project) {
+    return this.repositorySystem != null ? collectDependencyGraph(project) : resolveDependencyGraphWithResolver(project);
+  }
+
+  private org.eclipse.aether.graph.DependencyNode resolveDependencyGraphWithResolver(MavenProject project) {
     DefaultDependencyResolutionRequest request = new DefaultDependencyResolutionRequest();
     request.setMavenProject(project);
     request.setRepositorySession(getVerboseRepositorySession(project));
@@ -64,21 +146,107 @@ public final class MavenGraphAdapter {
       throw new DependencyGraphException(e);
     }
 
-    org.eclipse.aether.graph.DependencyNode root = result.getDependencyGraph();
+    return result.getDependencyGraph();
+  }
+
+  private org.eclipse.aether.graph.DependencyNode collectDependencyGraph(MavenProject project) {
+    RepositorySystemSession repositorySession = getVerboseRepositorySession(project);
+    ArtifactTypeRegistry typeRegistry = repositorySession.getArtifactTypeRegistry();
+
+    CollectRequest request = new CollectRequest();
+    request.setRootArtifact(RepositoryUtils.toArtifact(project.getArtifact()));
+    request.setRepositories(project.getRemoteProjectRepositories());
+    request.setRequestContext("project");
+    for (Dependency dependency : project.getDependencies()) {
+      request.addDependency(RepositoryUtils.toDependency(dependency, typeRegistry));
+    }
+
+    DependencyManagement dependencyManagement = project.getDependencyManagement();
+    if (dependencyManagement != null) {
+      for (Dependency dependency : dependencyManagement.getDependencies()) {
+        request.addManagedDependency(RepositoryUtils.toDependency(dependency, typeRegistry));
+      }
+    }
+
+    try {
+      return this.repositorySystem.collectDependencies(repositorySession, request).getRoot();
+    } catch (DependencyCollectionException e) {
+      throw new DependencyGraphException(e);
+    }
+  }
+
+  /**
+   * Adds the previously resolved dependency graph of the given project to the graph builder.
+   *
+   * @param project The project the dependency graph belongs to.
+   * @param root The root node of the resolved dependency graph.
+   * @param globalFilter Filter for all artifacts in the graph.
+   * @param graphBuilder The graph builder to add the dependency graph to.
+   * @see #resolveDependencyGraph(MavenProject)
+   */
+  public void buildDependencyGraph(MavenProject project, org.eclipse.aether.graph.DependencyNode root, ArtifactFilter globalFilter, GraphBuilder<DependencyNode> graphBuilder) {
     ArtifactFilter transitiveDependencyFilter = createTransitiveDependencyFilter(project);
 
-    GraphBuildingVisitor visitor = new GraphBuildingVisitor(graphBuilder, globalFilter, transitiveDependencyFilter, this.targetFilter, this.includedResolutions);
-    root.accept(visitor);
+    GraphBuildingVisitor visitor = new GraphBuildingVisitor(graphBuilder, globalFilter, transitiveDependencyFilter, this.targetFilter, this.includedResolutions, this.metrics, this.maxDepth);
+    try (Timer timer = this.metrics.start(TRAVERSAL)) {
+      root.accept(visitor);
+    }
+  }
+
+  private static int countNodes(org.eclipse.aether.graph.DependencyNode root) {
+    int[] count = {0};
+    root.accept(new DependencyVisitor() {
+
+      @Override
+      public boolean visitEnter(org.eclipse.aether.graph.DependencyNode node) {
+        count[0]++;
+        return true;
+      }
+
+      @Override
+      public boolean visitLeave(org.eclipse.aether.graph.DependencyNode node) {
+        return true;
+      }
+    });
+
+    return count[0];
   }
 
-  private static RepositorySystemSession getVerboseRepositorySession(MavenProject project) {
+  /**
+   * Configuration of this adapter that influences the resolved dependency graph.
+   */
+  private String getResolutionConfig() {
+    return "verbose" + (this.repositorySystem != null ? ";collect" : "");
+  }
+
+  /**
+   * Returns the verbose repository session for the given project. The session is only created once for all projects
+   * that share the same repository session, which is the case for all projects in a reactor. Aether keeps the
+   * artifact descriptors and the resolved artifacts in the cache of the session. The verbose session uses the cache of
+   * Maven's session, so the collection of each project reuses the results of the previously collected projects, even
+   * those of earlier goal executions.
+   */
+  private synchronized RepositorySystemSession getVerboseRepositorySession(MavenProject project) {
     @SuppressWarnings("deprecation")
     RepositorySystemSession repositorySession = project.getProjectBuildingRequest().getRepositorySession();
+    if (this.verboseRepositorySession == null || this.repositorySession != repositorySession) {
+      this.verboseRepositorySession = createVerboseRepositorySession(repositorySession);
+      this.repositorySession = repositorySession;
+    }
+
+    return this.verboseRepositorySession;
+  }
+
+  private RepositorySystemSession createVerboseRepositorySession(RepositorySystemSession repositorySession) {
     DefaultRepositorySystemSession verboseRepositorySession = new DefaultRepositorySystemSession(repositorySession);
     verboseRepositorySession.setConfigProperty(CONFIG_PROP_VERBOSE, "true");
+    // Maven's session cache is shared by all goal executions of the build. Sessions without a cache, e.g. in tests, get
+    // a cache for the projects of this adapter.
+    if (repositorySession.getCache() == null) {
+      verboseRepositorySession.setCache(new DefaultRepositoryCache());
+    }
     verboseRepositorySession.setReadOnly();
-    repositorySession = verboseRepositorySession;
-    return repositorySession;
+    return verboseRepositorySession;
   }
 
   private ArtifactFilter createTransitiveDependencyFilter(MavenProject project) {
@@ -95,4 +263,65 @@ public final class MavenGraphAdapter {
 
     return artifactFilter;
   }
+
+  /**
+   * Optional settings of a {@link MavenGraphAdapter}. By default, the dependencies are always resolved with the
+   * {@link ProjectDependenciesResolver} without a depth limit and the metrics are discarded.
+   */
+  public static final class Options {
+
+    private ResolutionCache resolutionCache;
+    private GraphMetrics metrics = new GraphMetrics();
+    private RepositorySystem repositorySystem;
+    private int maxDepth;
+
+    /**
+     * Takes the resolved dependency graphs from the given cache if possible.
+     *
+     * @param resolutionCache Cache for resolved dependency graphs or {@code null} to always resolve the dependencies.
+     * @return This options.
+     */
+    public Options resolutionCache(ResolutionCache resolutionCache) {
+      this.resolutionCache = resolutionCache;
+      return this;
+    }
+
+    /**
+     * Records the time spent in dependency resolution and graph traversal in the given metrics.
+     *
+     * @param metrics Metrics of the current goal execution.
+     * @return This options.
+     */
+    public Options metrics(GraphMetrics metrics) {
+      this.metrics = metrics;
+      return this;
+    }
+
+    /**
+     * Collects the dependency graph directly with the given repository system instead of going through the
+     * {@link ProjectDependenciesResolver}. The collect request is built from the direct dependencies and the dependency
+     * management of the project, just like the resolver does, but without its additional bookkeeping.
+     *
+     * @param repositorySystem Repository system to collect the dependencies or {@code null} to use the
+     * {@link ProjectDependenciesResolver}.
+     * @return This options.
+     */
+    public Options collectWith(RepositorySystem repositorySystem) {
+      this.repositorySystem = repositorySystem;
+      return this;
+    }
+
+    /**
+     * Limits the depth of the built dependency graphs. The dependencies are still collected completely, so Aether's
+     * conflict resolution mediates the versions and scopes of the remaining nodes over the complete graph.
+     *
+     * @param maxDepth Max depth of the built graphs or {@code 0} for an unlimited depth. Direct dependencies have the
+     * depth 1.
+     * @return This options.
+     */
+    public Options maxDepth(int maxDepth) {
+      this.maxDepth = maxDepth;
+      return this;
+    }
+  }
 }
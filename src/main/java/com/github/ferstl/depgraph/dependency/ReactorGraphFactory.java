@@ -36,7 +36,7 @@ public class ReactorGraphFactory implements GraphFactory {
   }
 
   @Override
-  public String createGraph(MavenProject project) {
+  public GraphBuilder<DependencyNode> createGraph(MavenProject project) {
     // Start at the end of the reactor
     List<MavenProject> sortedProjects = this.projectDependencyGraph.getSortedProjects();
     Collections.reverse(sortedProjects);
@@ -57,6 +57,6 @@ public class ReactorGraphFactory implements GraphFactory {
 
     }
 
-    return this.graphBuilder.toString();
+    return this.graphBuilder;
   }
 }
@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Profile;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+import static com.fasterxml.jackson.annotation.PropertyAccessor.FIELD;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * File system cache for resolved dependency graphs. Each entry contains the verbose dependency graph of a single project
+ * and is stored under a key which is computed from all inputs of the dependency resolution:
+ * <ul>
+ * <li>The coordinates, dependencies, managed dependencies and remote repositories of the effective project model</li>
+ * <li>The active profiles</li>
+ * <li>The coordinates, dependencies and managed dependencies of all reactor projects the project depends on</li>
+ * <li>The resolution configuration, e.g. the scopes that are collected</li>
+ * </ul>
+ * Graphs which contain SNAPSHOT versions or version ranges are not cached since they might change without changing any
+ * of these inputs. The cache is only an optimization. Any errors while reading or writing an entry are treated like a
+ * cache miss.
+ */
+public final class ResolutionCache {
+
+  /**
+   * Increment this version when the format of the cache entries changes.
+   */
+  private static final int FORMAT_VERSION = 2;
+  private static final String FILE_EXTENSION = ".json";
+
+  private final Path directory;
+  private final ObjectMapper objectMapper;
+  // Reactor projects by groupId:artifactId:version
+  private final Map<String, MavenProject> reactorProjects;
+
+  public ResolutionCache(Path directory) {
+    this(directory, Collections.emptyList());
+  }
+
+  /**
+   * Creates a cache for the projects of the given reactor. The dependencies of reactor projects are read from their POM
+   * files, which may change without a new version. So they are part of the key of each project that depends on them.
+   *
+   * @param directory The cache directory.
+   * @param reactorProjects The projects of the reactor.
+   */
+  public ResolutionCache(Path directory, Collection<MavenProject> reactorProjects) {
+    this.directory = directory;
+    this.reactorProjects = new HashMap<>();
+    for (MavenProject reactorProject : reactorProjects) {
+      this.reactorProjects.put(ArtifactUtils.key(reactorProject.getGroupId(), reactorProject.getArtifactId(), reactorProject.getVersion()), reactorProject);
+    }
+    this.objectMapper = new ObjectMapper()
+        .setSerializationInclusion(NON_NULL)
+        .setVisibility(FIELD, ANY);
+  }
+
+  /**
+   * Creates the cache key for the given project.
+   *
+   * @param project The project to resolve.
+   * @param resolutionConfig Any configuration that influences the result of the dependency resolution.
+   * @return The cache key.
+   */
+  public String createKey(MavenProject project, String resolutionConfig) {
+    Hasher hasher = Hashing.sha256().newHasher()
+        .putInt(FORMAT_VERSION);
+
+    putProject(hasher, project);
+
+    for (Profile profile : project.getActiveProfiles()) {
+      putString(hasher, profile.getId());
+    }
+
+    List<RemoteRepository> repositories = project.getRemoteProjectRepositories();
+    for (RemoteRepository repository : repositories != null ? repositories : Collections.<RemoteRepository>emptyList()) {
+      putString(hasher, repository.getId());
+      putString(hasher, repository.getUrl());
+    }
+
+    Set<MavenProject> reactorDependencies = new LinkedHashSet<>();
+    collectReactorDependencies(project, reactorDependencies);
+    hasher.putInt(reactorDependencies.size());
+    for (MavenProject reactorDependency : reactorDependencies) {
+      putProject(hasher, reactorDependency);
+    }
+
+    putString(hasher, resolutionConfig);
+
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Collects the reactor projects the given project depends on, including the reactor projects they depend on.
+   */
+  private void collectReactorDependencies(MavenProject project, Set<MavenProject> reactorDependencies) {
+    for (Dependency dependency : project.getDependencies()) {
+      MavenProject reactorProject = this.reactorProjects.get(ArtifactUtils.key(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion()));
+      if (reactorProject != null && reactorProject != project && reactorDependencies.add(reactorProject)) {
+        collectReactorDependencies(reactorProject, reactorDependencies);
+      }
+    }
+  }
+
+  /**
+   * Returns the cached dependency graph for the given key.
+   *
+   * @param key The cache key.
+   * @return The root node of the cached dependency graph or {@code null} if there is no usable entry.
+   */
+  public org.eclipse.aether.graph.DependencyNode get(String key) {
+    try (InputStream is = Files.newInputStream(entryPath(key))) {
+      CachedGraph graph = this.objectMapper.readValue(is, CachedGraph.class);
+      return graph.toDependencyNode();
+    } catch (IOException | RuntimeException e) {
+      // Missing, corrupt or incompatible entry
+      return null;
+    }
+  }
+
+  /**
+   * Stores the given dependency graph if it is cacheable.
+   *
+   * @param key The cache key.
+   * @param root The root node of the dependency graph.
+   * @return {@code true} if the graph was stored, {@code false} else.
+   */
+  public boolean put(String key, org.eclipse.aether.graph.DependencyNode root) {
+    CachedGraph cachedGraph = CachedGraph.fromDependencyNode(root);
+    if (cachedGraph == null) {
+      return false;
+    }
+
+    try {
+      Files.createDirectories(this.directory);
+      Path tempFile = Files.createTempFile(this.directory, key, ".tmp");
+      try {
+        try (OutputStream os = Files.newOutputStream(tempFile)) {
+          this.objectMapper.writeValue(os, cachedGraph);
+        }
+
+        moveAtomically(tempFile, entryPath(key));
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+    } catch (IOException e) {
+      return false;
+    }
+
+    return true;
+  }
+
+  private Path entryPath(String key) {
+    return this.directory.resolve(key + FILE_EXTENSION);
+  }
+
+  private static void moveAtomically(Path source, Path target) throws IOException {
+    // Concurrent builds might read the entry while it is written
+    try {
+      Files.move(source, target, ATOMIC_MOVE, REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, REPLACE_EXISTING);
+    }
+  }
+
+  private static void putProject(Hasher hasher, MavenProject project) {
+    putString(hasher, project.getGroupId());
+    putString(hasher, project.getArtifactId());
+    putString(hasher, project.getVersion());
+    putString(hasher, project.getPackaging());
+
+    putDependencies(hasher, project.getDependencies());
+    DependencyManagement dependencyManagement = project.getDependencyManagement();
+    putDependencies(hasher, dependencyManagement != null ? dependencyManagement.getDependencies() : Collections.emptyList());
+  }
+
+  private static void putDependencies(Hasher hasher, List<Dependency> dependencies) {
+    hasher.putInt(dependencies.size());
+    for (Dependency dependency : dependencies) {
+      putString(hasher, dependency.getManagementKey());
+      putString(hasher, dependency.getVersion());
+      putString(hasher, dependency.getScope());
+      putString(hasher, dependency.getOptional());
+      putString(hasher, dependency.getSystemPath());
+
+      Set<String> exclusions = new TreeSet<>();
+      for (Exclusion exclusion : dependency.getExclusions()) {
+        exclusions.add(exclusion.getGroupId() + ":" + exclusion.getArtifactId());
+      }
+      putString(hasher, String.join(",", exclusions));
+    }
+  }
+
+  private static void putString(Hasher hasher, String value) {
+    // Include the length to avoid ambiguities between consecutive strings
+    String nonNullValue = value != null ? value : "";
+    hasher.putInt(nonNullValue.length()).putString(nonNullValue, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Serializable representation of a dependency graph. Aether shares the nodes of equal subtrees, so the same node may
+   * be the child of several other nodes. Each node is stored only once and referenced by its index in {@link #nodes}.
+   * The first node is the root of the graph.
+   */
+  static final class CachedGraph {
+
+    private List<CachedNode> nodes = new ArrayList<>();
+
+    org.eclipse.aether.graph.DependencyNode toDependencyNode() {
+      List<DefaultDependencyNode> dependencyNodes = new ArrayList<>(this.nodes.size());
+      for (CachedNode cachedNode : this.nodes) {
+        dependencyNodes.add(cachedNode.toDependencyNode());
+      }
+
+      for (int i = 0; i < this.nodes.size(); i++) {
+        List<Integer> children = this.nodes.get(i).children;
+        List<org.eclipse.aether.graph.DependencyNode> childNodes = new ArrayList<>(children.size());
+        for (int child : children) {
+          childNodes.add(dependencyNodes.get(child));
+        }
+        dependencyNodes.get(i).setChildren(childNodes);
+      }
+
+      return dependencyNodes.get(0);
+    }
+
+    /**
+     * Creates the cached representation of the graph with the given root node.
+     *
+     * @return The cached graph or {@code null} if the graph cannot be cached.
+     */
+    static CachedGraph fromDependencyNode(org.eclipse.aether.graph.DependencyNode root) {
+      CachedGraph graph = new CachedGraph();
+      Integer rootIndex = graph.addNode(root, new IdentityHashMap<>(), Collections.newSetFromMap(new IdentityHashMap<>()));
+      return rootIndex != null ? graph : null;
+    }
+
+    /**
+     * Adds the given node and its children unless the node was already added.
+     *
+     * @return The index of the node or {@code null} if the node cannot be cached.
+     */
+    private Integer addNode(org.eclipse.aether.graph.DependencyNode node, Map<org.eclipse.aether.graph.DependencyNode, Integer> indices, Set<org.eclipse.aether.graph.DependencyNode> currentPath) {
+      Integer index = indices.get(node);
+      if (index != null) {
+        return index;
+      }
+
+      org.eclipse.aether.artifact.Artifact artifact = node.getArtifact();
+      // The root node is the project itself. Its version is part of the cache key.
+      boolean root = this.nodes.isEmpty();
+      boolean versionRange = node.getVersionConstraint() != null && node.getVersionConstraint().getRange() != null;
+      if ((artifact.isSnapshot() && !root) || versionRange || !currentPath.add(node)) {
+        return null;
+      }
+
+      CachedNode cachedNode = CachedNode.fromDependencyNode(node);
+      index = this.nodes.size();
+      this.nodes.add(cachedNode);
+
+      for (org.eclipse.aether.graph.DependencyNode child : node.getChildren()) {
+        Integer childIndex = addNode(child, indices, currentPath);
+        if (childIndex == null) {
+          return null;
+        }
+        cachedNode.children.add(childIndex);
+      }
+
+      currentPath.remove(node);
+      indices.put(node, index);
+      return index;
+    }
+  }
+
+  /**
+   * Serializable representation of a {@link org.eclipse.aether.graph.DependencyNode} which contains all information
+   * that is used to create a {@link DependencyNode}.
+   */
+  static final class CachedNode {
+
+    private String groupId;
+    private String artifactId;
+    private String version;
+    private String classifier;
+    private String extension;
+    private String type;
+    // null for nodes without a dependency, e.g. the project itself
+    private String scope;
+    private boolean optional;
+    private String winnerVersion;
+    // Indices of the children in the cached graph
+    private List<Integer> children = new ArrayList<>();
+
+    /**
+     * Creates the node without its children.
+     */
+    DefaultDependencyNode toDependencyNode() {
+      DefaultArtifact artifact = createArtifact(this.version);
+      DefaultDependencyNode node = this.scope != null
+          ? new DefaultDependencyNode(new org.eclipse.aether.graph.Dependency(artifact, this.scope, this.optional))
+          : new DefaultDependencyNode(artifact);
+
+      if (this.winnerVersion != null) {
+        node.setData(ConflictResolver.NODE_DATA_WINNER, new DefaultDependencyNode(createArtifact(this.winnerVersion)));
+      }
+
+      return node;
+    }
+
+    private DefaultArtifact createArtifact(String artifactVersion) {
+      return new DefaultArtifact(this.groupId, this.artifactId, this.classifier, this.extension, artifactVersion,
+          Collections.singletonMap("type", this.type), (File) null);
+    }
+
+    /**
+     * Creates the cached representation of the given node without its children.
+     */
+    static CachedNode fromDependencyNode(org.eclipse.aether.graph.DependencyNode node) {
+      org.eclipse.aether.artifact.Artifact artifact = node.getArtifact();
+      CachedNode cachedNode = new CachedNode();
+      cachedNode.groupId = artifact.getGroupId();
+      cachedNode.artifactId = artifact.getArtifactId();
+      cachedNode.version = artifact.getVersion();
+      cachedNode.classifier = artifact.getClassifier();
+      cachedNode.extension = artifact.getExtension();
+      cachedNode.type = artifact.getProperty("type", artifact.getExtension());
+      if (node.getDependency() != null) {
+        cachedNode.scope = node.getDependency().getScope();
+        cachedNode.optional = node.getDependency().isOptional();
+      }
+
+      Object winner = node.getData().get(ConflictResolver.NODE_DATA_WINNER);
+      if (winner instanceof org.eclipse.aether.graph.DependencyNode) {
+        cachedNode.winnerVersion = ((org.eclipse.aether.graph.DependencyNode) winner).getArtifact().getVersion();
+      }
+
+      return cachedNode;
+    }
+  }
+}
@@ -22,6 +22,10 @@ import com.github.ferstl.depgraph.graph.GraphBuilder;
 
 /**
  * A graph factory that creates a graph from a single-module project.
+ * <p>
+ * All graphs are created with the same {@link GraphBuilder}. Creating the graphs of several projects with one factory
+ * therefore results in the <strong>union</strong> of these graphs. Use a new factory for each separate graph.
+ * </p>
  */
 public class SimpleGraphFactory implements GraphFactory {
 
@@ -36,9 +40,32 @@ public class SimpleGraphFactory implements GraphFactory {
   }
 
   @Override
-  public String createGraph(MavenProject project) {
+  public GraphBuilder<DependencyNode> createGraph(MavenProject project) {
+    return createGraph(project, resolveDependencyGraph(project));
+  }
+
+  /**
+   * Resolves the dependency graph of the given project without adding it to the graph of this factory. The result can
+   * be added to the graphs of several factories with {@link #createGraph(MavenProject, org.eclipse.aether.graph.DependencyNode)}.
+   *
+   * @param project The project to resolve.
+   * @return The root node of the resolved dependency graph.
+   */
+  public org.eclipse.aether.graph.DependencyNode resolveDependencyGraph(MavenProject project) {
+    return this.mavenGraphAdapter.resolveDependencyGraph(project);
+  }
+
+  /**
+   * Adds the previously resolved dependency graph of the given project to the graph of this factory.
+   *
+   * @param project The project the dependency graph belongs to.
+   * @param root The root node of the resolved dependency graph.
+   * @return The graph builder of this factory.
+   * @see #resolveDependencyGraph(MavenProject)
+   */
+  public GraphBuilder<DependencyNode> createGraph(MavenProject project, org.eclipse.aether.graph.DependencyNode root) {
     this.graphBuilder.graphName(project.getArtifactId());
-    this.mavenGraphAdapter.buildDependencyGraph(project, this.globalFilter, this.graphBuilder);
+    this.mavenGraphAdapter.buildDependencyGraph(project, root, this.globalFilter, this.graphBuilder);
 
     // Add the project as single node if the graph is empty
     Artifact artifact = project.getArtifact();
@@ -46,7 +73,7 @@ public class SimpleGraphFactory implements GraphFactory {
       this.graphBuilder.addNode(new DependencyNode(artifact));
     }
 
-    return this.graphBuilder.toString();
+    return this.graphBuilder;
   }
 
 }
@@ -16,6 +16,7 @@
 package com.github.ferstl.depgraph.dependency.dot;
 
 import com.github.ferstl.depgraph.dependency.DependencyNode;
+import com.github.ferstl.depgraph.dependency.GraphMetrics;
 import com.github.ferstl.depgraph.dependency.NodeResolution;
 import com.github.ferstl.depgraph.dependency.dot.style.StyleConfiguration;
 import com.github.ferstl.depgraph.graph.EdgeRenderer;
@@ -28,10 +29,12 @@ public class DotDependencyEdgeRenderer implements EdgeRenderer<DependencyNode> {
 
   private final boolean renderVersions;
   private final StyleConfiguration styleConfiguration;
+  private final GraphMetrics metrics;
 
-  public DotDependencyEdgeRenderer(boolean renderVersions, StyleConfiguration styleConfiguration) {
+  public DotDependencyEdgeRenderer(boolean renderVersions, StyleConfiguration styleConfiguration, GraphMetrics metrics) {
     this.renderVersions = renderVersions;
     this.styleConfiguration = styleConfiguration;
+    this.metrics = metrics;
   }
 
   @Override
@@ -39,7 +42,7 @@ public class DotDependencyEdgeRenderer implements EdgeRenderer<DependencyNode> {
     NodeResolution fromResolution = from.getResolution();
     NodeResolution toResolution = to.getResolution();
 
-    DotAttributeBuilder builder = this.styleConfiguration.edgeAttributes(fromResolution, toResolution, to.getEffectiveScope(), from.getArtifact(), to.getArtifact());
+    DotAttributeBuilder builder = this.styleConfiguration.edgeAttributes(fromResolution, toResolution, to.getEffectiveScope(), from.getArtifact(), to.getArtifact(), this.metrics);
     if (toResolution == NodeResolution.OMITTED_FOR_CONFLICT && this.renderVersions) {
       builder.label(abbreviateVersion(to.getArtifact().getVersion()));
     }
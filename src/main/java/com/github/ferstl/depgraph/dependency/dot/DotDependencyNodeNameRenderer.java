@@ -19,9 +19,11 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 import org.apache.maven.artifact.Artifact;
 import com.github.ferstl.depgraph.dependency.DependencyNode;
+import com.github.ferstl.depgraph.dependency.GraphMetrics;
 import com.github.ferstl.depgraph.dependency.dot.style.StyleConfiguration;
 import com.github.ferstl.depgraph.dependency.dot.style.StyleKey;
 import com.github.ferstl.depgraph.graph.NodeRenderer;
+import com.github.ferstl.depgraph.graph.dot.DotAttributeBuilder;
 import com.google.common.base.Joiner;
 import static org.apache.maven.artifact.Artifact.SCOPE_COMPILE;
 
@@ -38,8 +40,9 @@ public class DotDependencyNodeNameRenderer implements NodeRenderer<DependencyNod
   private final boolean showOptional;
   private final StyleConfiguration styleConfiguration;
   private final boolean showScope;
+  private final GraphMetrics metrics;
 
-  public DotDependencyNodeNameRenderer(boolean showGroupId, boolean showArtifactId, boolean showTypes, boolean showClassifiers, boolean showVersion, boolean showOptional, boolean showScope, StyleConfiguration styleConfiguration) {
+  public DotDependencyNodeNameRenderer(boolean showGroupId, boolean showArtifactId, boolean showTypes, boolean showClassifiers, boolean showVersion, boolean showOptional, boolean showScope, StyleConfiguration styleConfiguration, GraphMetrics metrics) {
     this.showGroupId = showGroupId;
     this.showArtifactId = showArtifactId;
     this.showTypes = showTypes;
@@ -48,6 +51,7 @@ public class DotDependencyNodeNameRenderer implements NodeRenderer<DependencyNod
     this.showOptional = showOptional;
     this.showScope = showScope;
     this.styleConfiguration = styleConfiguration;
+    this.metrics = metrics;
   }
 
 
@@ -61,7 +65,7 @@ public class DotDependencyNodeNameRenderer implements NodeRenderer<DependencyNod
     String effectiveScope = node.getEffectiveScope();
     StyleKey styleKey = StyleKey.create(artifact.getGroupId(), artifact.getArtifactId(), effectiveScope, artifact.getType(), node.getEffectiveVersion(), classifiers, artifact.isOptional());
 
-    return this.styleConfiguration.nodeAttributes(
+    DotAttributeBuilder attributes = this.styleConfiguration.nodeAttributes(
         styleKey,
         this.showGroupId ? artifact.getGroupId() : null,
         this.showArtifactId ? artifact.getArtifactId() : null,
@@ -69,8 +73,16 @@ public class DotDependencyNodeNameRenderer implements NodeRenderer<DependencyNod
         this.showOptional && artifact.isOptional(),
         this.showTypes ? types : null,
         this.showClassifiers ? classifiers : null,
-        this.showScope ? scopes : null
-    ).toString();
+        this.showScope ? scopes : null,
+        this.metrics
+    );
+
+    // Nodes whose dependencies were cut off by the max depth get a double border
+    if (node.isTruncated()) {
+      attributes.addAttribute("peripheries", "2");
+    }
+
+    return attributes.toString();
   }
 
   private static String createScopeString(Set<String> scopes) {
@@ -18,6 +18,7 @@ package com.github.ferstl.depgraph.dependency.dot;
 
 import com.github.ferstl.depgraph.dependency.AbstractGraphStyleConfigurer;
 import com.github.ferstl.depgraph.dependency.DependencyNode;
+import com.github.ferstl.depgraph.dependency.GraphMetrics;
 import com.github.ferstl.depgraph.dependency.dot.style.StyleConfiguration;
 import com.github.ferstl.depgraph.graph.GraphBuilder;
 import com.github.ferstl.depgraph.graph.dot.DotGraphFormatter;
@@ -25,15 +26,17 @@ import com.github.ferstl.depgraph.graph.dot.DotGraphFormatter;
 public class DotGraphStyleConfigurer extends AbstractGraphStyleConfigurer {
 
   private final StyleConfiguration styleConfiguration;
+  private final GraphMetrics metrics;
 
-  public DotGraphStyleConfigurer(StyleConfiguration styleConfiguration) {
+  public DotGraphStyleConfigurer(StyleConfiguration styleConfiguration, GraphMetrics metrics) {
     this.styleConfiguration = styleConfiguration;
+    this.metrics = metrics;
   }
 
   @Override
   public GraphBuilder<DependencyNode> configure(GraphBuilder<DependencyNode> graphBuilder) {
-    DotDependencyNodeNameRenderer nodeNameRenderer = new DotDependencyNodeNameRenderer(this.showGroupId, this.showArtifactId, this.showTypes, this.showClassifiers, this.showVersionsOnNodes, this.showOptional, this.showScope, this.styleConfiguration);
-    DotDependencyEdgeRenderer edgeRenderer = new DotDependencyEdgeRenderer(this.showVersionOnEdges, this.styleConfiguration);
+    DotDependencyNodeNameRenderer nodeNameRenderer = new DotDependencyNodeNameRenderer(this.showGroupId, this.showArtifactId, this.showTypes, this.showClassifiers, this.showVersionsOnNodes, this.showOptional, this.showScope, this.styleConfiguration, this.metrics);
+    DotDependencyEdgeRenderer edgeRenderer = new DotDependencyEdgeRenderer(this.showVersionOnEdges, this.styleConfiguration, this.metrics);
 
     return graphBuilder
         .graphFormatter(new DotGraphFormatter(this.styleConfiguration.graphAttributes(), this.styleConfiguration.defaultNodeAttributes(), this.styleConfiguration.defaultEdgeAttributes()))
@@ -18,9 +18,15 @@ package com.github.ferstl.depgraph.dependency.dot.style;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import org.apache.maven.artifact.Artifact;
 import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
@@ -30,14 +36,30 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.github.ferstl.depgraph.dependency.GraphMetrics;
 import com.github.ferstl.depgraph.dependency.NodeResolution;
+import com.github.ferstl.depgraph.dependency.dot.style.StyleRuleIndex.Match;
 import com.github.ferstl.depgraph.dependency.dot.style.resource.StyleResource;
 import com.github.ferstl.depgraph.graph.dot.DotAttributeBuilder;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Counter.STYLE_RULE_EVALUATIONS;
 import static com.github.ferstl.depgraph.dependency.NodeResolution.INCLUDED;
 import static com.github.ferstl.depgraph.dependency.NodeResolution.PARENT;
 
 public class StyleConfiguration {
 
+  private static final int MAX_CACHED_CONFIGURATIONS = 16;
+  private static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
+  private static final Cache<String, StyleConfiguration> CACHE = CacheBuilder.newBuilder()
+      .maximumSize(MAX_CACHED_CONFIGURATIONS)
+      .build();
+
   private final Graph graph = new Graph();
   private AbstractNode defaultNode = new Box();
   private final Edge defaultEdge = new Edge();
@@ -47,14 +69,45 @@ public class StyleConfiguration {
   private final Map<StyleKey, Edge> edgeNodeStylesTo = new LinkedHashMap<>();
   private final Map<NodeResolution, Edge> edgeResolutionStyles = new LinkedHashMap<>();
 
+  // Created on first use, i.e. after all overrides have been merged
+  private transient volatile CompiledStyles compiledStyles;
+
 
+  /**
+   * Loads the style configuration from the given resources. Parsed configurations are cached for the lifetime of the
+   * JVM and shared by all executions of the plugin, e.g. by all modules in a (parallel) multi-module build. The cache key
+   * is the content of all given resources, so a changed resource is always parsed again.
+   *
+   * @param mainConfig The main style configuration.
+   * @param overrides Style configurations which override the main configuration in the given order.
+   * @return The merged style configuration.
+   */
   public static StyleConfiguration load(StyleResource mainConfig, StyleResource... overrides) {
-    ObjectMapper mapper = createObjectMapper();
+    List<StyleResource> resources = new ArrayList<>(overrides.length + 1);
+    resources.add(mainConfig);
+    resources.addAll(Arrays.asList(overrides));
+
+    List<byte[]> contents = new ArrayList<>(resources.size());
+    Hasher hasher = Hashing.sha256().newHasher();
+    for (StyleResource resource : resources) {
+      byte[] content = readContent(resource);
+      contents.add(content);
+      hasher.putInt(content.length).putBytes(content);
+    }
 
-    ObjectReader reader = mapper.readerFor(StyleConfiguration.class);
-    StyleConfiguration styleConfiguration = readConfig(reader, mainConfig);
-    for (StyleResource override : overrides) {
-      StyleConfiguration overrideConfig = readConfig(reader, override);
+    try {
+      return CACHE.get(hasher.hash().toString(), () -> parse(resources, contents));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private static StyleConfiguration parse(List<StyleResource> resources, List<byte[]> contents) {
+    ObjectReader reader = OBJECT_MAPPER.readerFor(StyleConfiguration.class);
+    StyleConfiguration styleConfiguration = readConfig(reader, resources.get(0), contents.get(0));
+    for (int i = 1; i < resources.size(); i++) {
+      StyleConfiguration overrideConfig = readConfig(reader, resources.get(i), contents.get(i));
       styleConfiguration.merge(overrideConfig);
     }
 
@@ -73,9 +126,17 @@ public class StyleConfiguration {
         .setVisibility(PropertyAccessor.FIELD, Visibility.ANY);
   }
 
-  private static StyleConfiguration readConfig(ObjectReader reader, StyleResource config) {
+  private static byte[] readContent(StyleResource config) {
     try (InputStream is = config.openStream()) {
-      return reader.readValue(is);
+      return ByteStreams.toByteArray(is);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static StyleConfiguration readConfig(ObjectReader reader, StyleResource config, byte[] content) {
+    try {
+      return reader.readValue(content);
     } catch (JsonProcessingException e) {
       String message = String.format("Unable to read style configuration %s.\nLocation: line %s, column %s\nDetails: %s",
           config, e.getLocation().getLineNr(), e.getLocation().getColumnNr(), e.getOriginalMessage());
@@ -98,7 +159,11 @@ public class StyleConfiguration {
     return this.defaultEdge.createAttributes();
   }
 
-  public DotAttributeBuilder edgeAttributes(NodeResolution fromResolution, NodeResolution toResolution, String targetScope, Artifact from, Artifact to) {
+  /**
+   * Returns the attributes of an edge. Rule evaluations needed to find the styles of the edge's nodes are added to the
+   * given metrics.
+   */
+  public DotAttributeBuilder edgeAttributes(NodeResolution fromResolution, NodeResolution toResolution, String targetScope, Artifact from, Artifact to, GraphMetrics metrics) {
     Edge edge;
     if (fromResolution == PARENT) {
       edge = this.edgeResolutionStyles.get(fromResolution);
@@ -111,57 +176,56 @@ public class StyleConfiguration {
       edge = this.edgeScopeStyles.get(targetScope);
     }
 
+    CompiledStyles styles = getCompiledStyles();
     // Specific edge style-from win over node resolution
     if (from != null) {
       StyleKey artifactKeyFrom = StyleKey.create(from.getGroupId(), from.getArtifactId(), from.getScope(), from.getType(), from.getVersion(), from.getClassifier(), from.isOptional());
-      for (Entry<StyleKey, Edge> entry : this.edgeNodeStylesFrom.entrySet()) {
-        StyleKey styleKey = entry.getKey();
-        if (styleKey.matches(artifactKeyFrom)) {
-          edge = entry.getValue();
-          break;
-        }
-      }
+      edge = styles.edgeStyleFrom(artifactKeyFrom, metrics).orElse(edge);
     }
     // Specific edge style-from to over node resolution
     if (to != null) {
       StyleKey artifactKeyTo = StyleKey.create(to.getGroupId(), to.getArtifactId(), to.getScope(), to.getType(), to.getVersion(), to.getClassifier(), to.isOptional());
-      for (Entry<StyleKey, Edge> entry : this.edgeNodeStylesTo.entrySet()) {
-        StyleKey styleKey = entry.getKey();
-        if (styleKey.matches(artifactKeyTo)) {
-          edge = entry.getValue();
-          break;
-        }
-      }
+      edge = styles.edgeStyleTo(artifactKeyTo, metrics).orElse(edge);
     }
 
     return edge != null ? edge.createAttributes() : new DotAttributeBuilder();
   }
 
-  public DotAttributeBuilder nodeAttributes(StyleKey artifactKey, String groupId, String artifactId, String version, boolean isOptional, String types, String classifiers, String scopes) {
-    AbstractNode node = this.defaultNode;
-
-    for (Entry<StyleKey, AbstractNode> entry : this.nodeStyles.entrySet()) {
-      StyleKey styleKey = entry.getKey();
-      if (styleKey.matches(artifactKey)) {
-        node = entry.getValue();
-        break;
-      }
-    }
+  /**
+   * Returns the attributes of a node. Rule evaluations needed to find the style of the node are added to the given
+   * metrics.
+   */
+  public DotAttributeBuilder nodeAttributes(StyleKey artifactKey, String groupId, String artifactId, String version, boolean isOptional, String types, String classifiers, String scopes, GraphMetrics metrics) {
+    AbstractNode node = getCompiledStyles().nodeStyle(artifactKey, metrics);
 
     return node.createAttributes(groupId, artifactId, version, isOptional, types, scopes, classifiers, node != this.defaultNode);
   }
 
   public String toJson() {
-    ObjectMapper mapper = createObjectMapper();
     try {
       StringWriter w = new StringWriter();
-      mapper.writerWithDefaultPrettyPrinter().writeValue(w, this);
+      OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(w, this);
       return w.toString();
     } catch (IOException e) {
       throw new RuntimeException(e.getMessage(), e);
     }
   }
 
+  private CompiledStyles getCompiledStyles() {
+    CompiledStyles styles = this.compiledStyles;
+    if (styles == null) {
+      synchronized (this) {
+        styles = this.compiledStyles;
+        if (styles == null) {
+          styles = new CompiledStyles();
+          this.compiledStyles = styles;
+        }
+      }
+    }
+
+    return styles;
+  }
+
   private void merge(StyleConfiguration other) {
     this.graph.merge(other.graph);
     // We have to deal with subclasses here. Hence the double merge.
@@ -231,4 +295,39 @@ public class StyleConfiguration {
     }
   }
 
+  /**
+   * Rule indices of the node and edge styles. The matching style of each distinct {@link StyleKey} is cached, so the
+   * rules are matched only once per artifact. Each lookup adds the number of rule evaluations of its match to the metrics,
+   * whether the match was cached or not. This keeps the metrics of an execution independent of the styles that other
+   * executions in the same JVM already matched.
+   */
+  private final class CompiledStyles {
+
+    private final StyleRuleIndex<AbstractNode> nodeStyleIndex = new StyleRuleIndex<>(StyleConfiguration.this.nodeStyles);
+    private final StyleRuleIndex<Edge> edgeStyleFromIndex = new StyleRuleIndex<>(StyleConfiguration.this.edgeNodeStylesFrom);
+    private final StyleRuleIndex<Edge> edgeStyleToIndex = new StyleRuleIndex<>(StyleConfiguration.this.edgeNodeStylesTo);
+
+    private final Map<StyleKey, Match<AbstractNode>> nodeStyleCache = new ConcurrentHashMap<>();
+    private final Map<StyleKey, Match<Edge>> edgeStyleFromCache = new ConcurrentHashMap<>();
+    private final Map<StyleKey, Match<Edge>> edgeStyleToCache = new ConcurrentHashMap<>();
+
+    AbstractNode nodeStyle(StyleKey artifactKey, GraphMetrics metrics) {
+      AbstractNode node = lookup(this.nodeStyleCache, this.nodeStyleIndex, artifactKey, metrics);
+      return node != null ? node : StyleConfiguration.this.defaultNode;
+    }
+
+    Optional<Edge> edgeStyleFrom(StyleKey artifactKey, GraphMetrics metrics) {
+      return Optional.ofNullable(lookup(this.edgeStyleFromCache, this.edgeStyleFromIndex, artifactKey, metrics));
+    }
+
+    Optional<Edge> edgeStyleTo(StyleKey artifactKey, GraphMetrics metrics) {
+      return Optional.ofNullable(lookup(this.edgeStyleToCache, this.edgeStyleToIndex, artifactKey, metrics));
+    }
+
+    private <V> V lookup(Map<StyleKey, Match<V>> cache, StyleRuleIndex<V> index, StyleKey artifactKey, GraphMetrics metrics) {
+      Match<V> match = cache.computeIfAbsent(artifactKey, index::findFirstMatch);
+      metrics.add(STYLE_RULE_EVALUATIONS, match.getEvaluations());
+      return match.getStyle();
+    }
+  }
 }
@@ -32,6 +32,12 @@ public final class StyleKey {
   private final String classifier;
   private final String optional;
 
+  // Pre-split wildcard patterns (null if the corresponding element does not contain a wildcard)
+  private final String[] groupIdPattern;
+  private final String[] artifactIdPattern;
+  private final String[] versionPattern;
+  private final String[] classifierPattern;
+
 
   private StyleKey(String[] parts) {
     if (parts.length > NUM_ELEMENTS) {
@@ -52,6 +58,11 @@ public final class StyleKey {
     this.version = expanded[4];
     this.classifier = expanded[5];
     this.optional = expanded[6];
+
+    this.groupIdPattern = compileWildcardPattern(this.groupId);
+    this.artifactIdPattern = compileWildcardPattern(this.artifactId);
+    this.versionPattern = compileWildcardPattern(this.version);
+    this.classifierPattern = compileWildcardPattern(this.classifier);
   }
 
   public static StyleKey fromString(String keyString) {
@@ -64,16 +75,28 @@ public final class StyleKey {
   }
 
   public boolean matches(StyleKey other) {
-    return (wildcardMatch(this.groupId, other.groupId))
-        && (wildcardMatch(this.artifactId, other.artifactId))
+    return (wildcardMatch(this.groupId, this.groupIdPattern, other.groupId))
+        && (wildcardMatch(this.artifactId, this.artifactIdPattern, other.artifactId))
         && (match(this.scope, other.scope))
         && (match(this.type, other.type))
-        && (wildcardMatch(this.version, other.version))
-        && (wildcardMatch(this.classifier, other.classifier))
+        && (wildcardMatch(this.version, this.versionPattern, other.version))
+        && (wildcardMatch(this.classifier, this.classifierPattern, other.classifier))
         && (match(this.optional, other.optional));
 
   }
 
+  String getGroupId() {
+    return this.groupId;
+  }
+
+  /**
+   * Indicates whether the group ID of this key has to be equal to the group ID of a key in order to match it. Such keys
+   * can be looked up by their group ID instead of being matched one by one.
+   */
+  boolean hasLiteralGroupId() {
+    return !this.groupId.isEmpty() && this.groupIdPattern == null;
+  }
+
   @Override
   public boolean equals(Object obj) {
     if (obj == this) {
@@ -105,17 +128,22 @@ public final class StyleKey {
     return Joiner.on(",").join(this.groupId, this.artifactId, this.scope, this.type, this.version, this.classifier, this.optional);
   }
 
-  private static boolean wildcardMatch(String value1, String value2) {
-    if (value1.indexOf('*') != -1) {
+  private static String[] compileWildcardPattern(String value) {
+    return value.indexOf('*') != -1 ? value.split("\\*") : null;
+  }
+
+  private static boolean wildcardMatch(String value1, String[] pattern1, String value2) {
+    if (pattern1 != null) {
       int lastMatch = 0;
 
-      for (String matchStr : value1.split("\\*")) {
-        int indexOfMatch = value2.substring(lastMatch).indexOf(matchStr);
-        lastMatch += indexOfMatch + matchStr.length();
+      for (String matchStr : pattern1) {
+        int indexOfMatch = value2.indexOf(matchStr, lastMatch);
 
         if (indexOfMatch == -1) {
           return false;
         }
+
+        lastMatch = indexOfMatch + matchStr.length();
       }
 
       return true;
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency.dot.style;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Index over an ordered set of style rules which finds the first rule matching a given {@link StyleKey}. Rules with a
+ * literal group ID are only checked for keys with the same group ID. All other rules (empty group ID or group ID with
+ * wildcards) are checked for each key. The order of the rules is preserved, so the result is the same as matching the
+ * rules one by one.
+ *
+ * @param <V> Type of the styles.
+ */
+final class StyleRuleIndex<V> {
+
+  private final List<StyleKey> keys;
+  private final List<V> values;
+  private final int[] genericRules;
+  private final Map<String, int[]> rulesByGroupId;
+
+  StyleRuleIndex(Map<StyleKey, V> rules) {
+    this.keys = new ArrayList<>(rules.keySet());
+    this.values = new ArrayList<>(rules.values());
+
+    List<Integer> genericRules = new ArrayList<>();
+    Map<String, List<Integer>> literalRules = new LinkedHashMap<>();
+    for (int i = 0; i < this.keys.size(); i++) {
+      StyleKey key = this.keys.get(i);
+      if (key.hasLiteralGroupId()) {
+        literalRules.computeIfAbsent(key.getGroupId(), k -> new ArrayList<>()).add(i);
+      } else {
+        genericRules.add(i);
+      }
+    }
+
+    this.genericRules = toArray(genericRules);
+    this.rulesByGroupId = new HashMap<>();
+    for (Entry<String, List<Integer>> entry : literalRules.entrySet()) {
+      this.rulesByGroupId.put(entry.getKey(), mergeSorted(toArray(entry.getValue()), this.genericRules));
+    }
+  }
+
+  /**
+   * Returns the first rule matching the given key together with the number of rules that were matched against the key.
+   */
+  Match<V> findFirstMatch(StyleKey key) {
+    int[] candidates = this.rulesByGroupId.getOrDefault(key.getGroupId(), this.genericRules);
+    for (int i = 0; i < candidates.length; i++) {
+      if (this.keys.get(candidates[i]).matches(key)) {
+        return new Match<>(this.values.get(candidates[i]), i + 1);
+      }
+    }
+
+    return new Match<>(null, candidates.length);
+  }
+
+  /**
+   * Result of {@link #findFirstMatch(StyleKey)}.
+   *
+   * @param <V> Type of the style.
+   */
+  static final class Match<V> {
+
+    private final V style;
+    private final int evaluations;
+
+    Match(V style, int evaluations) {
+      this.style = style;
+      this.evaluations = evaluations;
+    }
+
+    /**
+     * Returns the style of the first matching rule or {@code null} if no rule matches.
+     */
+    V getStyle() {
+      return this.style;
+    }
+
+    /**
+     * Returns the number of rules that were matched against the key.
+     */
+    int getEvaluations() {
+      return this.evaluations;
+    }
+  }
+
+  private static int[] toArray(List<Integer> list) {
+    return list.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  private static int[] mergeSorted(int[] a, int[] b) {
+    int[] result = new int[a.length + b.length];
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < a.length && j < b.length) {
+      result[k++] = a[i] < b[j] ? a[i++] : b[j++];
+    }
+    while (i < a.length) {
+      result[k++] = a[i++];
+    }
+    while (j < b.length) {
+      result[k++] = b[j++];
+    }
+
+    return result;
+  }
+}
@@ -16,47 +16,36 @@
 package com.github.ferstl.depgraph.dependency.json;
 
 import java.io.IOException;
-import java.io.StringWriter;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Objects;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.github.ferstl.depgraph.dependency.DependencyNode;
 import com.github.ferstl.depgraph.dependency.NodeResolution;
 import com.github.ferstl.depgraph.graph.EdgeRenderer;
-
-import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
-import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
-import static com.fasterxml.jackson.annotation.PropertyAccessor.FIELD;
+import com.github.ferstl.depgraph.graph.json.JsonData;
+import com.github.ferstl.depgraph.graph.json.JsonGraphFormatter;
 
 public class JsonDependencyEdgeRenderer implements EdgeRenderer<DependencyNode> {
 
   private final boolean renderVersions;
-  private final ObjectMapper objectMapper;
 
   public JsonDependencyEdgeRenderer(boolean renderVersions) {
     this.renderVersions = renderVersions;
-    this.objectMapper = new ObjectMapper()
-        .setSerializationInclusion(NON_EMPTY)
-        .setVisibility(FIELD, ANY);
   }
 
   @Override
   public String render(DependencyNode from, DependencyNode to) {
+    return renderData(from, to).toString();
+  }
+
+  @Override
+  public JsonData renderData(DependencyNode from, DependencyNode to) {
     NodeResolution resolution = to.getResolution();
     boolean showVersion = resolution == NodeResolution.OMITTED_FOR_CONFLICT && this.renderVersions;
 
-    DependencyData dependencyData = new DependencyData(showVersion ? to.getArtifact().getVersion() : null, resolution);
-
-    StringWriter jsonStringWriter = new StringWriter();
-    try {
-      this.objectMapper.writer().writeValue(jsonStringWriter, dependencyData);
-    } catch (IOException e) {
-      // should never happen with StringWriter
-      throw new IllegalStateException(e);
-    }
-
-    return jsonStringWriter.toString();
+    return new DependencyData(showVersion ? to.getArtifact().getVersion() : null, resolution);
   }
 
-  private static class DependencyData {
+  private static final class DependencyData implements JsonData {
 
     private final String version;
     private final NodeResolution resolution;
@@ -65,5 +54,39 @@ public class JsonDependencyEdgeRenderer implements EdgeRenderer<DependencyNode>
       this.version = version;
       this.resolution = resolution;
     }
+
+    @Override
+    public void writeProperties(JsonGenerator generator) throws IOException {
+      if (this.version != null && !this.version.isEmpty()) {
+        generator.writeStringField("version", this.version);
+      }
+      if (this.resolution != null) {
+        generator.writeStringField("resolution", this.resolution.name());
+      }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof DependencyData)) {
+        return false;
+      }
+
+      DependencyData other = (DependencyData) o;
+      return Objects.equals(this.version, other.version)
+          && this.resolution == other.resolution;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.version, this.resolution);
+    }
+
+    @Override
+    public String toString() {
+      return JsonGraphFormatter.toJson(this);
+    }
   }
 }
@@ -16,15 +16,14 @@
 package com.github.ferstl.depgraph.dependency.json;
 
 import java.io.IOException;
-import java.io.StringWriter;
 import java.util.Collection;
+import java.util.Objects;
 import org.apache.maven.artifact.Artifact;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.github.ferstl.depgraph.dependency.DependencyNode;
 import com.github.ferstl.depgraph.graph.NodeRenderer;
-import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
-import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
-import static com.fasterxml.jackson.annotation.PropertyAccessor.FIELD;
+import com.github.ferstl.depgraph.graph.json.JsonData;
+import com.github.ferstl.depgraph.graph.json.JsonGraphFormatter;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.apache.maven.artifact.Artifact.SCOPE_COMPILE;
@@ -38,7 +37,6 @@ public class JsonDependencyNodeNameRenderer implements NodeRenderer<DependencyNo
   private final boolean showVersion;
   private final boolean showOptional;
   private final boolean showScope;
-  private final ObjectMapper objectMapper;
 
   public JsonDependencyNodeNameRenderer(boolean showGroupId, boolean showArtifactId, boolean showTypes, boolean showClassifiers, boolean showVersion, boolean showOptional, boolean showScope) {
     this.showGroupId = showGroupId;
@@ -48,37 +46,29 @@ public class JsonDependencyNodeNameRenderer implements NodeRenderer<DependencyNo
     this.showVersion = showVersion;
     this.showOptional = showOptional;
     this.showScope = showScope;
-
-    this.objectMapper = new ObjectMapper()
-        .setSerializationInclusion(NON_EMPTY)
-        .setVisibility(FIELD, ANY);
   }
 
   @Override
   public String render(DependencyNode node) {
+    return renderData(node).toString();
+  }
+
+  @Override
+  public JsonData renderData(DependencyNode node) {
     Artifact artifact = node.getArtifact();
-    ArtifactData artifactData = new ArtifactData(
+    return new ArtifactData(
         this.showGroupId ? artifact.getGroupId() : null,
         this.showArtifactId ? artifact.getArtifactId() : null,
         this.showVersion ? node.getEffectiveVersion() : null,
         this.showOptional ? artifact.isOptional() : null,
         this.showClassifiers ? node.getClassifiers() : emptyList(),
         this.showScope ? (!node.getScopes().isEmpty() ? node.getScopes() : singletonList(SCOPE_COMPILE)) : emptyList(),
-        this.showTypes ? node.getTypes() : emptyList());
-
-    StringWriter jsonStringWriter = new StringWriter();
-    try {
-      this.objectMapper.writer().writeValue(jsonStringWriter, artifactData);
-    } catch (IOException e) {
-      // should never happen with StringWriter
-      throw new IllegalStateException(e);
-    }
-
-    return jsonStringWriter.toString();
+        this.showTypes ? node.getTypes() : emptyList(),
+        node.isTruncated());
   }
 
 
-  private static class ArtifactData {
+  private static final class ArtifactData implements JsonData {
 
     private final String groupId;
     private final String artifactId;
@@ -87,6 +77,7 @@ public class JsonDependencyNodeNameRenderer implements NodeRenderer<DependencyNo
     private final Collection<String> classifiers;
     private final Collection<String> scopes;
     private final Collection<String> types;
+    private final boolean truncated;
 
     ArtifactData(
         String groupId,
@@ -95,7 +86,8 @@ public class JsonDependencyNodeNameRenderer implements NodeRenderer<DependencyNo
         Boolean optional,
         Collection<String> classifiers,
         Collection<String> scopes,
-        Collection<String> types) {
+        Collection<String> types,
+        boolean truncated) {
       this.optional = optional;
       this.groupId = groupId;
       this.artifactId = artifactId;
@@ -103,6 +95,70 @@ public class JsonDependencyNodeNameRenderer implements NodeRenderer<DependencyNo
       this.classifiers = classifiers;
       this.scopes = scopes;
       this.types = types;
+      this.truncated = truncated;
+    }
+
+    @Override
+    public void writeProperties(JsonGenerator generator) throws IOException {
+      // Empty values are omitted
+      writeString(generator, "groupId", this.groupId);
+      writeString(generator, "artifactId", this.artifactId);
+      writeString(generator, "version", this.version);
+      if (this.optional != null) {
+        generator.writeBooleanField("optional", this.optional);
+      }
+      writeStrings(generator, "classifiers", this.classifiers);
+      writeStrings(generator, "scopes", this.scopes);
+      writeStrings(generator, "types", this.types);
+      if (this.truncated) {
+        generator.writeBooleanField("truncated", true);
+      }
+    }
+
+    private static void writeString(JsonGenerator generator, String fieldName, String value) throws IOException {
+      if (value != null && !value.isEmpty()) {
+        generator.writeStringField(fieldName, value);
+      }
+    }
+
+    private static void writeStrings(JsonGenerator generator, String fieldName, Collection<String> values) throws IOException {
+      if (values != null && !values.isEmpty()) {
+        generator.writeArrayFieldStart(fieldName);
+        for (String value : values) {
+          generator.writeString(value);
+        }
+        generator.writeEndArray();
+      }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ArtifactData)) {
+        return false;
+      }
+
+      ArtifactData other = (ArtifactData) o;
+      return Objects.equals(this.groupId, other.groupId)
+          && Objects.equals(this.artifactId, other.artifactId)
+          && Objects.equals(this.version, other.version)
+          && Objects.equals(this.optional, other.optional)
+          && Objects.equals(this.classifiers, other.classifiers)
+          && Objects.equals(this.scopes, other.scopes)
+          && Objects.equals(this.types, other.types)
+          && this.truncated == other.truncated;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.groupId, this.artifactId, this.version, this.optional, this.classifiers, this.scopes, this.types, this.truncated);
+    }
+
+    @Override
+    public String toString() {
+      return JsonGraphFormatter.toJson(this);
     }
   }
 }
@@ -37,6 +37,11 @@ public class PumlDependencyEgdeRenderer implements EdgeRenderer<DependencyNode>
 
   @Override
   public String render(DependencyNode from, DependencyNode to) {
+    return renderData(from, to).toString();
+  }
+
+  @Override
+  public PumlEdgeInfo renderData(DependencyNode from, DependencyNode to) {
     NodeResolution resolution = to.getResolution();
 
     PumlEdgeInfo edgeInfo = new PumlEdgeInfo();
@@ -65,6 +70,6 @@ public class PumlDependencyEgdeRenderer implements EdgeRenderer<DependencyNode>
         // do not output an edge in other cases
     }
 
-    return edgeInfo.toString();
+    return edgeInfo;
   }
 }
@@ -47,6 +47,11 @@ public class PumlDependencyNodeNameRenderer implements NodeRenderer<DependencyNo
 
   @Override
   public String render(DependencyNode node) {
+    return renderData(node).toString();
+  }
+
+  @Override
+  public PumlNodeInfo renderData(DependencyNode node) {
     Artifact artifact = node.getArtifact();
     PumlNodeInfo nodeInfo = new PumlNodeInfo().withComponent("rectangle");
 
@@ -61,11 +66,9 @@ public class PumlDependencyNodeNameRenderer implements NodeRenderer<DependencyNo
       nodeInfo.withStereotype(node.getEffectiveScope());
     }
 
-    nodeInfo
+    return nodeInfo
         .withLabel(name)
         .withOptional(this.showOptional && artifact.isOptional());
-
-    return nodeInfo.toString();
   }
 
   private static String createTypeString(Set<String> types) {
@@ -16,6 +16,7 @@
 package com.github.ferstl.depgraph.dependency.puml;
 
 import java.io.IOException;
+import java.util.Objects;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -96,6 +97,27 @@ public class PumlNodeInfo {
     }
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PumlNodeInfo)) {
+      return false;
+    }
+
+    PumlNodeInfo other = (PumlNodeInfo) o;
+    return this.optional == other.optional
+        && Objects.equals(this.component, other.component)
+        && Objects.equals(this.label, other.label)
+        && Objects.equals(this.stereotype, other.stereotype);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.component, this.optional, this.label, this.stereotype);
+  }
+
   @Override
   public String toString() {
     try {
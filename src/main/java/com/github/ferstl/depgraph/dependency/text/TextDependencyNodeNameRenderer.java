@@ -58,7 +58,11 @@ public class TextDependencyNodeNameRenderer implements NodeRenderer<DependencyNo
         this.showScope ? createScopeString(node.getScopes()) : null);
 
     if (this.showOptional && artifact.isOptional()) {
-      return artifactString + " (optional)";
+      artifactString += " (optional)";
+    }
+
+    if (node.isTruncated()) {
+      artifactString += " (truncated)";
     }
 
     return artifactString;
@@ -24,6 +24,8 @@ import com.github.ferstl.depgraph.graph.text.TextGraphFormatter;
 public class TextGraphStyleConfigurer extends AbstractGraphStyleConfigurer {
 
   boolean repeatTransitiveDependencies;
+  boolean useBackReferences;
+  int maxLines;
 
   @Override
   public GraphStyleConfigurer repeatTransitiveDependencies(boolean repeatTransitiveDependencies) {
@@ -31,11 +33,23 @@ public class TextGraphStyleConfigurer extends AbstractGraphStyleConfigurer {
     return this;
   }
 
+  @Override
+  public GraphStyleConfigurer useBackReferences(boolean useBackReferences) {
+    this.useBackReferences = useBackReferences;
+    return this;
+  }
+
+  @Override
+  public GraphStyleConfigurer maxLines(int maxLines) {
+    this.maxLines = maxLines;
+    return this;
+  }
+
   @Override
   public GraphBuilder<DependencyNode> configure(GraphBuilder<DependencyNode> graphBuilder) {
     return graphBuilder
         .useNodeNameRenderer(new TextDependencyNodeNameRenderer(this.showGroupId, this.showArtifactId, this.showTypes, this.showClassifiers, this.showVersionsOnNodes, this.showOptional, this.showScope))
         .useEdgeRenderer(new TextDependencyEdgeRenderer(this.showVersionOnEdges))
-        .graphFormatter(new TextGraphFormatter(this.repeatTransitiveDependencies));
+        .graphFormatter(new TextGraphFormatter(this.repeatTransitiveDependencies, this.useBackReferences, this.maxLines));
   }
 }
@@ -21,18 +21,27 @@ public final class Edge {
 
   private final String fromNodeId;
   private final String toNodeId;
-  private final String name;
+  private final Object data;
   // Not part of equals()/hashCode()
   private final boolean permanent;
 
-  public Edge(String fromNodeId, String toNodeId, String name) {
-    this(fromNodeId, toNodeId, name, false);
+  public Edge(String fromNodeId, String toNodeId, Object data) {
+    this(fromNodeId, toNodeId, data, false);
   }
 
-  public Edge(String fromNodeId, String toNodeId, String name, boolean permanent) {
+  /**
+   * Constructor.
+   *
+   * @param fromNodeId ID of the start node.
+   * @param toNodeId ID of the end node.
+   * @param data The edge name or any other structured object that was created by
+   * {@link EdgeRenderer#renderData(Object, Object)}.
+   * @param permanent Whether the edge is permanent.
+   */
+  public Edge(String fromNodeId, String toNodeId, Object data, boolean permanent) {
     this.fromNodeId = fromNodeId;
     this.toNodeId = toNodeId;
-    this.name = name;
+    this.data = data;
     this.permanent = permanent;
   }
 
@@ -45,7 +54,16 @@ public final class Edge {
   }
 
   public String getName() {
-    return this.name;
+    return this.data != null ? this.data.toString() : null;
+  }
+
+  /**
+   * Returns the structured data of this edge as it was created by {@link EdgeRenderer#renderData(Object, Object)}.
+   *
+   * @return The edge data.
+   */
+  public Object getData() {
+    return this.data;
   }
 
   public boolean isPermanent() {
@@ -60,16 +78,16 @@ public final class Edge {
     Edge edge = (Edge) o;
     return Objects.equals(this.fromNodeId, edge.fromNodeId)
         && Objects.equals(this.toNodeId, edge.toNodeId)
-        && Objects.equals(this.name, edge.name);
+        && Objects.equals(this.data, edge.data);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.fromNodeId, this.toNodeId, this.name);
+    return Objects.hash(this.fromNodeId, this.toNodeId, this.data);
   }
 
   @Override
   public String toString() {
-    return this.fromNodeId + " -> " + this.toNodeId + " (" + this.name + ")";
+    return this.fromNodeId + " -> " + this.toNodeId + " (" + this.data + ")";
   }
 }
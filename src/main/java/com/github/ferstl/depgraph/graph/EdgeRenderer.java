@@ -19,4 +19,18 @@ package com.github.ferstl.depgraph.graph;
 public interface EdgeRenderer<T> {
 
   String render(T from, T to);
+
+  /**
+   * Renders the edge between the given nodes into a structured object. Formatters which know the type of this object
+   * can process it directly instead of parsing the string returned by {@link #render(Object, Object)}. The returned
+   * object has to implement {@link Object#equals(Object)} and {@link Object#hashCode()} and its
+   * {@link Object#toString()} method has to return the same string as {@link #render(Object, Object)}.
+   *
+   * @param from Start node of the edge.
+   * @param to End node of the edge.
+   * @return The rendered edge. The default implementation returns {@link #render(Object, Object)}.
+   */
+  default Object renderData(T from, T to) {
+    return render(from, to);
+  }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Insertion-ordered set of edges. An edge consists of the integer indices of its from node, to node and name. Like
+ * {@link Edge#equals(Object)}, the permanent flag is not part of an edge's identity, i.e. adding an edge twice will
+ * keep the flag of the first insertion. Removed edges keep their position in the table but are skipped when iterating.
+ */
+final class EdgeTable {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private int[] fromNodes = new int[INITIAL_CAPACITY];
+  private int[] toNodes = new int[INITIAL_CAPACITY];
+  private int[] names = new int[INITIAL_CAPACITY];
+  private final BitSet permanentEdges = new BitSet();
+  private final BitSet removedEdges = new BitSet();
+  private int size;
+
+  // Open-addressing hash table containing edge positions + 1 (0 marks an empty slot)
+  private int[] slots = new int[INITIAL_CAPACITY * 2];
+
+  /**
+   * Adds the given edge if it is not yet contained in this table.
+   *
+   * @return {@code true} if the edge was added, {@code false} else.
+   */
+  boolean add(int from, int to, int name, boolean permanent) {
+    int slot = findSlot(this.slots, from, to, name);
+    int existing = this.slots[slot] - 1;
+    if (existing >= 0 && !this.removedEdges.get(existing)) {
+      return false;
+    }
+
+    ensureCapacity();
+    int edge = this.size++;
+    this.fromNodes[edge] = from;
+    this.toNodes[edge] = to;
+    this.names[edge] = name;
+    this.permanentEdges.set(edge, permanent);
+    this.slots[slot] = edge + 1;
+
+    if (this.size * 2 > this.slots.length) {
+      rehash();
+    }
+
+    return true;
+  }
+
+  void remove(int edge) {
+    this.removedEdges.set(edge);
+  }
+
+  /**
+   * Returns the number of positions in this table, including removed edges.
+   */
+  int positions() {
+    return this.size;
+  }
+
+  int size() {
+    return this.size - this.removedEdges.cardinality();
+  }
+
+  boolean isRemoved(int edge) {
+    return this.removedEdges.get(edge);
+  }
+
+  int getFrom(int edge) {
+    return this.fromNodes[edge];
+  }
+
+  int getTo(int edge) {
+    return this.toNodes[edge];
+  }
+
+  int getName(int edge) {
+    return this.names[edge];
+  }
+
+  boolean isPermanent(int edge) {
+    return this.permanentEdges.get(edge);
+  }
+
+  private void ensureCapacity() {
+    if (this.size == this.fromNodes.length) {
+      int newCapacity = this.size * 2;
+      this.fromNodes = Arrays.copyOf(this.fromNodes, newCapacity);
+      this.toNodes = Arrays.copyOf(this.toNodes, newCapacity);
+      this.names = Arrays.copyOf(this.names, newCapacity);
+    }
+  }
+
+  private void rehash() {
+    int[] newSlots = new int[this.slots.length * 2];
+    for (int edge = 0; edge < this.size; edge++) {
+      int slot = findSlot(newSlots, this.fromNodes[edge], this.toNodes[edge], this.names[edge]);
+      // Later insertions of a previously removed edge replace the removed one.
+      newSlots[slot] = edge + 1;
+    }
+
+    this.slots = newSlots;
+  }
+
+  private int findSlot(int[] slots, int from, int to, int name) {
+    int mask = slots.length - 1;
+    int slot = hash(from, to, name) & mask;
+    while (slots[slot] != 0) {
+      int edge = slots[slot] - 1;
+      if (this.fromNodes[edge] == from && this.toNodes[edge] == to && this.names[edge] == name) {
+        break;
+      }
+
+      slot = (slot + 1) & mask;
+    }
+
+    return slot;
+  }
+
+  private static int hash(int from, int to, int name) {
+    int h = from * 0x9E3779B1;
+    h = (h ^ to) * 0x85EBCA6B;
+    h = (h ^ name) * 0xC2B2AE35;
+    return h ^ (h >>> 16);
+  }
+}
@@ -15,30 +15,55 @@
  */
 package com.github.ferstl.depgraph.graph;
 
-import java.util.HashSet;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 import com.github.ferstl.depgraph.graph.dot.DotAttributeBuilder;
 import com.github.ferstl.depgraph.graph.dot.DotGraphFormatter;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
+import com.github.ferstl.depgraph.graph.jfr.GraphEvent;
+import com.github.ferstl.depgraph.graph.jfr.GraphEvents;
 
 /**
  * A builder to create <a href="http://www.graphviz.org/doc/info/lang.html">DOT</a> strings by defining edges between
  * Nodes. The builder allows some customizations including custom {@link NodeRenderer}s and
  * {@link EdgeRenderer}s.
+ * <p>
+ * Internally, each rendered node ID and edge name is mapped to a dense integer index once. Edges are stored as
+ * integer triples and the string representations are only resolved when the graph is formatted. Node names and edge
+ * names are created with {@link NodeRenderer#renderData(Object)} and {@link EdgeRenderer#renderData(Object, Object)},
+ * so formatters may receive structured objects instead of strings. Node names are rendered when the graph is
+ * formatted, once for each distinct node and based on the node object that was added last.
+ * </p>
+ * <p>
+ * A graph can be written in several formats without building it again. Each additional format is registered with
+ * {@link #addOutput(UnaryOperator)} and has its own formatter and renderers. The edge names of all outputs are
+ * rendered while the graph is built.
+ * </p>
  *
  * @param <T> Type of the graph nodes.
  */
 public final class GraphBuilder<T> {
 
   private final NodeRenderer<? super T> nodeIdRenderer;
-  private final Map<String, Node<T>> nodeDefinitions;
-  private final Set<Edge> edges;
-  private final ReachabilityMap reachabilityMap;
+  private final Map<String, Integer> nodeIndices;
+  private final List<String> nodeIds;
+  private final List<T> nodeObjects;
+  private final Map<Object, Integer> edgeNameIndices;
+  private final List<Object> edgeNames;
+  private final EdgeTable edges;
+  private final ReachabilityIndex reachabilityIndex;
+  private final List<Output<T>> additionalOutputs;
 
   private String graphName;
   private GraphFormatter graphFormatter;
@@ -52,9 +77,14 @@ public final class GraphBuilder<T> {
 
   private GraphBuilder(NodeRenderer<? super T> nodeIdRenderer) {
     this.nodeIdRenderer = nodeIdRenderer;
-    this.nodeDefinitions = new LinkedHashMap<>();
-    this.edges = new LinkedHashSet<>();
-    this.reachabilityMap = new ReachabilityMap();
+    this.nodeIndices = new HashMap<>();
+    this.nodeIds = new ArrayList<>();
+    this.nodeObjects = new ArrayList<>();
+    this.edgeNameIndices = new HashMap<>();
+    this.edgeNames = new ArrayList<>();
+    this.edges = new EdgeTable();
+    this.reachabilityIndex = new ReachabilityIndex();
+    this.additionalOutputs = new ArrayList<>();
 
     DotAttributeBuilder graphAttributeBuilder = new DotAttributeBuilder();
     DotAttributeBuilder nodeAttributeBuilder = new DotAttributeBuilder().shape("box").fontName("Helvetica");
@@ -91,8 +121,45 @@ public final class GraphBuilder<T> {
     return this;
   }
 
+  /**
+   * Adds an output with its own formatter, node name renderer and edge renderer. The output is configured by applying
+   * the given function to a new builder which uses the same node ID renderer. Outputs have to be added before the first
+   * node is added.
+   *
+   * @param configuration Function that configures the formatter and the renderers of the output.
+   * @return This builder.
+   * @throws IllegalStateException In case nodes were already added.
+   * @see #writeTo(int, Writer)
+   */
+  public GraphBuilder<T> addOutput(UnaryOperator<GraphBuilder<T>> configuration) {
+    if (!isEmpty()) {
+      throw new IllegalStateException("Outputs must be added before the graph is built");
+    }
+
+    GraphBuilder<T> outputBuilder = configuration.apply(new GraphBuilder<>(this.nodeIdRenderer));
+    this.additionalOutputs.add(new Output<>(outputBuilder.graphFormatter, outputBuilder.nodeNameRenderer, outputBuilder.edgeRenderer));
+    return this;
+  }
+
+  /**
+   * Returns the number of outputs, including the output that was configured directly on this builder.
+   *
+   * @return The number of outputs.
+   */
+  public int getOutputCount() {
+    return this.additionalOutputs.size() + 1;
+  }
+
   public boolean isEmpty() {
-    return this.nodeDefinitions.isEmpty();
+    return this.nodeIds.isEmpty();
+  }
+
+  public int getNodeCount() {
+    return this.nodeIds.size();
+  }
+
+  public int getEdgeCount() {
+    return this.edges.size();
   }
 
   /**
@@ -102,10 +169,7 @@ public final class GraphBuilder<T> {
    * @return This builder.
    */
   public GraphBuilder<T> addNode(T node) {
-    String nodeId = this.nodeIdRenderer.render(node);
-    String nodeName = this.nodeNameRenderer.render(node);
-    this.nodeDefinitions.put(nodeId, new Node<>(nodeId, nodeName, node));
-
+    addNodeInternal(node);
     return this;
   }
 
@@ -124,29 +188,162 @@ public final class GraphBuilder<T> {
    * @return The firstly added node or the given node if not present.
    */
   public T getEffectiveNode(T node) {
-    String key = this.nodeIdRenderer.render(node);
-    if (this.nodeDefinitions.containsKey(key)) {
-      return this.nodeDefinitions.get(key).nodeObject;
+    Integer index = this.nodeIndices.get(this.nodeIdRenderer.render(node));
+    if (index != null) {
+      return this.nodeObjects.get(index);
     }
 
     return node;
   }
 
-  public void reduceEdges() {
-    this.edges.removeIf(edge -> !edge.isPermanent() && this.reachabilityMap.hasOlderPath(edge.getToNodeId(), edge.getFromNodeId()));
+  /**
+   * Removes all edges that are not permanent and whose target is also reachable from their source via a parent of the
+   * target that was added earlier.
+   *
+   * @return The number of removed edges.
+   */
+  public int reduceEdges() {
+    GraphEvent event = GraphEvents.graphReduction();
+    int removedEdges = 0;
+    for (int edge = 0; edge < this.edges.positions(); edge++) {
+      if (!this.edges.isRemoved(edge)
+          && !this.edges.isPermanent(edge)
+          && this.reachabilityIndex.hasOlderPath(this.edges.getTo(edge), this.edges.getFrom(edge))) {
+        this.edges.remove(edge);
+        removedEdges++;
+      }
+    }
+
+    event.commit(this.graphName, getNodeCount(), getEdgeCount());
+    return removedEdges;
+  }
+
+  /**
+   * Formats the graph and writes it to the given writer. Nodes and edges are passed to the formatter as views, i.e.
+   * without copying the whole graph.
+   *
+   * @param writer Writer to write the formatted graph to. The writer is not closed.
+   * @throws IOException In case the graph cannot be written.
+   */
+  public void writeTo(Writer writer) throws IOException {
+    writeTo(0, writer);
+  }
+
+  /**
+   * Formats the graph with the given output and writes it to the given writer. Output {@code 0} is the output that was
+   * configured directly on this builder, the additional outputs follow in the order they were added. Different outputs
+   * may be written concurrently once the graph is built.
+   *
+   * @param output Index of the output.
+   * @param writer Writer to write the formatted graph to. The writer is not closed.
+   * @throws IOException In case the graph cannot be written.
+   */
+  public void writeTo(int output, Writer writer) throws IOException {
+    GraphEvent event = GraphEvents.graphFormatting();
+    getFormatter(output).format(this.graphName, nodeView(output), edgeView(output), writer);
+    event.commit(this.graphName, getNodeCount(), getEdgeCount());
   }
 
   @Override
   public String toString() {
-    // Work around some generics restrictions
-    ImmutableList.Builder<Node<?>> nodeListBuilder = ImmutableList.builder();
-    for (Node<?> node : this.nodeDefinitions.values()) {
-      nodeListBuilder.add(node);
+    return this.graphFormatter.format(this.graphName, nodeView(0), edgeView(0));
+  }
+
+  private GraphFormatter getFormatter(int output) {
+    return output == 0 ? this.graphFormatter : this.additionalOutputs.get(output - 1).formatter;
+  }
+
+  private NodeRenderer<? super T> getNodeNameRenderer(int output) {
+    return output == 0 ? this.nodeNameRenderer : this.additionalOutputs.get(output - 1).nodeNameRenderer;
+  }
+
+  /**
+   * Renders the names of all nodes with the node name renderer of the given output.
+   */
+  private Collection<Node<?>> nodeView(int output) {
+    NodeRenderer<? super T> renderer = getNodeNameRenderer(output);
+    List<Node<?>> nodes = new ArrayList<>(this.nodeIds.size());
+    for (int i = 0; i < this.nodeIds.size(); i++) {
+      T nodeObject = this.nodeObjects.get(i);
+      nodes.add(new Node<>(this.nodeIds.get(i), renderer.renderData(nodeObject), nodeObject));
     }
-    ImmutableList<Node<?>> nodeList = nodeListBuilder.build();
-    ImmutableSet<Edge> edgeSet = ImmutableSet.copyOf(this.edges);
 
-    return this.graphFormatter.format(this.graphName, nodeList, edgeSet);
+    return Collections.unmodifiableList(nodes);
+  }
+
+  private Collection<Edge> edgeView(int output) {
+    if (this.additionalOutputs.isEmpty()) {
+      return edgeView();
+    }
+
+    // Edges are only unique by the names of all outputs. Remove the edges that are duplicates in this output.
+    Set<Edge> edges = new LinkedHashSet<>();
+    for (int edge = 0; edge < this.edges.positions(); edge++) {
+      if (!this.edges.isRemoved(edge)) {
+        edges.add(createEdge(edge, output));
+      }
+    }
+
+    return edges;
+  }
+
+  /**
+   * Creates a view on all edges that were not removed. The {@link Edge} objects are created while iterating.
+   */
+  private Collection<Edge> edgeView() {
+    return new AbstractCollection<Edge>() {
+
+      @Override
+      public Iterator<Edge> iterator() {
+        return new Iterator<Edge>() {
+
+          private int nextEdge = findNext(0);
+
+          @Override
+          public boolean hasNext() {
+            return this.nextEdge < GraphBuilder.this.edges.positions();
+          }
+
+          @Override
+          public Edge next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+
+            Edge edge = createEdge(this.nextEdge, 0);
+            this.nextEdge = findNext(this.nextEdge + 1);
+            return edge;
+          }
+
+          private int findNext(int start) {
+            int edge = start;
+            while (edge < GraphBuilder.this.edges.positions() && GraphBuilder.this.edges.isRemoved(edge)) {
+              edge++;
+            }
+
+            return edge;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return GraphBuilder.this.edges.size();
+      }
+    };
+  }
+
+  private Edge createEdge(int edge, int output) {
+    Object edgeName = this.edgeNames.get(this.edges.getName(edge));
+    if (!this.additionalOutputs.isEmpty()) {
+      edgeName = ((List<?>) edgeName).get(output);
+    }
+
+    return new Edge(
+        this.nodeIds.get(this.edges.getFrom(edge)),
+        this.nodeIds.get(this.edges.getTo(edge)),
+        edgeName,
+        this.edges.isPermanent(edge));
   }
 
   /**
@@ -160,105 +357,91 @@ public final class GraphBuilder<T> {
    */
   private GraphBuilder<T> addEdgeInternal(T from, T to, boolean permanent) {
     if (from != null && to != null) {
-      addNode(from);
-      addNode(to);
+      int fromIndex = addNodeInternal(from);
+      int toIndex = addNodeInternal(to);
 
-      safelyAddEdge(from, to, permanent);
+      safelyAddEdge(from, fromIndex, to, toIndex, permanent);
     }
 
     return this;
   }
 
-  private void safelyAddEdge(T fromNode, T toNode, boolean permanent) {
-    String fromNodeId = this.nodeIdRenderer.render(fromNode);
-    String toNodeId = this.nodeIdRenderer.render(toNode);
+  private int addNodeInternal(T node) {
+    String nodeId = this.nodeIdRenderer.render(node);
 
-    if (!this.omitSelfReferences || !fromNodeId.equals(toNodeId)) {
-      Edge edge = new Edge(fromNodeId, toNodeId, this.edgeRenderer.render(fromNode, toNode), permanent);
-      this.edges.add(edge);
-      this.reachabilityMap.registerEdge(fromNodeId, toNodeId);
+    Integer index = this.nodeIndices.get(nodeId);
+    if (index == null) {
+      index = this.nodeIds.size();
+      this.nodeIndices.put(nodeId, index);
+      this.nodeIds.add(nodeId);
+      this.nodeObjects.add(node);
+    } else {
+      // The name is rendered from the last added node when the graph is formatted
+      this.nodeObjects.set(index, node);
     }
-  }
 
-  private static <T> EdgeRenderer<T> createDefaultEdgeRenderer() {
-    return (from, to) -> "";
+    return index;
   }
 
-  private static <T> NodeRenderer<T> createDefaultNodeNameRenderer() {
-    return node -> "";
+  private void safelyAddEdge(T fromNode, int fromIndex, T toNode, int toIndex, boolean permanent) {
+    if (!this.omitSelfReferences || fromIndex != toIndex) {
+      int nameIndex = edgeNameIndex(renderEdgeName(fromNode, toNode));
+      this.edges.add(fromIndex, toIndex, nameIndex, permanent);
+      this.reachabilityIndex.registerEdge(fromIndex, toIndex);
+    }
   }
 
   /**
-   * A map that tracks which nodes are reachable from other nodes.
-   * When a new edge 'A -> B' is added, the map registers node 'A' as a parent of node 'B'. To find out whether a node
-   * 'Y' is reachable from node 'X', we can recursively traverse the parents of node 'Y'. When node 'X' is found in this
-   * traversal, 'Y' is reachable via 'X'. When all nodes are traversed and 'X' is not found, 'Y' is not reachable via 'X'.
-   * To handle cycles in the graph, the node traversal keeps track of all already traversed nodes.
+   * Renders the edge name of all outputs. With additional outputs, the name is a list containing the name of each
+   * output.
    */
-  private static class ReachabilityMap {
-
-    private final Map<String, Set<String>> parentIndex = new LinkedHashMap<>();
-
-    void registerEdge(String from, String to) {
-      Set<String> parents = safelyGetParents(to);
-      parents.add(from);
+  private Object renderEdgeName(T fromNode, T toNode) {
+    Object edgeName = this.edgeRenderer.renderData(fromNode, toNode);
+    if (this.additionalOutputs.isEmpty()) {
+      return edgeName;
     }
 
-    boolean hasOlderPath(String target, String source) {
-      return isReachable(target, source, true, new HashSet<>());
+    List<Object> edgeNames = new ArrayList<>(getOutputCount());
+    edgeNames.add(edgeName);
+    for (Output<T> output : this.additionalOutputs) {
+      edgeNames.add(output.edgeRenderer.renderData(fromNode, toNode));
     }
 
+    return edgeNames;
+  }
 
-    /**
-     * Recursively traverses the parents of {@code target} trying to find {@code source} by keeping track of already traversed
-     * nodes. If {@code olderParentsOnly} is set to {@code true}, only the parents that were inserted <strong>before</strong>
-     * {@code source} will be considered.
-     *
-     * @return {@code true} if {@code target} is reachable via {@code source}, {@code false} else.
-     */
-    private boolean isReachable(String target, String source, boolean olderParentsOnly, Set<String> alreadyVisited) {
-      if (alreadyVisited.contains(target)) {
-        return false;
-      }
-
-      alreadyVisited.add(target);
+  private int edgeNameIndex(Object edgeName) {
+    Integer index = this.edgeNameIndices.get(edgeName);
+    if (index == null) {
+      index = this.edgeNames.size();
+      this.edgeNameIndices.put(edgeName, index);
+      this.edgeNames.add(edgeName);
+    }
 
-      Set<String> parents = olderParentsOnly ? getOlderParents(target, source) : safelyGetParents(target);
-      if (parents.contains(source)) {
-        return true;
-      }
+    return index;
+  }
 
-      for (String parent : parents) {
-        if (isReachable(parent, source, false, alreadyVisited)) {
-          return true;
-        }
-      }
+  private static <T> EdgeRenderer<T> createDefaultEdgeRenderer() {
+    return (from, to) -> "";
+  }
 
-      return false;
-    }
+  private static <T> NodeRenderer<T> createDefaultNodeNameRenderer() {
+    return node -> "";
+  }
 
-    private Set<String> getOlderParents(String target, String source) {
-      Set<String> olderParents = new LinkedHashSet<>(safelyGetParents(target));
-      boolean remove = false;
-      Iterator<String> iterator = olderParents.iterator();
-      while (iterator.hasNext()) {
-        String value = iterator.next();
-        if (value.equals(source)) {
-          remove = true;
-        }
-
-        if (remove) {
-          iterator.remove();
-        }
-      }
+  /**
+   * Formatter and renderers of an additional output.
+   */
+  private static final class Output<T> {
 
-      return olderParents;
-    }
+    private final GraphFormatter formatter;
+    private final NodeRenderer<? super T> nodeNameRenderer;
+    private final EdgeRenderer<? super T> edgeRenderer;
 
-    private Set<String> safelyGetParents(String node) {
-      return this.parentIndex.computeIfAbsent(node, k -> new LinkedHashSet<>());
+    Output(GraphFormatter formatter, NodeRenderer<? super T> nodeNameRenderer, EdgeRenderer<? super T> edgeRenderer) {
+      this.formatter = formatter;
+      this.nodeNameRenderer = nodeNameRenderer;
+      this.edgeRenderer = edgeRenderer;
     }
-
   }
-
 }
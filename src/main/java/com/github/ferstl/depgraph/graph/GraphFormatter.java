@@ -15,6 +15,9 @@
  */
 package com.github.ferstl.depgraph.graph;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Collection;
 
 /**
@@ -22,5 +25,27 @@ import java.util.Collection;
  */
 public interface GraphFormatter {
 
-  String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges);
+  /**
+   * Formats the given nodes and edges and writes the result to the given writer. Implementations write the graph
+   * incrementally and don't close the writer.
+   *
+   * @param graphName Name of the graph.
+   * @param nodes Nodes of the graph.
+   * @param edges Edges of the graph.
+   * @param writer Writer to write the formatted graph to.
+   * @throws IOException In case the graph cannot be written.
+   */
+  void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Writer writer) throws IOException;
+
+  default String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
+    StringWriter writer = new StringWriter();
+    try {
+      format(graphName, nodes, edges, writer);
+    } catch (IOException e) {
+      // should never happen with StringWriter
+      throw new IllegalStateException(e);
+    }
+
+    return writer.toString();
+  }
 }
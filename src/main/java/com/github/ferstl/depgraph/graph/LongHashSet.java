@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.util.Arrays;
+
+/**
+ * Minimal open-addressing hash set for {@code long} values. It is used to store packed pairs of node indices without
+ * boxing.
+ */
+final class LongHashSet {
+
+  private static final long EMPTY = Long.MIN_VALUE;
+  private static final int INITIAL_CAPACITY = 64;
+
+  private long[] table;
+  private int size;
+  private boolean containsEmptyValue;
+
+  LongHashSet() {
+    this.table = new long[INITIAL_CAPACITY];
+    Arrays.fill(this.table, EMPTY);
+  }
+
+  static long pack(int high, int low) {
+    return ((long) high << 32) | (low & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Adds the given value to this set.
+   *
+   * @param value Value to add.
+   * @return {@code true} if the value was not yet contained in this set.
+   */
+  boolean add(long value) {
+    if (value == EMPTY) {
+      boolean added = !this.containsEmptyValue;
+      this.containsEmptyValue = true;
+      return added;
+    }
+
+    int slot = findSlot(this.table, value);
+    if (this.table[slot] == value) {
+      return false;
+    }
+
+    this.table[slot] = value;
+    this.size++;
+    if (this.size * 2 > this.table.length) {
+      rehash();
+    }
+
+    return true;
+  }
+
+  boolean contains(long value) {
+    if (value == EMPTY) {
+      return this.containsEmptyValue;
+    }
+
+    return this.table[findSlot(this.table, value)] == value;
+  }
+
+  private void rehash() {
+    long[] newTable = new long[this.table.length * 2];
+    Arrays.fill(newTable, EMPTY);
+    for (long value : this.table) {
+      if (value != EMPTY) {
+        newTable[findSlot(newTable, value)] = value;
+      }
+    }
+
+    this.table = newTable;
+  }
+
+  private static int findSlot(long[] table, long value) {
+    int mask = table.length - 1;
+    int slot = mix(value) & mask;
+    while (table[slot] != EMPTY && table[slot] != value) {
+      slot = (slot + 1) & mask;
+    }
+
+    return slot;
+  }
+
+  private static int mix(long value) {
+    long h = value * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
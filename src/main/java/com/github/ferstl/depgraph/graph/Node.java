@@ -20,12 +20,20 @@ import java.util.Objects;
 public final class Node<T> {
 
   private final String nodeId;
-  private final String nodeName;
+  private final Object nodeData;
   final T nodeObject;
 
-  public Node(String nodeId, String nodeName, T nodeObject) {
+  /**
+   * Constructor.
+   *
+   * @param nodeId The node ID.
+   * @param nodeData The node name or any other structured object that was created by
+   * {@link NodeRenderer#renderData(Object)}.
+   * @param nodeObject The node object.
+   */
+  public Node(String nodeId, Object nodeData, T nodeObject) {
     this.nodeId = nodeId;
-    this.nodeName = nodeName;
+    this.nodeData = nodeData;
     this.nodeObject = nodeObject;
   }
 
@@ -34,7 +42,16 @@ public final class Node<T> {
   }
 
   public String getNodeName() {
-    return this.nodeName;
+    return this.nodeData != null ? this.nodeData.toString() : null;
+  }
+
+  /**
+   * Returns the structured data of this node as it was created by {@link NodeRenderer#renderData(Object)}.
+   *
+   * @return The node data.
+   */
+  public Object getNodeData() {
+    return this.nodeData;
   }
 
   @Override
@@ -49,16 +66,16 @@ public final class Node<T> {
 
     Node<?> other = (Node<?>) o;
     return Objects.equals(this.nodeId, other.nodeId)
-        && Objects.equals(this.nodeName, other.nodeName);
+        && Objects.equals(this.nodeData, other.nodeData);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.nodeId, this.nodeName);
+    return Objects.hash(this.nodeId, this.nodeData);
   }
 
   @Override
   public String toString() {
-    return this.nodeId + "(" + this.nodeName + ")";
+    return this.nodeId + "(" + this.nodeData + ")";
   }
 }
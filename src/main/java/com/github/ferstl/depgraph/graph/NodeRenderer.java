@@ -19,4 +19,16 @@ package com.github.ferstl.depgraph.graph;
 public interface NodeRenderer<T> {
 
   String render(T node);
+
+  /**
+   * Renders the given node into a structured object. Formatters which know the type of this object can process it
+   * directly instead of parsing the string returned by {@link #render(Object)}. The {@link Object#toString()} method of
+   * the returned object has to return the same string as {@link #render(Object)}.
+   *
+   * @param node Node to render.
+   * @return The rendered node. The default implementation returns {@link #render(Object)}.
+   */
+  default Object renderData(T node) {
+    return render(node);
+  }
 }
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Tracks which nodes are reachable from other nodes. Nodes are identified by dense integer indices.
+ * <p>
+ * When a new edge 'A -> B' is registered, node 'A' becomes a parent of node 'B'. The parents of each node are kept in
+ * registration order, which allows to answer whether a node 'Y' is reachable from node 'X' via a path through one of
+ * the parents that were registered <strong>before</strong> 'X' (see {@link #hasOlderPath(int, int)}).
+ * </p>
+ * <p>
+ * Instead of traversing the graph for each query, the index condenses the graph into its strongly connected components
+ * and computes the descendants of each component as bit set in reverse topological order. Most queries are then
+ * answered with a few bit lookups. Only paths that might run through the target node itself, i.e. paths within a
+ * cycle, require an explicit traversal. The index is computed lazily on the first query after an edge was registered.
+ * </p>
+ */
+final class ReachabilityIndex {
+
+  private static final int[] NO_NODES = new int[0];
+
+  private final LongHashSet registeredEdges = new LongHashSet();
+  private int nodeCount;
+  private int[][] parents = new int[16][];
+  private int[] parentCounts = new int[16];
+  private int[][] children = new int[16][];
+  private int[] childCounts = new int[16];
+
+  // Computed lazily
+  private int[] components;
+  private BitSet[] descendants;
+  private int[] visitMarks;
+  private int[] candidateMarks;
+  private int currentMark;
+
+  void registerEdge(int from, int to) {
+    if (this.registeredEdges.add(LongHashSet.pack(from, to))) {
+      ensureCapacity(Math.max(from, to) + 1);
+      append(this.parents, this.parentCounts, to, from);
+      append(this.children, this.childCounts, from, to);
+      this.components = null;
+    }
+  }
+
+  /**
+   * Checks whether {@code target} is reachable from {@code source} via one of the parents of {@code target} that were
+   * registered <strong>before</strong> {@code source}. Paths leading through {@code target} itself are not considered.
+   *
+   * @param target Target node.
+   * @param source Source node.
+   * @return {@code true} if {@code target} is reachable from {@code source} via an older parent, {@code false} else.
+   */
+  boolean hasOlderPath(int target, int source) {
+    if (target >= this.nodeCount || source >= this.nodeCount) {
+      return false;
+    }
+
+    ensureIndex();
+
+    int[] targetParents = this.parents[target];
+    int targetComponent = this.components[target];
+    boolean candidatesInTargetComponent = false;
+    for (int i = 0; i < this.parentCounts[target]; i++) {
+      int parent = targetParents[i];
+      if (parent == source) {
+        break;
+      }
+
+      // A path through the target itself is not relevant.
+      if (parent != target) {
+        if (this.components[parent] == targetComponent) {
+          // The path might lead through the target. This needs to be checked separately.
+          candidatesInTargetComponent = true;
+        } else if (isReachable(source, parent)) {
+          return true;
+        }
+      }
+    }
+
+    return candidatesInTargetComponent && hasOlderPathWithinComponent(target, source);
+  }
+
+  /**
+   * Checks whether {@code node} is reachable from {@code source}. The result is only exact if {@code node} is not in the
+   * same component as the target of the query.
+   */
+  private boolean isReachable(int source, int node) {
+    int sourceComponent = this.components[source];
+    int nodeComponent = this.components[node];
+
+    return sourceComponent == nodeComponent || this.descendants[sourceComponent].get(nodeComponent);
+  }
+
+  /**
+   * Traverses the graph starting at {@code source} without passing {@code target} and tries to find an older parent of
+   * {@code target} within the component of {@code target}.
+   */
+  private boolean hasOlderPathWithinComponent(int target, int source) {
+    int targetComponent = this.components[target];
+    int mark = nextMark();
+
+    int[] targetParents = this.parents[target];
+    for (int i = 0; i < this.parentCounts[target]; i++) {
+      int parent = targetParents[i];
+      if (parent == source) {
+        break;
+      }
+
+      if (parent != target && this.components[parent] == targetComponent) {
+        this.candidateMarks[parent] = mark;
+      }
+    }
+
+    int[] stack = new int[this.nodeCount];
+    int stackSize = 0;
+    stack[stackSize++] = source;
+    this.visitMarks[source] = mark;
+    this.visitMarks[target] = mark;
+
+    while (stackSize > 0) {
+      int node = stack[--stackSize];
+      int[] nodeChildren = this.children[node];
+
+      for (int i = 0; i < this.childCounts[node]; i++) {
+        int child = nodeChildren[i];
+        if (this.candidateMarks[child] == mark) {
+          return true;
+        }
+
+        // Only follow nodes from where the target's component is still reachable
+        if (this.visitMarks[child] != mark && canReachComponent(child, targetComponent)) {
+          this.visitMarks[child] = mark;
+          stack[stackSize++] = child;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  private boolean canReachComponent(int node, int component) {
+    int nodeComponent = this.components[node];
+    return nodeComponent == component || this.descendants[nodeComponent].get(component);
+  }
+
+  private int nextMark() {
+    if (this.currentMark == Integer.MAX_VALUE) {
+      Arrays.fill(this.visitMarks, 0);
+      Arrays.fill(this.candidateMarks, 0);
+      this.currentMark = 0;
+    }
+
+    return ++this.currentMark;
+  }
+
+  private void ensureIndex() {
+    if (this.components == null) {
+      computeComponents();
+      computeDescendants();
+      this.visitMarks = new int[this.nodeCount];
+      this.candidateMarks = new int[this.nodeCount];
+      this.currentMark = 0;
+    }
+  }
+
+  /**
+   * Iterative version of Tarjan's algorithm. The components are numbered in reverse topological order, i.e. all
+   * components reachable from a component have a lower number.
+   */
+  private void computeComponents() {
+    int n = this.nodeCount;
+    int[] index = new int[n];
+    int[] lowLink = new int[n];
+    boolean[] onStack = new boolean[n];
+    int[] componentStack = new int[n];
+    int[] callStack = new int[n];
+    int[] edgeCursor = new int[n];
+    int[] components = new int[n];
+    Arrays.fill(index, -1);
+
+    int nextIndex = 0;
+    int componentCount = 0;
+    int componentStackSize = 0;
+
+    for (int root = 0; root < n; root++) {
+      if (index[root] != -1) {
+        continue;
+      }
+
+      int callStackSize = 0;
+      callStack[callStackSize++] = root;
+      index[root] = lowLink[root] = nextIndex++;
+      componentStack[componentStackSize++] = root;
+      onStack[root] = true;
+
+      while (callStackSize > 0) {
+        int node = callStack[callStackSize - 1];
+
+        if (edgeCursor[node] < this.childCounts[node]) {
+          int child = this.children[node][edgeCursor[node]++];
+          if (index[child] == -1) {
+            index[child] = lowLink[child] = nextIndex++;
+            componentStack[componentStackSize++] = child;
+            onStack[child] = true;
+            callStack[callStackSize++] = child;
+          } else if (onStack[child]) {
+            lowLink[node] = Math.min(lowLink[node], index[child]);
+          }
+        } else {
+          callStackSize--;
+          if (lowLink[node] == index[node]) {
+            int member;
+            do {
+              member = componentStack[--componentStackSize];
+              onStack[member] = false;
+              components[member] = componentCount;
+            } while (member != node);
+            componentCount++;
+          }
+
+          if (callStackSize > 0) {
+            int parent = callStack[callStackSize - 1];
+            lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+          }
+        }
+      }
+    }
+
+    this.components = components;
+    this.descendants = new BitSet[componentCount];
+  }
+
+  private void computeDescendants() {
+    int componentCount = this.descendants.length;
+
+    // Group the nodes by component
+    int[] componentStart = new int[componentCount + 1];
+    for (int node = 0; node < this.nodeCount; node++) {
+      componentStart[this.components[node] + 1]++;
+    }
+    for (int i = 0; i < componentCount; i++) {
+      componentStart[i + 1] += componentStart[i];
+    }
+    int[] componentNodes = new int[this.nodeCount];
+    int[] position = Arrays.copyOf(componentStart, componentCount);
+    for (int node = 0; node < this.nodeCount; node++) {
+      componentNodes[position[this.components[node]]++] = node;
+    }
+
+    // Successors always have a lower component number and are therefore already computed.
+    for (int component = 0; component < componentCount; component++) {
+      BitSet componentDescendants = new BitSet();
+
+      for (int i = componentStart[component]; i < componentStart[component + 1]; i++) {
+        int node = componentNodes[i];
+        int[] nodeChildren = this.children[node];
+
+        for (int j = 0; j < this.childCounts[node]; j++) {
+          int childComponent = this.components[nodeChildren[j]];
+          // Descendants are transitively closed. So there is nothing to do if the child component is already known.
+          if (childComponent != component && !componentDescendants.get(childComponent)) {
+            componentDescendants.set(childComponent);
+            componentDescendants.or(this.descendants[childComponent]);
+          }
+        }
+      }
+
+      this.descendants[component] = componentDescendants;
+    }
+  }
+
+  private void ensureCapacity(int requiredNodeCount) {
+    if (requiredNodeCount > this.parents.length) {
+      int newCapacity = Math.max(this.parents.length * 2, requiredNodeCount);
+      this.parents = Arrays.copyOf(this.parents, newCapacity);
+      this.parentCounts = Arrays.copyOf(this.parentCounts, newCapacity);
+      this.children = Arrays.copyOf(this.children, newCapacity);
+      this.childCounts = Arrays.copyOf(this.childCounts, newCapacity);
+    }
+
+    for (int i = this.nodeCount; i < requiredNodeCount; i++) {
+      this.parents[i] = NO_NODES;
+      this.children[i] = NO_NODES;
+    }
+
+    this.nodeCount = Math.max(this.nodeCount, requiredNodeCount);
+  }
+
+  private static void append(int[][] adjacency, int[] counts, int node, int value) {
+    int[] values = adjacency[node];
+    int count = counts[node];
+    if (count == values.length) {
+      values = Arrays.copyOf(values, Math.max(4, count * 2));
+      adjacency[node] = values;
+    }
+
+    values[count] = value;
+    counts[node] = count + 1;
+  }
+}
@@ -16,6 +16,8 @@
 package com.github.ferstl.depgraph.graph.dot;
 
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Collection;
 import com.github.ferstl.depgraph.graph.Edge;
 import com.github.ferstl.depgraph.graph.GraphFormatter;
@@ -42,36 +44,39 @@ public class DotGraphFormatter implements GraphFormatter {
   }
 
   @Override
-  public String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
-    StringBuilder sb = new StringBuilder("digraph ").append(escape(graphName)).append(" {");
-    appendAttributes("graph", this.graphAttributeBuilder, sb);
-    appendAttributes("node", this.nodeAttributeBuilder, sb);
-    appendAttributes("edge", this.edgeAttributeBuilder, sb);
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Writer writer) throws IOException {
+    writer.append("digraph ").append(escape(graphName)).append(" {");
+    appendAttributes("graph", this.graphAttributeBuilder, writer);
+    appendAttributes("node", this.nodeAttributeBuilder, writer);
+    appendAttributes("edge", this.edgeAttributeBuilder, writer);
 
-    sb.append("\n\n  // Node Definitions:");
+    writer.append("\n\n  // Node Definitions:");
     for (Node<?> node : nodes) {
       String nodeId = node.getNodeId();
       String nodeName = node.getNodeName();
-      sb.append("\n  ")
+      writer.append("\n  ")
           .append(escape(nodeId))
           .append(nodeName);
     }
 
-    sb.append("\n\n  // Edge Definitions:");
+    writer.append("\n\n  // Edge Definitions:");
     for (Edge edge : edges) {
-      String edgeDefinition = escape(edge.getFromNodeId()) + " -> " + escape(edge.getToNodeId()) + edge.getName();
-      sb.append("\n  ").append(edgeDefinition);
+      writer.append("\n  ")
+          .append(escape(edge.getFromNodeId()))
+          .append(" -> ")
+          .append(escape(edge.getToNodeId()))
+          .append(edge.getName());
     }
 
-    return sb.append("\n}").toString();
+    writer.append("\n}");
   }
 
-  private void appendAttributes(String tagName, DotAttributeBuilder attributeBuilder, StringBuilder sb) {
+  private void appendAttributes(String tagName, DotAttributeBuilder attributeBuilder, Writer writer) throws IOException {
     if (!attributeBuilder.isEmpty()) {
-      sb.append("\n  ")
+      writer.append("\n  ")
           .append(tagName)
           .append(" ")
-          .append(attributeBuilder);
+          .append(attributeBuilder.toString());
     }
   }
 }
@@ -15,6 +15,8 @@
  */
 package com.github.ferstl.depgraph.graph.gml;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Collection;
 import com.github.ferstl.depgraph.graph.Edge;
 import com.github.ferstl.depgraph.graph.GraphFormatter;
@@ -25,32 +27,30 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 public class GmlGraphFormatter implements GraphFormatter {
 
   @Override
-  public String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
-    StringBuilder result = new StringBuilder();
-    result.append("graph [\n");
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Writer writer) throws IOException {
+    writer.append("graph [\n");
 
     //output nodes
     for (Node<?> node : nodes) {
-      result.append("node [\n");
-      result.append("id \"").append(node.getNodeId()).append("\"\n");
+      writer.append("node [\n");
+      writer.append("id \"").append(node.getNodeId()).append("\"\n");
       if (isNotBlank(node.getNodeName())) {
-        result.append(node.getNodeName()).append("\n");
+        writer.append(node.getNodeName()).append("\n");
       }
-      result.append("]\n\n");
+      writer.append("]\n\n");
     }
 
     //output edges
     for (Edge edge : edges) {
-      result.append("edge [\n");
-      result.append("source \"").append(edge.getFromNodeId()).append("\"\n");
-      result.append("target \"").append(edge.getToNodeId()).append("\"\n");
+      writer.append("edge [\n");
+      writer.append("source \"").append(edge.getFromNodeId()).append("\"\n");
+      writer.append("target \"").append(edge.getToNodeId()).append("\"\n");
       if (isNotBlank(edge.getName())) {
-        result.append(edge.getName()).append("\n");
+        writer.append(edge.getName()).append("\n");
       }
-      result.append("]\n\n");
+      writer.append("]\n\n");
     }
 
-    result.append("]");
-    return result.toString();
+    writer.append("]");
   }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph.jfr;
+
+/**
+ * A running Java Flight Recorder event. The duration of the event is the time between its creation and
+ * {@link #commit(String, int, int)}.
+ */
+public interface GraphEvent {
+
+  /**
+   * Indicates whether the event is recorded. Use this method to avoid expensive computations of the event's values in
+   * case nobody is interested in them.
+   *
+   * @return {@code true} if the event is recorded, {@code false} else.
+   */
+  boolean isEnabled();
+
+  /**
+   * Ends the event and records it if enabled.
+   *
+   * @param project Coordinates or name of the project.
+   * @param nodeCount Number of nodes in the processed graph.
+   * @param edgeCount Number of edges in the processed graph.
+   */
+  void commit(String project, int nodeCount, int edgeCount);
+}
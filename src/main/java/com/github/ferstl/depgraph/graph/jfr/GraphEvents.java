@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph.jfr;
+
+/**
+ * Factory for the Java Flight Recorder events of this plugin. The events can be recorded with
+ * {@code -XX:StartFlightRecording} (e.g. in {@code MAVEN_OPTS}). On JVMs without the {@code jdk.jfr} API, all events
+ * are no-ops.
+ */
+public final class GraphEvents {
+
+  private static final boolean JFR_AVAILABLE = isJfrAvailable();
+
+  private static final GraphEvent NO_OP = new GraphEvent() {
+
+    @Override
+    public boolean isEnabled() {
+      return false;
+    }
+
+    @Override
+    public void commit(String project, int nodeCount, int edgeCount) {
+      // NOP
+    }
+  };
+
+  private GraphEvents() {
+    throw new AssertionError("Not instantiable");
+  }
+
+  /**
+   * Starts an event for the resolution of a project's dependencies.
+   */
+  public static GraphEvent dependencyResolution() {
+    return JFR_AVAILABLE ? JfrGraphEvents.dependencyResolution() : NO_OP;
+  }
+
+  /**
+   * Starts an event for the transitive reduction of a graph.
+   */
+  public static GraphEvent graphReduction() {
+    return JFR_AVAILABLE ? JfrGraphEvents.graphReduction() : NO_OP;
+  }
+
+  /**
+   * Starts an event for formatting a graph.
+   */
+  public static GraphEvent graphFormatting() {
+    return JFR_AVAILABLE ? JfrGraphEvents.graphFormatting() : NO_OP;
+  }
+
+  /**
+   * Starts an event for running Graphviz.
+   */
+  public static GraphEvent graphvizExecution() {
+    return JFR_AVAILABLE ? JfrGraphEvents.graphvizExecution() : NO_OP;
+  }
+
+  private static boolean isJfrAvailable() {
+    try {
+      Class.forName("jdk.jfr.Event", false, GraphEvents.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder implementation of the {@link GraphEvent}s. This is the only class that refers to the
+ * {@code jdk.jfr} API. It must only be loaded when the API is available.
+ */
+final class JfrGraphEvents {
+
+  private static final String PREFIX = "com.github.ferstl.depgraph.";
+
+  private JfrGraphEvents() {
+    throw new AssertionError("Not instantiable");
+  }
+
+  static GraphEvent dependencyResolution() {
+    return new JfrGraphEvent(new DependencyResolution());
+  }
+
+  static GraphEvent graphReduction() {
+    return new JfrGraphEvent(new GraphReduction());
+  }
+
+  static GraphEvent graphFormatting() {
+    return new JfrGraphEvent(new GraphFormatting());
+  }
+
+  static GraphEvent graphvizExecution() {
+    return new JfrGraphEvent(new GraphvizExecution());
+  }
+
+  private static final class JfrGraphEvent implements GraphEvent {
+
+    private final AbstractEvent event;
+
+    JfrGraphEvent(AbstractEvent event) {
+      this.event = event;
+      this.event.begin();
+    }
+
+    @Override
+    public boolean isEnabled() {
+      return this.event.isEnabled();
+    }
+
+    @Override
+    public void commit(String project, int nodeCount, int edgeCount) {
+      this.event.end();
+      if (this.event.shouldCommit()) {
+        this.event.project = project;
+        this.event.nodeCount = nodeCount;
+        this.event.edgeCount = edgeCount;
+        this.event.commit();
+      }
+    }
+  }
+
+  @Category({"Maven", "Dependency Graph"})
+  abstract static class AbstractEvent extends Event {
+
+    @Label("Project")
+    @Description("Coordinates or name of the project")
+    String project;
+
+    @Label("Nodes")
+    int nodeCount;
+
+    @Label("Edges")
+    int edgeCount;
+  }
+
+  @Name(PREFIX + "DependencyResolution")
+  @Label("Dependency Resolution")
+  @Description("Resolution of the dependency graph of a project")
+  static final class DependencyResolution extends AbstractEvent {
+  }
+
+  @Name(PREFIX + "GraphReduction")
+  @Label("Graph Reduction")
+  @Description("Transitive reduction of the edges in a graph")
+  static final class GraphReduction extends AbstractEvent {
+  }
+
+  @Name(PREFIX + "GraphFormatting")
+  @Label("Graph Formatting")
+  @Description("Formatting and writing of a graph")
+  static final class GraphFormatting extends AbstractEvent {
+  }
+
+  @Name(PREFIX + "GraphvizExecution")
+  @Label("Graphviz Execution")
+  @Description("Creation of a graph image with Graphviz")
+  static final class GraphvizExecution extends AbstractEvent {
+  }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph.json;
+
+import java.io.IOException;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Structured data of a node or an edge which is written directly into the output of the {@link JsonGraphFormatter}.
+ */
+public interface JsonData {
+
+  /**
+   * Writes the properties of this object into the JSON object that is currently written by the given generator.
+   *
+   * @param generator The generator.
+   * @throws IOException In case the properties cannot be written.
+   */
+  void writeProperties(JsonGenerator generator) throws IOException;
+}
@@ -17,13 +17,14 @@ package com.github.ferstl.depgraph.graph.json;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
 import com.github.ferstl.depgraph.graph.Edge;
 import com.github.ferstl.depgraph.graph.GraphFormatter;
 import com.github.ferstl.depgraph.graph.Node;
@@ -32,57 +33,125 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
 import static com.fasterxml.jackson.annotation.PropertyAccessor.FIELD;
 
+/**
+ * Writes the graph as JSON in a single streaming pass. Nodes and edges carrying {@link JsonData} write their
+ * properties directly into the output. The names of all other nodes and edges have to be JSON objects, which are parsed
+ * and then merged into the output.
+ */
 public class JsonGraphFormatter implements GraphFormatter {
 
-  private final ObjectMapper objectMapper = new ObjectMapper()
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
       .setSerializationInclusion(NON_EMPTY)
       .setVisibility(FIELD, ANY);
 
+  /**
+   * Creates the compact JSON representation of the given data, e.g. to implement {@link Object#toString()} of
+   * {@link JsonData} objects.
+   *
+   * @param data The data.
+   * @return The data as JSON object.
+   */
+  public static String toJson(JsonData data) {
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(writer)) {
+      generator.writeStartObject();
+      data.writeProperties(generator);
+      generator.writeEndObject();
+    } catch (IOException e) {
+      // should never happen with StringWriter
+      throw new IllegalStateException(e);
+    }
+
+    return writer.toString();
+  }
+
   @Override
-  public String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Writer writer) throws IOException {
+    DefaultPrettyPrinter prettyPrinter = new DefaultPrettyPrinter()
+        .withObjectIndenter(new DefaultIndenter("  ", "\n"));
+
+    JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(writer)
+        // The writer is owned by the caller
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .setPrettyPrinter(prettyPrinter);
+
+    try {
+      generator.writeStartObject();
+      writeNonEmptyString(generator, "graphName", graphName);
+      Map<String, Integer> nodeIdMap = writeArtifacts(generator, nodes);
+      writeDependencies(generator, edges, nodeIdMap);
+      generator.writeEndObject();
+    } finally {
+      generator.close();
+    }
+  }
+
+  private static Map<String, Integer> writeArtifacts(JsonGenerator generator, Collection<Node<?>> nodes) throws IOException {
     Map<String, Integer> nodeIdMap = new HashMap<>(nodes.size());
-    JsonGraph jsonGraph = new JsonGraph(graphName);
+    if (nodes.isEmpty()) {
+      return nodeIdMap;
+    }
 
+    generator.writeArrayFieldStart("artifacts");
     int numericNodeId = 0;
     for (Node<?> node : nodes) {
       String nodeId = node.getNodeId();
       nodeIdMap.put(nodeId, numericNodeId++);
-      jsonGraph.addArtifact(nodeId, numericNodeId, readJson(node.getNodeName()));
+
+      generator.writeStartObject();
+      writeNonEmptyString(generator, "id", nodeId);
+      generator.writeNumberField("numericId", numericNodeId);
+      writeData(generator, node.getNodeData());
+      generator.writeEndObject();
     }
+    generator.writeEndArray();
 
+    return nodeIdMap;
+  }
+
+  private static void writeDependencies(JsonGenerator generator, Collection<Edge> edges, Map<String, Integer> nodeIdMap) throws IOException {
+    if (edges.isEmpty()) {
+      return;
+    }
+
+    generator.writeArrayFieldStart("dependencies");
     for (Edge edge : edges) {
       String fromNodeId = edge.getFromNodeId();
-      Integer fromNodeIdNumeric = nodeIdMap.get(fromNodeId);
       String toNodeId = edge.getToNodeId();
-      Integer toNodeIdNumeric = nodeIdMap.get(toNodeId);
-      jsonGraph.addDependency(fromNodeId, fromNodeIdNumeric, toNodeId, toNodeIdNumeric, readJson(edge.getName()));
-    }
 
-    return serialize(jsonGraph);
+      generator.writeStartObject();
+      writeNonEmptyString(generator, "from", fromNodeId);
+      writeNonEmptyString(generator, "to", toNodeId);
+      generator.writeNumberField("numericFrom", nodeIdMap.get(fromNodeId));
+      generator.writeNumberField("numericTo", nodeIdMap.get(toNodeId));
+      writeData(generator, edge.getData());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
   }
 
-  private Map<?, ?> readJson(String json) {
-    try {
-      return this.objectMapper.readValue(json, Map.class);
-    } catch (IOException e) {
-      throw new IllegalStateException("Unable to read JSON '" + json + "'", e);
+  private static void writeData(JsonGenerator generator, Object data) throws IOException {
+    if (data instanceof JsonData) {
+      ((JsonData) data).writeProperties(generator);
+    } else if (data != null) {
+      for (Map.Entry<?, ?> entry : readJson(data.toString()).entrySet()) {
+        generator.writeObjectField(String.valueOf(entry.getKey()), entry.getValue());
+      }
     }
   }
 
-  private String serialize(JsonGraph jsonGraph) {
-    DefaultPrettyPrinter prettyPrinter = new DefaultPrettyPrinter()
-        .withObjectIndenter(new DefaultIndenter("  ", "\n"));
+  private static void writeNonEmptyString(JsonGenerator generator, String fieldName, String value) throws IOException {
+    if (value != null && !value.isEmpty()) {
+      generator.writeStringField(fieldName, value);
+    }
+  }
 
-    ObjectWriter writer = this.objectMapper.writer(prettyPrinter);
-    StringWriter jsonWriter = new StringWriter();
+  private static Map<?, ?> readJson(String json) {
     try {
-      writer.writeValue(jsonWriter, jsonGraph);
+      return OBJECT_MAPPER.readValue(json, Map.class);
     } catch (IOException e) {
-      // should never happen with StringWriter
-      throw new IllegalStateException(e);
+      throw new IllegalStateException("Unable to read JSON '" + json + "'", e);
     }
-
-    return jsonWriter.toString();
   }
 
 }
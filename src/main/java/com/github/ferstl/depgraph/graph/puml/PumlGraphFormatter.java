@@ -15,7 +15,10 @@
  */
 package com.github.ferstl.depgraph.graph.puml;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Collection;
+import java.util.regex.Pattern;
 import org.apache.commons.lang3.StringUtils;
 import com.github.ferstl.depgraph.dependency.puml.PumlEdgeInfo;
 import com.github.ferstl.depgraph.dependency.puml.PumlNodeInfo;
@@ -25,28 +28,28 @@ import com.github.ferstl.depgraph.graph.Node;
 import static org.apache.maven.artifact.Artifact.SCOPE_COMPILE;
 
 /**
- * Graph formatter for <a href="PlantUML">http://plantuml.com/component-diagram</a> diagram.
+ * Graph formatter for <a href="PlantUML">http://plantuml.com/component-diagram</a> diagram. Nodes and edges are
+ * expected to carry {@link PumlNodeInfo} and {@link PumlEdgeInfo} objects. Their serialized form is only parsed when
+ * nodes or edges were created with plain string names.
  */
 public class PumlGraphFormatter implements GraphFormatter {
 
-  @Override
-  public String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
-    StringBuilder puml = new StringBuilder();
+  private static final Pattern NON_WORD_CHARACTER = Pattern.compile("\\W");
 
+  @Override
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Writer puml) throws IOException {
     startUml(puml);
     skinParam(puml);
     writeNodes(puml, nodes);
     writeEdges(puml, edges);
     endUml(puml);
-
-    return puml.toString();
   }
 
-  private void startUml(StringBuilder puml) {
+  private void startUml(Writer puml) throws IOException {
     puml.append("@startuml\n");
   }
 
-  private void skinParam(StringBuilder puml) {
+  private void skinParam(Writer puml) throws IOException {
     puml.append("skinparam defaultTextAlignment center\n")
         .append("skinparam rectangle {\n")
         .append("  BackgroundColor<<optional>> beige\n")
@@ -56,10 +59,10 @@ public class PumlGraphFormatter implements GraphFormatter {
         .append("}\n");
   }
 
-  private void writeNodes(StringBuilder puml, Collection<Node<?>> nodes) {
+  private void writeNodes(Writer puml, Collection<Node<?>> nodes) throws IOException {
     for (Node<?> node : nodes) {
 
-      PumlNodeInfo nodeInfo = PumlNodeInfo.parse(node.getNodeName());
+      PumlNodeInfo nodeInfo = getNodeInfo(node);
 
       puml.append(nodeInfo.getComponent())
           .append(" \"")
@@ -85,9 +88,9 @@ public class PumlGraphFormatter implements GraphFormatter {
     }
   }
 
-  private void writeEdges(StringBuilder puml, Collection<Edge> edges) {
+  private void writeEdges(Writer puml, Collection<Edge> edges) throws IOException {
     for (Edge edge : edges) {
-      PumlEdgeInfo edgeInfo = PumlEdgeInfo.parse(edge.getName());
+      PumlEdgeInfo edgeInfo = getEdgeInfo(edge);
       puml.append(escape(edge.getFromNodeId()))
           .append(" ")
           .append(edgeInfo.getBegin())
@@ -105,11 +108,21 @@ public class PumlGraphFormatter implements GraphFormatter {
     }
   }
 
-  private void endUml(StringBuilder puml) {
+  private static PumlNodeInfo getNodeInfo(Node<?> node) {
+    Object nodeData = node.getNodeData();
+    return nodeData instanceof PumlNodeInfo ? (PumlNodeInfo) nodeData : PumlNodeInfo.parse(node.getNodeName());
+  }
+
+  private static PumlEdgeInfo getEdgeInfo(Edge edge) {
+    Object edgeData = edge.getData();
+    return edgeData instanceof PumlEdgeInfo ? (PumlEdgeInfo) edgeData : PumlEdgeInfo.parse(edge.getName());
+  }
+
+  private void endUml(Writer puml) throws IOException {
     puml.append("@enduml");
   }
 
   private String escape(String id) {
-    return StringUtils.removeEnd(id.replaceAll("\\W", "_"), "_");
+    return StringUtils.removeEnd(NON_WORD_CHARACTER.matcher(id).replaceAll("_"), "_");
   }
 }
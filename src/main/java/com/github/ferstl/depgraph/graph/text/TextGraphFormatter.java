@@ -15,8 +15,14 @@
  */
 package com.github.ferstl.depgraph.graph.text;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -26,21 +32,47 @@ import java.util.Set;
 import com.github.ferstl.depgraph.graph.Edge;
 import com.github.ferstl.depgraph.graph.Node;
 
+/**
+ * Writes the graph as tree in the style of {@code mvn dependency:tree}. Transitive dependencies which occur several
+ * times in the graph are written in one of the following ways:
+ * <ul>
+ * <li>Only the first occurrence shows the transitive dependencies (default).</li>
+ * <li>All occurrences show the transitive dependencies ({@code repeatTransitiveDependencies}). The output may grow
+ * exponentially on graphs with many shared subtrees.</li>
+ * <li>The first occurrence shows the transitive dependencies and gets a number. All other occurrences refer to this
+ * number, e.g. {@code (see #3)} ({@code repeatTransitiveDependencies} and {@code useBackReferences}).</li>
+ * </ul>
+ * The tree is written iteratively, so deep graphs cannot overflow the stack. An optional line limit stops writing
+ * after the given number of lines.
+ */
 public class TextGraphFormatter implements com.github.ferstl.depgraph.graph.GraphFormatter {
 
   private final boolean repeatTransitiveDependencies;
+  private final boolean useBackReferences;
+  private final int maxLines;
 
   public TextGraphFormatter(boolean repeatTransitiveDependencies) {
+    this(repeatTransitiveDependencies, false, 0);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param repeatTransitiveDependencies Whether to show the transitive dependencies of each occurrence of a node.
+   * @param useBackReferences Whether to write back-references instead of repeating transitive dependencies. Only has an
+   * effect if {@code repeatTransitiveDependencies} is enabled.
+   * @param maxLines Maximum number of lines to write or {@code 0} to write the whole graph.
+   */
+  public TextGraphFormatter(boolean repeatTransitiveDependencies, boolean useBackReferences, int maxLines) {
     this.repeatTransitiveDependencies = repeatTransitiveDependencies;
+    this.useBackReferences = useBackReferences;
+    this.maxLines = maxLines;
   }
 
   @Override
-  public String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
-    TextGraphWriter writer = new TextGraphWriter(nodes, edges, this.repeatTransitiveDependencies);
-    StringBuilder graphStringBuilder = new StringBuilder();
-    writer.write(graphStringBuilder);
-
-    return graphStringBuilder.toString();
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Writer writer) throws IOException {
+    TextGraphWriter graphWriter = new TextGraphWriter(nodes, edges, this.repeatTransitiveDependencies, this.useBackReferences, this.maxLines);
+    graphWriter.write(writer);
   }
 
   private static class TextGraphWriter {
@@ -51,32 +83,51 @@ public class TextGraphFormatter implements com.github.ferstl.depgraph.graph.Grap
     private static final String LAST_ELEMENT_MARKER = "\\- ";
 
     private final Map<String, Node<?>> nodesById;
-    private final Map<String, Collection<Edge>> relations;
+    private final Map<String, List<Edge>> relations;
     private final Collection<String> roots;
     private final boolean repeatTransitiveDependencies;
+    private final boolean useBackReferences;
+    private final int maxLines;
+
+    /**
+     * Nodes whose transitive dependencies were already written.
+     */
+    private final Set<String> expandedNodes;
+    /**
+     * Numbers of the nodes that can be referenced in back-reference mode.
+     */
+    private final Map<String, Integer> referenceNumbers;
+    private final Set<String> referenceCandidates;
+    private int lines;
 
-    TextGraphWriter(Collection<Node<?>> nodes, Collection<Edge> edges, boolean repeatTransitiveDependencies) {
+    TextGraphWriter(Collection<Node<?>> nodes, Collection<Edge> edges, boolean repeatTransitiveDependencies, boolean useBackReferences, int maxLines) {
       this.repeatTransitiveDependencies = repeatTransitiveDependencies;
+      this.useBackReferences = repeatTransitiveDependencies && useBackReferences;
+      this.maxLines = maxLines;
       this.nodesById = new LinkedHashMap<>();
       this.relations = new LinkedHashMap<>();
       this.roots = new LinkedHashSet<>();
+      this.expandedNodes = new HashSet<>();
+      this.referenceNumbers = new HashMap<>();
+      this.referenceCandidates = new HashSet<>();
 
       initializeGraphData(nodes);
       initializeRootElements(edges);
     }
 
-    void write(StringBuilder stringBuilder) {
+    void write(Writer writer) throws IOException {
       Iterator<String> rootIterator = this.roots.iterator();
       while (rootIterator.hasNext()) {
         String root = rootIterator.next();
         Node<?> fromNode = this.nodesById.get(root);
-        stringBuilder.append(fromNode.getNodeName()).append("\n");
-
-        List<Boolean> lastParents = new ArrayList<>();
-        lastParents.add(!rootIterator.hasNext());
-        Set<String> currentPath = new LinkedHashSet<>();
+        if (!writeLine(writer)) {
+          return;
+        }
+        writer.append(fromNode.getNodeName()).append("\n");
 
-        writeChildren(stringBuilder, root, currentPath, lastParents);
+        if (!writeChildren(writer, root, !rootIterator.hasNext())) {
+          return;
+        }
       }
     }
 
@@ -89,6 +140,7 @@ public class TextGraphFormatter implements com.github.ferstl.depgraph.graph.Grap
     }
 
     private void initializeRootElements(Collection<Edge> edges) {
+      Set<String> targets = new HashSet<>();
       this.roots.addAll(this.nodesById.keySet());
       for (Edge edge : edges) {
         this.relations.get(edge.getFromNodeId()).add(edge);
@@ -96,61 +148,145 @@ public class TextGraphFormatter implements com.github.ferstl.depgraph.graph.Grap
         if (!edge.getFromNodeId().equals(edge.getToNodeId())) {
           this.roots.remove(edge.getToNodeId());
         }
+
+        // Nodes with several incoming edges are written several times
+        if (this.useBackReferences && !targets.add(edge.getToNodeId())) {
+          this.referenceCandidates.add(edge.getToNodeId());
+        }
       }
     }
 
-    private void writeChildren(StringBuilder stringBuilder, String parent, Set<String> currentPath, List<Boolean> lastParents) {
-      Collection<Edge> edges = this.relations.get(parent);
-      // Prevent ConcurrentModificationException (see #159)
-      Collection<Edge> edgesCopy = new ArrayList<>(edges);
-      Iterator<Edge> edgeIterator = edgesCopy.iterator();
+    /**
+     * Writes the subtree of the given root with an explicit stack.
+     *
+     * @return {@code false} if the line limit was reached, {@code true} else.
+     */
+    private boolean writeChildren(Writer writer, String root, boolean lastRoot) throws IOException {
+      Deque<SubtreeFrame> stack = new ArrayDeque<>();
+      List<Boolean> lastParents = new ArrayList<>();
+      Set<String> currentPath = new HashSet<>();
+
+      lastParents.add(lastRoot);
+      stack.push(new SubtreeFrame(root, this.relations.get(root)));
+
+      while (!stack.isEmpty()) {
+        SubtreeFrame frame = stack.peek();
+
+        if (!frame.hasNext()) {
+          stack.pop();
+          lastParents.remove(lastParents.size() - 1);
+          currentPath.remove(frame.nodeId);
+          this.expandedNodes.add(frame.nodeId);
+          continue;
+        }
 
-      while (edgeIterator.hasNext()) {
-        Edge edge = edgeIterator.next();
+        Edge edge = frame.next();
+        boolean lastElement = !frame.hasNext();
         Node<?> childNode = this.nodesById.get(edge.getToNodeId());
-        boolean circleDetected = currentPath.contains(childNode.getNodeId());
+        String childNodeId = childNode.getNodeId();
+        boolean circleDetected = currentPath.contains(childNodeId);
+        Integer backReference = !circleDetected ? this.referenceNumbers.get(childNodeId) : null;
+        boolean expand = !circleDetected && backReference == null
+            && (this.repeatTransitiveDependencies || !this.expandedNodes.contains(childNodeId));
+
+        Integer referenceNumber = null;
+        List<Edge> childEdges = this.relations.get(childNodeId);
+        if (expand && this.referenceCandidates.contains(childNodeId) && !childEdges.isEmpty()) {
+          referenceNumber = this.referenceNumbers.size() + 1;
+          this.referenceNumbers.put(childNodeId, referenceNumber);
+        }
 
         // Write the current child node
-        indent(stringBuilder, lastParents, !edgeIterator.hasNext());
-        writeChildNode(stringBuilder, childNode.getNodeName(), edge.getName(), circleDetected);
-
-        // Recursively write subtree
-        lastParents.add(!edgeIterator.hasNext());
-        if (!circleDetected) {
-          currentPath.add(childNode.getNodeId());
-          writeChildren(stringBuilder, childNode.getNodeId(), currentPath, lastParents);
+        if (!writeLine(writer)) {
+          return false;
+        }
+        indent(writer, lastParents, lastElement);
+        writeChildNode(writer, childNode.getNodeName(), edge.getName(), circleDetected, referenceNumber, backReference);
+
+        if (expand) {
+          lastParents.add(lastElement);
+          currentPath.add(childNodeId);
+          stack.push(new SubtreeFrame(childNodeId, childEdges));
+        } else {
+          currentPath.remove(childNodeId);
         }
-        lastParents.remove(lastParents.size() - 1);
-        currentPath.remove(childNode.getNodeId());
       }
 
-      if (!this.repeatTransitiveDependencies) {
-        edges.clear();
+      return true;
+    }
+
+    /**
+     * Checks the line limit before a line is written and writes a truncation marker if the limit is reached.
+     *
+     * @return {@code true} if the line can be written, {@code false} else.
+     */
+    private boolean writeLine(Writer writer) throws IOException {
+      if (this.maxLines > 0 && this.lines >= this.maxLines) {
+        writer.append("... (output truncated after ").append(String.valueOf(this.maxLines)).append(" lines)\n");
+        return false;
       }
+
+      this.lines++;
+      return true;
     }
 
-    private void indent(StringBuilder stringBuilder, List<Boolean> lastParents, boolean lastElement) {
+    private void indent(Writer writer, List<Boolean> lastParents, boolean lastElement) throws IOException {
       // Don't indent after the root element
       for (int i = 1; i < lastParents.size(); i++) {
-        stringBuilder.append(lastParents.get(i) ? INDENTATION_FOR_LAST_PARENT : INDENTATION_FOR_PARENT);
+        writer.append(lastParents.get(i) ? INDENTATION_FOR_LAST_PARENT : INDENTATION_FOR_PARENT);
       }
 
       // Use different element markers depending on whether the element is the last one in the subtree.
       if (lastElement) {
-        stringBuilder.append(LAST_ELEMENT_MARKER);
+        writer.append(LAST_ELEMENT_MARKER);
       } else {
-        stringBuilder.append(ELEMENT_MARKER);
+        writer.append(ELEMENT_MARKER);
       }
     }
 
-    private void writeChildNode(StringBuilder stringBuilder, String childNodeName, String edgeName, boolean circleDetected) {
-      stringBuilder.append(childNodeName);
+    private void writeChildNode(Writer writer, String childNodeName, String edgeName, boolean circleDetected, Integer referenceNumber, Integer backReference) throws IOException {
+      List<String> annotations = new ArrayList<>(3);
+      if (circleDetected) {
+        annotations.add("circle");
+      }
       if (edgeName != null && !edgeName.isEmpty()) {
-        stringBuilder.append(" (").append(circleDetected ? "circle, " : "").append(edgeName).append(")");
-      } else if (circleDetected) {
-        stringBuilder.append(" (circle)");
+        annotations.add(edgeName);
+      }
+      if (referenceNumber != null) {
+        annotations.add("#" + referenceNumber);
       }
-      stringBuilder.append("\n");
+      if (backReference != null) {
+        annotations.add("see #" + backReference);
+      }
+
+      writer.append(childNodeName);
+      if (!annotations.isEmpty()) {
+        writer.append(" (").append(String.join(", ", annotations)).append(")");
+      }
+      writer.append("\n");
+    }
+  }
+
+  /**
+   * Iteration state of a node whose children are currently written.
+   */
+  private static final class SubtreeFrame {
+
+    private final String nodeId;
+    private final List<Edge> edges;
+    private int nextEdge;
+
+    SubtreeFrame(String nodeId, List<Edge> edges) {
+      this.nodeId = nodeId;
+      this.edges = edges;
+    }
+
+    boolean hasNext() {
+      return this.nextEdge < this.edges.size();
+    }
+
+    Edge next() {
+      return this.edges.get(this.nextEdge++);
     }
   }
 }
@@ -28,6 +28,7 @@ import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
 import static com.github.ferstl.depgraph.MavenVersion.MAX_VERSION;
 import static com.github.ferstl.depgraph.MavenVersion.MIN_VERSION;
 import static io.takari.maven.testing.TestResources.assertFileContents;
+import static io.takari.maven.testing.TestResources.assertFilesPresent;
 
 @RunWith(MavenJUnitTestRunner.class)
 @MavenVersions({MAX_VERSION, MIN_VERSION})
@@ -176,6 +177,81 @@ public class ForArtifactIntegrationTest {
     result.assertLogText("'groupId', 'artifactId' and 'version' parameters have to be defined");
   }
 
+  @Test
+  public void runWithArtifactsParameter() throws Exception {
+    // arrange
+    File basedir = this.resources.getBasedir("no-project");
+
+    // act
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Dartifacts=org.springframework:spring-jdbc:5.1.3.RELEASE,org.springframework:spring-tx:5.1.3.RELEASE")
+        .withCliOption("-DunionGraph")
+        .withCliOption("-DshowVersions")
+        .withCliOption("-DgraphFormat=text")
+        .execute(createFullyQualifiedGoal());
+
+    // assert
+    result.assertErrorFreeLog();
+    assertFilesPresent(basedir, "org.springframework_spring-tx_5.1.3.RELEASE.txt");
+    assertFileContents(basedir, "expectations/spring-jdbc.txt", "org.springframework_spring-jdbc_5.1.3.RELEASE.txt");
+    // The union graph additionally contains the optional dependencies of spring-tx, which are not part of the
+    // graph of spring-jdbc since they are transitive optional dependencies there
+    assertFileContents(basedir, "expectations/spring-jdbc-spring-tx-union.txt", "dependency-graph.txt");
+  }
+
+  @Test
+  public void runWithArtifactsWithClassifier() throws Exception {
+    // arrange
+    File basedir = this.resources.getBasedir("no-project");
+
+    // act
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Dartifacts=org.springframework:spring-jdbc:5.1.3.RELEASE,org.springframework:spring-jdbc:5.1.3.RELEASE:test-jar:tests")
+        .withCliOption("-DshowVersions")
+        .withCliOption("-DgraphFormat=text")
+        .execute(createFullyQualifiedGoal());
+
+    // assert
+    result.assertErrorFreeLog();
+    assertFileContents(basedir, "expectations/spring-jdbc.txt", "org.springframework_spring-jdbc_5.1.3.RELEASE.txt");
+    assertFilesPresent(basedir, "org.springframework_spring-jdbc_5.1.3.RELEASE_test-jar_tests.txt");
+  }
+
+  @Test
+  public void runWithArtifactsWithSameGraphFile() throws Exception {
+    // arrange
+    File basedir = this.resources.getBasedir("no-project");
+
+    // act
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Dartifacts=org.springframework:spring-jdbc:5.1.3.RELEASE,org.springframework:spring-jdbc:5.1.3.RELEASE:jar")
+        .execute(createFullyQualifiedGoal());
+
+    // assert
+    result.assertLogText("[ERROR] Failed to execute goal com.github.ferstl:depgraph-maven-plugin");
+    result.assertLogText("would be written to the same graph file");
+  }
+
+  @Test
+  public void runWithArtifactsAndArtifactParameters() throws Exception {
+    // arrange
+    File basedir = this.resources.getBasedir("no-project");
+
+    // act
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Dartifacts=org.springframework:spring-jdbc:5.1.3.RELEASE")
+        .withCliOption("-Dartifact=org.springframework:spring-tx:5.1.3.RELEASE")
+        .execute(createFullyQualifiedGoal());
+
+    // assert
+    result.assertLogText("[ERROR] Failed to execute goal com.github.ferstl:depgraph-maven-plugin");
+    result.assertLogText("Artifacts can be defined with either 'artifacts'/'artifactsFile' or 'artifact'/'groupId'/'artifactId'/'version' but not both");
+  }
+
   /**
    * Helper to create a fully qualified Maven goal with the curren plugin version. This is needed for tests
    * without POM files where {@code it-plugin.version} can not be injected.
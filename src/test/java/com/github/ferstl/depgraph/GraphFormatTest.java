@@ -15,6 +15,9 @@
  */
 package com.github.ferstl.depgraph;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -119,6 +122,21 @@ class GraphFormatTest {
     assertThrows(IllegalArgumentException.class, () -> GraphFormat.forName("unknown_format"));
   }
 
+  @Test
+  void forNames() {
+    // act
+    List<GraphFormat> result = GraphFormat.forNames("dot, json,text,,DOT");
+
+    // assert
+    assertEquals(Arrays.asList(GraphFormat.DOT, GraphFormat.JSON, GraphFormat.TEXT), result);
+  }
+
+  @Test
+  void forNamesWithoutFormat() {
+    // act/assert
+    assertThrows(IllegalArgumentException.class, () -> GraphFormat.forNames(" , "));
+  }
+
   @Test
   void getFileExtension() {
     assertEquals(".dot", GraphFormat.DOT.getFileExtension());
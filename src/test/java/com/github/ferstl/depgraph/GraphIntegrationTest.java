@@ -16,7 +16,10 @@
 package com.github.ferstl.depgraph;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -32,6 +35,7 @@ import static com.github.ferstl.depgraph.MavenVersion.MIN_VERSION;
 import static io.takari.maven.testing.TestResources.assertFileContents;
 import static io.takari.maven.testing.TestResources.assertFilesNotPresent;
 import static io.takari.maven.testing.TestResources.assertFilesPresent;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(MavenJUnitTestRunner.class)
 @MavenVersions({MAX_VERSION, MIN_VERSION})
@@ -77,6 +81,53 @@ public class GraphIntegrationTest {
     assertFileContents(basedir, "expectations/graph_module-3.dot", "sub-parent/module-3/target/dependency-graph.dot");
   }
 
+  @Test
+  public void graphInDotWithDirectCollection() throws Exception {
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DcollectDirectly")
+        .withCliOption("-DwriteMetrics")
+        .execute("depgraph:graph");
+
+    result.assertErrorFreeLog();
+    // The metrics contain the resolution time to compare with the default resolution in graphInDot()
+    assertFilesPresent(basedir, "target/dependency-graph-metrics.json");
+    assertFileContents(basedir, "expectations/graph_parent.dot", "target/dependency-graph.dot");
+    assertFileContents(basedir, "expectations/graph_module-1.dot", "module-1/target/dependency-graph.dot");
+    assertFileContents(basedir, "expectations/graph_module-2.dot", "module-2/target/dependency-graph.dot");
+    assertFileContents(basedir, "expectations/graph_sub-parent.dot", "sub-parent/target/dependency-graph.dot");
+    assertFileContents(basedir, "expectations/graph_module-3.dot", "sub-parent/module-3/target/dependency-graph.dot");
+  }
+
+  @Test
+  public void upToDateCheckWithChangedReactorDependency() throws Exception {
+    File basedir = this.resources.getBasedir("scopes-test");
+    this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DgraphFormat=text")
+        .withCliOption("-DupToDateCheck")
+        .execute("clean", "depgraph:graph")
+        .assertErrorFreeLog();
+
+    // module-a depends on module-d, whose test dependency becomes a compile dependency
+    Path moduleDPom = basedir.toPath().resolve("module-d/pom.xml");
+    String pom = new String(Files.readAllBytes(moduleDPom), StandardCharsets.UTF_8);
+    Files.write(moduleDPom, pom.replace("<scope>test</scope>", "<scope>compile</scope>").getBytes(StandardCharsets.UTF_8));
+
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DgraphFormat=text")
+        .withCliOption("-DupToDateCheck")
+        .execute("depgraph:graph");
+
+    result.assertErrorFreeLog();
+    // The parent POM has no dependencies and its graph is still up to date
+    result.assertLogText("Dependency graph is up to date");
+    String graph = new String(Files.readAllBytes(basedir.toPath().resolve("module-a/target/dependency-graph.txt")), StandardCharsets.UTF_8);
+    assertTrue(graph, graph.contains("junit-jupiter"));
+  }
+
   @Test
   public void byGroupIdInDot() throws Exception {
     File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.github.ferstl.depgraph.GraphvizCommand.RunningGraphviz;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class GraphvizCommandTest {
+
+  private static final String GRAPH = "digraph \"test\" {\n  \"a\" -> \"b\"\n}\n";
+
+  private Path tempDir;
+  private Path graphFile;
+  private Log log;
+
+  @BeforeEach
+  void before() throws IOException {
+    this.tempDir = Files.createTempDirectory(Paths.get("target"), "graphviz");
+    this.graphFile = this.tempDir.resolve("graph.dot");
+    this.log = mock(Log.class);
+  }
+
+  @Test
+  void createArguments() {
+    // arrange
+    GraphvizCommand command = new GraphvizCommand("dot", this.graphFile, Arrays.asList("png", "svg"), Collections.singletonList("-Gdpi=300"), this.log);
+    String png = this.tempDir.resolve("graph.png").toAbsolutePath().toString();
+    String svg = this.tempDir.resolve("graph.svg").toAbsolutePath().toString();
+
+    // act
+    String[] fileArguments = command.createArguments(true);
+    String[] streamArguments = command.createArguments(false);
+
+    // assert
+    assertThat(fileArguments, arrayContaining("-T", "png", "-o", png, "-T", "svg", "-o", svg, this.graphFile.toAbsolutePath().toString(), "-Gdpi=300"));
+    assertThat(streamArguments, arrayContaining("-T", "png", "-o", png, "-T", "svg", "-o", svg, "-Gdpi=300"));
+  }
+
+  @Test
+  void run() throws IOException {
+    // arrange
+    Files.write(this.graphFile, GRAPH.getBytes(StandardCharsets.UTF_8));
+    GraphvizCommand command = new GraphvizCommand(createFakeDot(0), this.graphFile, Arrays.asList("png", "svg"), Collections.emptyList(), this.log);
+
+    // act
+    command.run();
+
+    // assert
+    assertEquals(GRAPH, read("graph.png"));
+    assertEquals(GRAPH, read("graph.svg"));
+    verify(this.log).info("  dot> fake dot");
+  }
+
+  @Test
+  void start() throws IOException {
+    // arrange
+    GraphvizCommand command = new GraphvizCommand(createFakeDot(0), this.graphFile, Arrays.asList("png", "svg"), Collections.emptyList(), this.log);
+
+    // act
+    RunningGraphviz graphviz = command.start();
+    try (OutputStream os = graphviz.teeInto(Files.newOutputStream(this.graphFile))) {
+      os.write(GRAPH.getBytes(StandardCharsets.UTF_8));
+    }
+    graphviz.awaitCompletion();
+
+    // assert
+    assertEquals(GRAPH, read("graph.dot"));
+    assertEquals(GRAPH, read("graph.png"));
+    assertEquals(GRAPH, read("graph.svg"));
+    verify(this.log).info("  dot> fake dot");
+  }
+
+  @Test
+  void abnormalTermination() throws IOException {
+    // arrange
+    Files.write(this.graphFile, GRAPH.getBytes(StandardCharsets.UTF_8));
+    GraphvizCommand command = new GraphvizCommand(createFakeDot(3), this.graphFile, Collections.singletonList("png"), Collections.emptyList(), this.log);
+
+    // act
+    RunningGraphviz graphviz = command.start();
+    try (OutputStream os = graphviz.teeInto(Files.newOutputStream(this.graphFile))) {
+      os.write(GRAPH.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // assert
+    assertThrows(IOException.class, command::run);
+    assertThrows(IOException.class, graphviz::awaitCompletion);
+    assertEquals(GRAPH, read("graph.dot"));
+  }
+
+  /**
+   * Creates a shell script which behaves like dot, but copies its input into each output file.
+   */
+  private String createFakeDot(int exitCode) throws IOException {
+    assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"), "Requires a POSIX shell");
+
+    Path fakeDot = this.tempDir.resolve("fake-dot.sh");
+    String script = "#!/bin/sh\n"
+        + "input=''\n"
+        + "outputs=''\n"
+        + "while [ $# -gt 0 ]; do\n"
+        + "  case \"$1\" in\n"
+        + "    -T) shift ;;\n"
+        + "    -o) shift; outputs=\"$outputs $1\" ;;\n"
+        + "    -*) ;;\n"
+        + "    *) input=\"$1\" ;;\n"
+        + "  esac\n"
+        + "  shift\n"
+        + "done\n"
+        + "if [ -n \"$input\" ]; then exec < \"$input\"; fi\n"
+        + "tmp=\"$0.in\"\n"
+        + "cat > \"$tmp\"\n"
+        + "for output in $outputs; do cp \"$tmp\" \"$output\"; done\n"
+        + "echo 'fake dot'\n"
+        + "exit " + exitCode + "\n";
+    Files.write(fakeDot, script.getBytes(StandardCharsets.UTF_8));
+    fakeDot.toFile().setExecutable(true);
+
+    return fakeDot.toAbsolutePath().toString();
+  }
+
+  private String read(String fileName) throws IOException {
+    return new String(Files.readAllBytes(this.tempDir.resolve(fileName)), StandardCharsets.UTF_8);
+  }
+}
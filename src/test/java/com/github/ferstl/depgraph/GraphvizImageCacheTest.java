@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.google.common.hash.Hashing;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for {@link GraphvizImageCache}.
+ */
+class GraphvizImageCacheTest {
+
+  @TempDir
+  Path tempDir;
+
+  private Path cacheDirectory;
+  private Path graphFile;
+
+  @BeforeEach
+  void before() throws IOException {
+    this.cacheDirectory = this.tempDir.resolve("cache");
+    this.graphFile = this.tempDir.resolve("graph.dot");
+    write(this.graphFile, "digraph \"test\" {}");
+  }
+
+  @Test
+  void createKey() throws IOException {
+    // arrange
+    Path otherGraphFile = this.tempDir.resolve("other.dot");
+    write(otherGraphFile, "digraph \"other\" {}");
+
+    // act
+    String key = GraphvizImageCache.createKey(this.graphFile, "dot", Collections.emptyList());
+
+    // assert
+    assertEquals(key, GraphvizImageCache.createKey(this.graphFile, "dot", Collections.emptyList()));
+    assertNotEquals(key, GraphvizImageCache.createKey(otherGraphFile, "dot", Collections.emptyList()));
+    assertNotEquals(key, GraphvizImageCache.createKey(this.graphFile, "dot", Collections.singletonList("-Gdpi=300")));
+    assertNotEquals(key, GraphvizImageCache.createKey(this.graphFile, "/opt/graphviz/bin/dot", Collections.emptyList()));
+    assertNotEquals(GraphvizImageCache.createKey(this.graphFile, "dot", Arrays.asList("-a", "b")), GraphvizImageCache.createKey(this.graphFile, "dot", Collections.singletonList("-ab")));
+  }
+
+  @Test
+  void storeAndRestore() throws IOException {
+    // arrange
+    GraphvizImageCache cache = new GraphvizImageCache(this.cacheDirectory, 1024);
+    Map<String, Path> imageFiles = imageFiles("png", "svg");
+    write(imageFiles.get("png"), "png");
+    write(imageFiles.get("svg"), "svg");
+
+    // act
+    boolean stored = cache.store("key", imageFiles);
+    Files.delete(imageFiles.get("png"));
+    Files.delete(imageFiles.get("svg"));
+    boolean restored = cache.restore("key", imageFiles);
+
+    // assert
+    assertTrue(stored);
+    assertTrue(restored);
+    assertEquals("png", read(imageFiles.get("png")));
+    assertEquals("svg", read(imageFiles.get("svg")));
+  }
+
+  @Test
+  void restoreWithMissingFormat() throws IOException {
+    // arrange
+    GraphvizImageCache cache = new GraphvizImageCache(this.cacheDirectory, 1024);
+    Map<String, Path> pngFile = imageFiles("png");
+    write(pngFile.get("png"), "png");
+    cache.store("key", pngFile);
+
+    // act
+    boolean restored = cache.restore("key", imageFiles("png", "svg"));
+
+    // assert
+    assertFalse(restored);
+    assertFalse(cache.restore("otherKey", pngFile));
+  }
+
+  @Test
+  void evictLeastRecentlyUsed() throws IOException {
+    // arrange
+    GraphvizImageCache cache = new GraphvizImageCache(this.cacheDirectory, 10);
+    Map<String, Path> imageFiles = imageFiles("png");
+    write(imageFiles.get("png"), "12345");
+    cache.store(key("1"), imageFiles);
+    cache.store(key("2"), imageFiles);
+    Files.setLastModifiedTime(this.cacheDirectory.resolve(key("1") + ".png"), FileTime.fromMillis(1000));
+    Files.setLastModifiedTime(this.cacheDirectory.resolve(key("2") + ".png"), FileTime.fromMillis(2000));
+
+    // act
+    cache.store(key("3"), imageFiles);
+
+    // assert
+    assertFalse(Files.exists(this.cacheDirectory.resolve(key("1") + ".png")));
+    assertTrue(Files.exists(this.cacheDirectory.resolve(key("2") + ".png")));
+    assertTrue(Files.exists(this.cacheDirectory.resolve(key("3") + ".png")));
+  }
+
+  @Test
+  void evictOnlyCacheEntries() throws IOException {
+    // arrange
+    GraphvizImageCache cache = new GraphvizImageCache(this.cacheDirectory, 10);
+    Map<String, Path> imageFiles = imageFiles("png");
+    write(imageFiles.get("png"), "12345");
+    Files.createDirectories(this.cacheDirectory);
+    Path foreignFile = this.cacheDirectory.resolve("notes.txt");
+    Path foreignImage = this.cacheDirectory.resolve("graph.png");
+    write(foreignFile, "1234567890");
+    write(foreignImage, "1234567890");
+    Files.setLastModifiedTime(foreignFile, FileTime.fromMillis(1000));
+    Files.setLastModifiedTime(foreignImage, FileTime.fromMillis(1000));
+    cache.store(key("1"), imageFiles);
+    Files.setLastModifiedTime(this.cacheDirectory.resolve(key("1") + ".png"), FileTime.fromMillis(2000));
+
+    // act
+    cache.store(key("2"), imageFiles);
+    cache.store(key("3"), imageFiles);
+
+    // assert
+    assertTrue(Files.exists(foreignFile));
+    assertTrue(Files.exists(foreignImage));
+    assertFalse(Files.exists(this.cacheDirectory.resolve(key("1") + ".png")));
+    assertTrue(Files.exists(this.cacheDirectory.resolve(key("3") + ".png")));
+  }
+
+  private Map<String, Path> imageFiles(String... imageFormats) {
+    Map<String, Path> imageFiles = new LinkedHashMap<>();
+    for (String imageFormat : imageFormats) {
+      imageFiles.put(imageFormat, this.tempDir.resolve("graph." + imageFormat));
+    }
+
+    return imageFiles;
+  }
+
+  private static String key(String name) {
+    return Hashing.sha256().hashString(name, StandardCharsets.UTF_8).toString();
+  }
+
+  private static void write(Path file, String content) throws IOException {
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String read(Path file) throws IOException {
+    return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.junit.jupiter.api.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GraphvizJobsTest {
+
+  @Test
+  void awaitAll() throws Exception {
+    // arrange
+    GraphvizJobs jobs = new GraphvizJobs(2);
+    List<String> threads = new CopyOnWriteArrayList<>();
+    CountDownLatch running = new CountDownLatch(2);
+
+    // act
+    for (int i = 0; i < 2; i++) {
+      jobs.submit("module", () -> {
+        threads.add(Thread.currentThread().getName());
+        running.countDown();
+        try {
+          // Both jobs have to run in parallel to pass the latch
+          assertTrue(running.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+      });
+    }
+    jobs.awaitAll();
+
+    // assert
+    assertEquals(0, running.getCount());
+    assertThat(threads, containsInAnyOrder(startsWith("depgraph-graphviz-"), startsWith("depgraph-graphviz-")));
+  }
+
+  @Test
+  void sharedBySessionClones() throws IOException {
+    // arrange
+    MavenExecutionRequest request = new DefaultMavenExecutionRequest();
+    // Maven clones the session for each project, but all clones share the request
+    MavenSession session1 = mock(MavenSession.class);
+    MavenSession session2 = mock(MavenSession.class);
+    when(session1.getRequest()).thenReturn(request);
+    when(session2.getRequest()).thenReturn(request);
+
+    // act
+    GraphvizJobs jobs1 = GraphvizJobs.forSession(session1, 1);
+    GraphvizJobs jobs2 = GraphvizJobs.forSession(session2, 2);
+
+    // assert
+    assertSame(jobs1, jobs2);
+    assertSame(jobs1, GraphvizJobs.getIfPresent(session2));
+  }
+
+  @Test
+  void notPresent() {
+    // arrange
+    MavenSession session = mock(MavenSession.class);
+    when(session.getRequest()).thenReturn(new DefaultMavenExecutionRequest());
+
+    // act
+    GraphvizJobs jobs = GraphvizJobs.getIfPresent(session);
+
+    // assert
+    assertNull(jobs);
+  }
+
+  @Test
+  void rendersOfModulesOverlap() throws Exception {
+    // arrange
+    MavenExecutionRequest request = new DefaultMavenExecutionRequest();
+    MavenSession module1 = mock(MavenSession.class);
+    MavenSession module2 = mock(MavenSession.class);
+    when(module1.getRequest()).thenReturn(request);
+    when(module2.getRequest()).thenReturn(request);
+    CountDownLatch module2Started = new CountDownLatch(1);
+    CountDownLatch module1Finished = new CountDownLatch(1);
+
+    // act
+    // The execution of module 1 completes without waiting for its job
+    GraphvizJobs.forSession(module1, 2).submit("module1", () -> {
+      try {
+        // The render of module 1 only completes while the render of module 2 is running
+        assertTrue(module2Started.await(10, TimeUnit.SECONDS));
+        module1Finished.countDown();
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      }
+    });
+    GraphvizJobs jobs = GraphvizJobs.forSession(module2, 2);
+    jobs.submit("module2", module2Started::countDown);
+    jobs.close();
+
+    // assert
+    assertEquals(0, module1Finished.getCount());
+  }
+
+  @Test
+  void awaitAllKeepsJobsAsynchronous() throws IOException {
+    // arrange
+    GraphvizJobs jobs = new GraphvizJobs(1);
+    List<String> threads = new CopyOnWriteArrayList<>();
+    jobs.awaitAll();
+
+    // act
+    jobs.submit("module", () -> threads.add(Thread.currentThread().getName()));
+    jobs.awaitAll();
+
+    // assert
+    assertThat(threads, contains(startsWith("depgraph-graphviz-")));
+  }
+
+  @Test
+  void submitAfterClose() throws IOException {
+    // arrange
+    GraphvizJobs jobs = new GraphvizJobs(1);
+    List<String> threads = new CopyOnWriteArrayList<>();
+    jobs.close();
+
+    // act
+    jobs.submit("module", () -> threads.add(Thread.currentThread().getName()));
+
+    // assert
+    assertThat(threads, contains(Thread.currentThread().getName()));
+  }
+
+  @Test
+  void failuresPerProject() throws IOException {
+    // arrange
+    GraphvizJobs jobs = new GraphvizJobs(1);
+    IOException failure1 = new IOException("test1");
+    IOException failure2 = new IOException("test2");
+
+    // act
+    jobs.submit("module1", () -> {
+      throw failure1;
+    });
+    jobs.submit("module2", () -> {
+    });
+    jobs.submit("module3", () -> {
+      throw failure2;
+    });
+
+    // assert
+    IOException e = assertThrows(IOException.class, jobs::awaitAll);
+    assertEquals("Graphviz failed for module1, module3", e.getMessage());
+    assertSame(failure1, e.getCause());
+    assertThat(Arrays.asList(e.getSuppressed()), contains(failure2));
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for {@link IfChangedFile}.
+ */
+class IfChangedFileTest {
+
+  private static final FileTime TIMESTAMP = FileTime.fromMillis(1000);
+
+  @TempDir
+  Path tempDir;
+
+  private Path target;
+
+  @BeforeEach
+  void before() {
+    this.target = this.tempDir.resolve("graph.dot");
+  }
+
+  @Test
+  void newFile() throws IOException {
+    // act
+    boolean changed = write("content");
+
+    // assert
+    assertTrue(changed);
+    assertEquals("content", read());
+    assertEquals(1, fileCount());
+  }
+
+  @Test
+  void unchangedFile() throws IOException {
+    // arrange
+    Files.write(this.target, "content".getBytes(StandardCharsets.UTF_8));
+    Files.setLastModifiedTime(this.target, TIMESTAMP);
+
+    // act
+    boolean changed = write("content");
+
+    // assert
+    assertFalse(changed);
+    assertEquals(TIMESTAMP, Files.getLastModifiedTime(this.target));
+    assertEquals(1, fileCount());
+  }
+
+  @Test
+  void changedFile() throws IOException {
+    // arrange
+    Files.write(this.target, "content".getBytes(StandardCharsets.UTF_8));
+    Files.setLastModifiedTime(this.target, TIMESTAMP);
+
+    // act
+    boolean changed = write("CONTENT");
+
+    // assert
+    assertTrue(changed);
+    assertEquals("CONTENT", read());
+    assertEquals(1, fileCount());
+  }
+
+  @Test
+  void closeWithoutCommit() throws IOException {
+    // act
+    try (IfChangedFile file = new IfChangedFile(this.target)) {
+      try (OutputStream os = file.openStream()) {
+        os.write("content".getBytes(StandardCharsets.UTF_8));
+      }
+    }
+
+    // assert
+    assertFalse(Files.exists(this.target));
+    assertEquals(0, fileCount());
+  }
+
+  private boolean write(String content) throws IOException {
+    try (IfChangedFile file = new IfChangedFile(this.target)) {
+      try (OutputStream os = file.openStream()) {
+        os.write(content.getBytes(StandardCharsets.UTF_8));
+      }
+
+      return file.commit();
+    }
+  }
+
+  private String read() throws IOException {
+    return new String(Files.readAllBytes(this.target), StandardCharsets.UTF_8);
+  }
+
+  private long fileCount() throws IOException {
+    try (Stream<Path> files = Files.list(this.tempDir)) {
+      return files.count();
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for {@link InputFingerprint}.
+ */
+class InputFingerprintTest {
+
+  @TempDir
+  Path tempDir;
+
+  private Path pomFile;
+  private Path fingerprintFile;
+
+  @BeforeEach
+  void before() throws IOException {
+    this.pomFile = this.tempDir.resolve("pom.xml");
+    this.fingerprintFile = this.tempDir.resolve("dependency-graph-fingerprint.txt");
+    write(this.pomFile, "<project/>");
+  }
+
+  @Test
+  void sameInputs() throws IOException {
+    // act
+    String fingerprint1 = new InputFingerprint().putString("a").putFile(this.pomFile).value();
+    String fingerprint2 = new InputFingerprint().putString("a").putFile(this.pomFile).value();
+
+    // assert
+    assertEquals(fingerprint1, fingerprint2);
+  }
+
+  @Test
+  void differentInputs() throws IOException {
+    // arrange
+    String fingerprint = new InputFingerprint().putString("a").putFile(this.pomFile).value();
+
+    // act
+    String otherString = new InputFingerprint().putString("b").putFile(this.pomFile).value();
+    String ambiguousStrings = new InputFingerprint().putString("ab").putString("").value();
+    String missingFile = new InputFingerprint().putString("a").putFile(this.tempDir.resolve("missing.xml")).value();
+    write(this.pomFile, "<project></project>");
+    String changedFile = new InputFingerprint().putString("a").putFile(this.pomFile).value();
+
+    // assert
+    assertNotEquals(fingerprint, otherString);
+    assertNotEquals(new InputFingerprint().putString("a").putString("b").value(), ambiguousStrings);
+    assertNotEquals(fingerprint, missingFile);
+    assertNotEquals(fingerprint, changedFile);
+  }
+
+  @Test
+  void writeAndMatch() throws IOException {
+    // arrange
+    InputFingerprint fingerprint = new InputFingerprint().putFile(this.pomFile);
+
+    // act
+    boolean matchesMissingFile = fingerprint.matches(this.fingerprintFile);
+    fingerprint.write(this.fingerprintFile);
+
+    // assert
+    assertFalse(matchesMissingFile);
+    assertTrue(fingerprint.matches(this.fingerprintFile));
+    assertFalse(new InputFingerprint().putString("other").matches(this.fingerprintFile));
+  }
+
+  private static void write(Path file, String content) throws IOException {
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -81,4 +81,22 @@ public class ReducedEdgesIntegrationTest {
 
     assertFileContents(basedir, "expectations/aggregated-all-edges.dot", "target/dependency-graph.dot");
   }
+
+  @Test
+  public void aggregateWithMetrics() throws Exception {
+    File basedir = this.resources.getBasedir("reduced-edges-test");
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DwriteMetrics=true")
+        .execute("clean", "depgraph:aggregate");
+
+    result.assertErrorFreeLog();
+    result.assertLogText("Graph metrics: ");
+    assertFilesPresent(
+        basedir,
+        "target/dependency-graph.dot",
+        "target/dependency-graph-metrics.json");
+
+    assertFileContents(basedir, "expectations/aggregated-reduced-edges.dot", "target/dependency-graph.dot");
+  }
 }
@@ -52,6 +52,37 @@ public class ScopesIntegrationTest {
     FileSystems.getDefault();
   }
 
+  @Test
+  public void compileOnlyWithMediatedVersion() throws Exception {
+    File basedir = this.resources.getBasedir("scope-mediation-test");
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DgraphFormat=text")
+        .withCliOption("-DshowVersions")
+        .withCliOption("-Dscopes=compile")
+        .execute("clean", "depgraph:graph");
+
+    result.assertErrorFreeLog();
+    // The test dependency module-t is not part of the graph but its version of commons-io wins the conflict resolution
+    assertFileContents(basedir, "expectations/module-x-compile-scope.txt", "module-x/target/dependency-graph.txt");
+  }
+
+  @Test
+  public void compileOnlyWithWidenedScopeBelowMaxDepth() throws Exception {
+    File basedir = this.resources.getBasedir("scope-widening-test");
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DgraphFormat=text")
+        .withCliOption("-DshowVersions")
+        .withCliOption("-Dscopes=compile")
+        .withCliOption("-DmaxDepth=2")
+        .execute("clean", "depgraph:graph");
+
+    result.assertErrorFreeLog();
+    // commons-io is a test dependency above the max depth, but Maven widens its scope because of a compile dependency below
+    assertFileContents(basedir, "expectations/module-x-max-depth.txt", "module-x/target/dependency-graph.txt");
+  }
+
   @Test
   public void compileOnly() throws Exception {
     File basedir = this.resources.getBasedir("scopes-test");
@@ -20,6 +20,7 @@ import com.github.ferstl.depgraph.graph.NodeRenderer;
 import static com.github.ferstl.depgraph.dependency.DependencyNodeUtil.addClassifiers;
 import static com.github.ferstl.depgraph.dependency.DependencyNodeUtil.addTypes;
 import static com.github.ferstl.depgraph.dependency.DependencyNodeUtil.createDependencyNode;
+import static com.github.ferstl.depgraph.dependency.DependencyNodeUtil.createTruncatedDependencyNode;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public abstract class AbstractDependencyNodeNameRendererTest {
@@ -277,6 +278,19 @@ public abstract class AbstractDependencyNodeNameRendererTest {
     assertEquals(renderOmitScopeResult(), result);
   }
 
+  @Test
+  final void renderTruncated() {
+    // arrange
+    DependencyNode node = createTruncatedDependencyNode("groupId", "artifactId", "version");
+    NodeRenderer<DependencyNode> renderer = createNodeNameRenderer(false, true, false, false, false, false, true);
+
+    // act
+    String result = renderer.render(node);
+
+    // assert
+    assertEquals(renderTruncatedResult(), result);
+  }
+
   protected abstract NodeRenderer<DependencyNode> createNodeNameRenderer(boolean showGroupId, boolean showArtifactId, boolean showTypes, boolean showClassifiers, boolean showVersion, boolean showOptional, boolean showScope);
 
   protected abstract String renderNothingResult();
@@ -316,4 +330,6 @@ public abstract class AbstractDependencyNodeNameRendererTest {
   protected abstract String renderAllResult();
 
   protected abstract String renderOmitScopeResult();
+
+  protected abstract String renderTruncatedResult();
 }
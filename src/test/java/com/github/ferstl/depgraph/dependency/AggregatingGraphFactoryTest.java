@@ -275,6 +275,43 @@ class AggregatingGraphFactoryTest {
             "\"groupId:parent:jar:version:compile\" -> \"groupId:child2:jar:version:compile\"[style=dotted]"}));
   }
 
+  /**
+   * .
+   * <pre>
+   * parent
+   * - child1
+   * - child2
+   * - child3
+   * resolved in parallel
+   * </pre>
+   */
+  @Test
+  void parallelResolution() throws Exception {
+    MavenProject parent = createMavenProject("parent");
+    createMavenProject("child1", parent);
+    createMavenProject("child2", parent);
+    createMavenProject("child3", parent);
+
+    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.adapter, parent::getCollectedProjects, this.globalFilter, this.graphBuilder, true, false, 2);
+
+    graphFactory.createGraph(parent);
+
+    verify(this.dependenciesResolver).resolve(argThat(projectName("child1")));
+    verify(this.dependenciesResolver).resolve(argThat(projectName("child2")));
+    verify(this.dependenciesResolver).resolve(argThat(projectName("child3")));
+
+    assertThat(this.graphBuilder, hasNodesAndEdges(
+        new String[]{
+            "\"groupId:parent:jar:version:compile\"",
+            "\"groupId:child1:jar:version:compile\"",
+            "\"groupId:child2:jar:version:compile\"",
+            "\"groupId:child3:jar:version:compile\""},
+        new String[]{
+            "\"groupId:parent:jar:version:compile\" -> \"groupId:child1:jar:version:compile\"[style=dotted]",
+            "\"groupId:parent:jar:version:compile\" -> \"groupId:child2:jar:version:compile\"[style=dotted]",
+            "\"groupId:parent:jar:version:compile\" -> \"groupId:child3:jar:version:compile\"[style=dotted]"}));
+  }
+
 
   private MavenProject createMavenProject(String artifactId) {
     MavenProject project = new MavenProject();
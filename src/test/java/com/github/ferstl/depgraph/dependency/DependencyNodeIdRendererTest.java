@@ -123,6 +123,22 @@ class DependencyNodeIdRendererTest {
     assertEquals("groupId:artifactId:compile", result);
   }
 
+  @Test
+  void renderAfterMerge() {
+    // arrange
+    DependencyNodeIdRenderer renderer = DependencyNodeIdRenderer.versionlessId().withScope(true);
+    DependencyNode node = new DependencyNode(new DefaultArtifact("groupId", "artifactId", "1.0.0", "test", "type", "", null));
+    String idBeforeMerge = renderer.render(node);
+
+    // act
+    node.merge(createDependencyNode());
+    String idAfterMerge = renderer.render(node);
+
+    // assert
+    assertEquals("groupId:artifactId:test", idBeforeMerge);
+    assertEquals("groupId:artifactId:compile", idAfterMerge);
+  }
+
   private static DependencyNode createDependencyNode() {
     Artifact artifact = new DefaultArtifact(
         "groupId",
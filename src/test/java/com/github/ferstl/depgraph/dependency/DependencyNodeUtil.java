@@ -54,6 +54,13 @@ public final class DependencyNodeUtil {
     return new DependencyNode(createArtifact(groupId, artifactId, version, scope, "jar", "", false));
   }
 
+  public static DependencyNode createTruncatedDependencyNode(String groupId, String artifactId, String version) {
+    DependencyNode dependencyNode = createDependencyNode(groupId, artifactId, version);
+    dependencyNode.markTruncated();
+
+    return dependencyNode;
+  }
+
   public static void addTypes(DependencyNode dependencyNode, String... types) {
     for (String type : types) {
       Artifact artifact = dependencyNode.getArtifact();
@@ -25,14 +25,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import com.github.ferstl.depgraph.ToStringNodeIdRenderer;
 import com.github.ferstl.depgraph.graph.GraphBuilder;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Counter.EDGES_ADDED;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Counter.NODES_FILTERED_BY_GLOBAL_FILTER;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Counter.NODES_FILTERED_BY_TRANSITIVE_FILTER;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Counter.NODES_VISITED;
 import static com.github.ferstl.depgraph.graph.GraphBuilderMatcher.hasNodesAndEdges;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.EnumSet.allOf;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -217,6 +225,102 @@ class GraphBuildingVisitorTest {
   }
 
 
+  /**
+   * .
+   * <pre>
+   * parent
+   *     - child1
+   *         - child3
+   *     - child2
+   *         - child3
+   * </pre>
+   */
+  @Test
+  void filtersAreAppliedOncePerDependency() {
+    // arrange
+    org.eclipse.aether.graph.DependencyNode child3 = createMavenDependencyNode("child3");
+    org.eclipse.aether.graph.DependencyNode child1 = createMavenDependencyNode("child1", child3);
+    org.eclipse.aether.graph.DependencyNode child2 = createMavenDependencyNode("child2", child3);
+    org.eclipse.aether.graph.DependencyNode parent = createMavenDependencyNode("parent", child1, child2);
+    GraphBuildingVisitor visitor = new GraphBuildingVisitor(this.graphBuilder, this.globalFilter, this.transitiveFilter, this.targetFilter, this.includedResolutions);
+
+    // act
+    parent.accept(visitor);
+
+    // assert
+    verify(this.globalFilter, times(4)).include(any());
+    assertThat(this.graphBuilder, hasNodesAndEdges(
+        new String[]{
+            "\"groupId:parent:jar:version:compile\"[label=\"groupId:parent:jar:version:compile\"]",
+            "\"groupId:child1:jar:version:compile\"[label=\"groupId:child1:jar:version:compile\"]",
+            "\"groupId:child2:jar:version:compile\"[label=\"groupId:child2:jar:version:compile\"]",
+            "\"groupId:child3:jar:version:compile\"[label=\"groupId:child3:jar:version:compile\"]"},
+        new String[]{
+            "\"groupId:parent:jar:version:compile\" -> \"groupId:child1:jar:version:compile\"",
+            "\"groupId:parent:jar:version:compile\" -> \"groupId:child2:jar:version:compile\"",
+            "\"groupId:child1:jar:version:compile\" -> \"groupId:child3:jar:version:compile\"",
+            "\"groupId:child2:jar:version:compile\" -> \"groupId:child3:jar:version:compile\""}));
+  }
+
+  @Test
+  void metrics() {
+    // arrange
+    org.eclipse.aether.graph.DependencyNode child3 = createMavenDependencyNode("child3");
+    org.eclipse.aether.graph.DependencyNode child1 = createMavenDependencyNode("child1", child3);
+    org.eclipse.aether.graph.DependencyNode child2 = createMavenDependencyNode("child2", child3);
+    org.eclipse.aether.graph.DependencyNode parent = createMavenDependencyNode("parent", child1, child2);
+    this.transitiveFilter = new ExcludesArtifactFilter(singletonList("groupId:child3"));
+    GraphMetrics metrics = new GraphMetrics();
+    GraphBuildingVisitor visitor = new GraphBuildingVisitor(this.graphBuilder, this.globalFilter, this.transitiveFilter, this.targetFilter, this.includedResolutions, metrics, 0);
+
+    // act
+    parent.accept(visitor);
+
+    // assert
+    assertEquals(5, metrics.get(NODES_VISITED));
+    assertEquals(0, metrics.get(NODES_FILTERED_BY_GLOBAL_FILTER));
+    assertEquals(2, metrics.get(NODES_FILTERED_BY_TRANSITIVE_FILTER));
+    assertEquals(2, metrics.get(EDGES_ADDED));
+  }
+
+  /**
+   * .
+   * <pre>
+   * parent
+   *     - child1 (truncated)
+   *         - child3
+   *     - child2
+   * </pre>
+   */
+  @Test
+  void maxDepth() {
+    org.eclipse.aether.graph.DependencyNode child3 = createMavenDependencyNode("child3");
+    org.eclipse.aether.graph.DependencyNode child1 = createMavenDependencyNode("child1", child3);
+    org.eclipse.aether.graph.DependencyNode child2 = createMavenDependencyNode("child2");
+    org.eclipse.aether.graph.DependencyNode parent = createMavenDependencyNode("parent", child1, child2);
+
+    GraphBuildingVisitor visitor = new GraphBuildingVisitor(this.graphBuilder, this.globalFilter, this.transitiveFilter, this.targetFilter, this.includedResolutions, new GraphMetrics(), 1);
+    assertTrue(visitor.visitEnter(parent));
+    // Don't process the children below the max depth
+    assertFalse(visitor.visitEnter(child1));
+    assertTrue(visitor.visitLeave(child1));
+    assertFalse(visitor.visitEnter(child2));
+    assertTrue(visitor.visitLeave(child2));
+    assertTrue(visitor.visitLeave(parent));
+
+    assertThat(this.graphBuilder, hasNodesAndEdges(
+        new String[]{
+            "\"groupId:parent:jar:version:compile\"[label=\"groupId:parent:jar:version:compile\"]",
+            "\"groupId:child1:jar:version:compile\"[label=\"groupId:child1:jar:version:compile\"]",
+            "\"groupId:child2:jar:version:compile\"[label=\"groupId:child2:jar:version:compile\"]"},
+        new String[]{
+            "\"groupId:parent:jar:version:compile\" -> \"groupId:child1:jar:version:compile\"",
+            "\"groupId:parent:jar:version:compile\" -> \"groupId:child2:jar:version:compile\""}));
+    assertTrue(this.graphBuilder.getEffectiveNode(new DependencyNode(child1)).isTruncated());
+    assertFalse(this.graphBuilder.getEffectiveNode(new DependencyNode(child2)).isTruncated());
+  }
+
+
   private static org.eclipse.aether.graph.DependencyNode createMavenDependencyNode(String artifactId, org.eclipse.aether.graph.DependencyNode... children) {
     return createMavenDependencyNode(artifactId, "compile", children);
   }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ferstl.depgraph.dependency.GraphMetrics.Timer;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Counter.EDGES_ADDED;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Counter.NODES_VISITED;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Phase.FILE_WRITE;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Phase.FORMATTING;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Phase.RESOLUTION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphMetricsTest {
+
+  @Test
+  void countersAndTimers() throws Exception {
+    // arrange
+    GraphMetrics metrics = new GraphMetrics();
+
+    // act
+    metrics.increment(NODES_VISITED);
+    metrics.add(NODES_VISITED, 2);
+    try (Timer timer = metrics.start(RESOLUTION)) {
+      Thread.sleep(5);
+    }
+    metrics.addNanos(FORMATTING, 1_500_000);
+
+    // assert
+    assertEquals(3, metrics.get(NODES_VISITED));
+    assertEquals(0, metrics.get(EDGES_ADDED));
+    assertTrue(metrics.getNanos(RESOLUTION) >= 5_000_000);
+    assertEquals(1_500_000, metrics.getNanos(FORMATTING));
+  }
+
+  @Test
+  void measureOutputStream() throws IOException {
+    // arrange
+    GraphMetrics metrics = new GraphMetrics();
+    ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+    // act
+    try (OutputStream os = metrics.measure(FILE_WRITE, target)) {
+      os.write(new byte[]{1, 2, 3});
+    }
+
+    // assert
+    assertEquals(3, target.size());
+    assertTrue(metrics.getNanos(FILE_WRITE) > 0);
+  }
+
+  @Test
+  void writeJson() throws IOException {
+    // arrange
+    GraphMetrics metrics = new GraphMetrics();
+    metrics.add(NODES_VISITED, 42);
+    metrics.addNanos(FORMATTING, 2_500_000);
+    Path tempDir = Files.createTempDirectory(Paths.get("target"), "test");
+    Path metricsFile = tempDir.resolve("metrics.json");
+
+    // act
+    metrics.writeJson(metricsFile);
+
+    // assert
+    JsonNode json = new ObjectMapper().readTree(metricsFile.toFile());
+    assertEquals(42, json.get("counters").get("nodes-visited").asLong());
+    assertEquals(2.5, json.get("phase-millis").get("formatting").asDouble());
+    assertEquals(0.0, json.get("phase-millis").get("graphviz").asDouble());
+  }
+}
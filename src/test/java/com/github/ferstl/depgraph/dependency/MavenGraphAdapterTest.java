@@ -15,8 +15,11 @@
  */
 package com.github.ferstl.depgraph.dependency;
 
+import java.nio.file.Path;
 import java.util.EnumSet;
+import java.util.List;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.project.DependencyResolutionException;
 import org.apache.maven.project.DependencyResolutionRequest;
@@ -24,16 +27,29 @@ import org.apache.maven.project.DependencyResolutionResult;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.project.ProjectDependenciesResolver;
+import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.graph.DefaultDependencyNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import com.github.ferstl.depgraph.ToStringNodeIdRenderer;
 import com.github.ferstl.depgraph.graph.GraphBuilder;
 import static com.github.ferstl.depgraph.dependency.NodeResolution.INCLUDED;
+import static org.eclipse.aether.util.graph.transformer.ConflictResolver.CONFIG_PROP_VERBOSE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -46,6 +62,8 @@ class MavenGraphAdapterTest {
   private MavenProject mavenProject;
   private GraphBuilder<DependencyNode> graphBuilder;
   private ArtifactFilter globalFilter;
+  private ArtifactFilter transitiveIncludeExcludeFilter;
+  private ArtifactFilter targetFilter;
   private MavenGraphAdapter graphAdapter;
 
 
@@ -61,8 +79,8 @@ class MavenGraphAdapterTest {
     this.mavenProject.setProjectBuildingRequest(projectBuildingRequest);
 
     this.globalFilter = mock(ArtifactFilter.class);
-    ArtifactFilter transitiveIncludeExcludeFilter = mock(ArtifactFilter.class);
-    ArtifactFilter targetFilter = mock(ArtifactFilter.class);
+    this.transitiveIncludeExcludeFilter = mock(ArtifactFilter.class);
+    this.targetFilter = mock(ArtifactFilter.class);
     this.graphBuilder = GraphBuilder.create(ToStringNodeIdRenderer.INSTANCE);
 
     this.dependenciesResolver = mock(ProjectDependenciesResolver.class);
@@ -70,7 +88,7 @@ class MavenGraphAdapterTest {
     when(dependencyResolutionResult.getDependencyGraph()).thenReturn(mock(org.eclipse.aether.graph.DependencyNode.class));
     when(this.dependenciesResolver.resolve(any(DependencyResolutionRequest.class))).thenReturn(dependencyResolutionResult);
 
-    this.graphAdapter = new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
+    this.graphAdapter = new MavenGraphAdapter(this.dependenciesResolver, this.transitiveIncludeExcludeFilter, this.targetFilter, EnumSet.of(INCLUDED));
   }
 
   @Test
@@ -80,6 +98,87 @@ class MavenGraphAdapterTest {
     verify(this.dependenciesResolver).resolve(any(DependencyResolutionRequest.class));
   }
 
+  @Test
+  void dependencyGraphFromCache(@TempDir Path cacheDirectory) throws Exception {
+    // arrange
+    ResolutionCache resolutionCache = new ResolutionCache(cacheDirectory);
+    this.mavenProject.setGroupId("groupId");
+    this.mavenProject.setArtifactId("artifactId");
+    this.mavenProject.setVersion("1.0.0");
+    MavenGraphAdapter adapter = new MavenGraphAdapter(this.dependenciesResolver, this.transitiveIncludeExcludeFilter, this.targetFilter, EnumSet.of(INCLUDED), new MavenGraphAdapter.Options().resolutionCache(resolutionCache));
+    DependencyResolutionResult dependencyResolutionResult = mock(DependencyResolutionResult.class);
+    when(dependencyResolutionResult.getDependencyGraph()).thenReturn(new DefaultDependencyNode(new DefaultArtifact("groupId:artifactId:1.0.0")));
+    when(this.dependenciesResolver.resolve(any(DependencyResolutionRequest.class))).thenReturn(dependencyResolutionResult);
+
+    // act
+    adapter.resolveDependencyGraph(this.mavenProject);
+    org.eclipse.aether.graph.DependencyNode cachedRoot = adapter.resolveDependencyGraph(this.mavenProject);
+
+    // assert
+    verify(this.dependenciesResolver, times(1)).resolve(any(DependencyResolutionRequest.class));
+    assertEquals("groupId:artifactId:jar:1.0.0", cachedRoot.getArtifact().toString());
+  }
+
+  @Test
+  void sharedRepositorySession() throws Exception {
+    // arrange
+    MavenProject otherProject = new MavenProject();
+    otherProject.setArtifact(mock(Artifact.class));
+    //noinspection deprecation
+    otherProject.setProjectBuildingRequest(this.mavenProject.getProjectBuildingRequest());
+    ArgumentCaptor<DependencyResolutionRequest> requestCaptor = ArgumentCaptor.forClass(DependencyResolutionRequest.class);
+
+    // act
+    this.graphAdapter.resolveDependencyGraph(this.mavenProject);
+    this.graphAdapter.resolveDependencyGraph(otherProject);
+
+    // assert
+    verify(this.dependenciesResolver, times(2)).resolve(requestCaptor.capture());
+    List<DependencyResolutionRequest> requests = requestCaptor.getAllValues();
+    RepositorySystemSession repositorySession = requests.get(0).getRepositorySession();
+    assertSame(repositorySession, requests.get(1).getRepositorySession());
+    assertEquals("true", repositorySession.getConfigProperties().get(CONFIG_PROP_VERBOSE));
+    assertNotNull(repositorySession.getCache());
+  }
+
+  @Test
+  void collectDependencyGraph() throws Exception {
+    // arrange
+    this.mavenProject.setArtifact(new org.apache.maven.artifact.DefaultArtifact("groupId", "artifactId", "1.0.0", null, "jar", null, new DefaultArtifactHandler("jar")));
+    RepositorySystem repositorySystem = mock(RepositorySystem.class);
+    org.eclipse.aether.graph.DependencyNode root = new DefaultDependencyNode(new DefaultArtifact("groupId:artifactId:1.0.0"));
+    when(repositorySystem.collectDependencies(any(RepositorySystemSession.class), any(CollectRequest.class))).thenReturn(new CollectResult(new CollectRequest()).setRoot(root));
+    MavenGraphAdapter adapter = new MavenGraphAdapter(this.dependenciesResolver, this.transitiveIncludeExcludeFilter, this.targetFilter, EnumSet.of(INCLUDED), new MavenGraphAdapter.Options().collectWith(repositorySystem));
+    ArgumentCaptor<CollectRequest> requestCaptor = ArgumentCaptor.forClass(CollectRequest.class);
+
+    // act
+    org.eclipse.aether.graph.DependencyNode result = adapter.resolveDependencyGraph(this.mavenProject);
+
+    // assert
+    assertSame(root, result);
+    verify(repositorySystem).collectDependencies(any(RepositorySystemSession.class), requestCaptor.capture());
+    verify(this.dependenciesResolver, never()).resolve(any(DependencyResolutionRequest.class));
+    assertEquals("groupId:artifactId:jar:1.0.0", requestCaptor.getValue().getRootArtifact().toString());
+  }
+
+  @Test
+  void collectDependencyGraphWithException() throws Exception {
+    // arrange
+    this.mavenProject.setArtifact(new org.apache.maven.artifact.DefaultArtifact("groupId", "artifactId", "1.0.0", null, "jar", null, new DefaultArtifactHandler("jar")));
+    RepositorySystem repositorySystem = mock(RepositorySystem.class);
+    DependencyCollectionException exception = new DependencyCollectionException(new CollectResult(new CollectRequest()), "boom");
+    when(repositorySystem.collectDependencies(any(RepositorySystemSession.class), any(CollectRequest.class))).thenThrow(exception);
+    MavenGraphAdapter adapter = new MavenGraphAdapter(this.dependenciesResolver, this.transitiveIncludeExcludeFilter, this.targetFilter, EnumSet.of(INCLUDED), new MavenGraphAdapter.Options().collectWith(repositorySystem));
+
+    // act/assert
+    try {
+      adapter.resolveDependencyGraph(this.mavenProject);
+      fail("Expect exception");
+    } catch (DependencyGraphException e) {
+      assertEquals(exception, e.getCause());
+    }
+  }
+
   @Test
   void dependencyGraphWithException() throws Exception {
     DependencyResolutionException exception = new DependencyResolutionException(mock(DependencyResolutionResult.class), "boom", new Exception());
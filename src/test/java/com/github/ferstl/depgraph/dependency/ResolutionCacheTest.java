@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static com.github.ferstl.depgraph.dependency.NodeResolution.INCLUDED;
+import static com.github.ferstl.depgraph.dependency.NodeResolution.OMITTED_FOR_CONFLICT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for {@link ResolutionCache}.
+ */
+class ResolutionCacheTest {
+
+  @TempDir
+  Path cacheDirectory;
+
+  private ResolutionCache cache;
+
+  @BeforeEach
+  void before() {
+    this.cache = new ResolutionCache(this.cacheDirectory);
+  }
+
+  @Test
+  void putAndGet() {
+    // arrange
+    DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("groupId:project:1.0.0-SNAPSHOT"));
+    DefaultDependencyNode child = node("groupId:child:jar:sources:1.0.0", "compile", true);
+    DefaultDependencyNode loser = node("groupId:loser:0.9.0", "test", false);
+    loser.setData(ConflictResolver.NODE_DATA_WINNER, new DefaultDependencyNode(new DefaultArtifact("groupId:loser:1.0.0")));
+    root.setChildren(Arrays.asList(child, loser));
+
+    // act
+    boolean stored = this.cache.put("key", root);
+    org.eclipse.aether.graph.DependencyNode cachedRoot = this.cache.get("key");
+
+    // assert
+    assertTrue(stored);
+    assertNull(cachedRoot.getDependency());
+    assertEquals("groupId:project:jar:1.0.0-SNAPSHOT", cachedRoot.getArtifact().toString());
+    assertEquals(2, cachedRoot.getChildren().size());
+
+    DependencyNode cachedChild = new DependencyNode(cachedRoot.getChildren().get(0));
+    assertEquals("groupId:child:jar:sources:1.0.0:compile", cachedChild.getArtifact().toString());
+    assertTrue(cachedChild.getArtifact().isOptional());
+    assertEquals(INCLUDED, cachedChild.getResolution());
+
+    DependencyNode cachedLoser = new DependencyNode(cachedRoot.getChildren().get(1));
+    assertEquals("groupId:loser:jar:0.9.0:test", cachedLoser.getArtifact().toString());
+    assertEquals(OMITTED_FOR_CONFLICT, cachedLoser.getResolution());
+    assertEquals("1.0.0", cachedLoser.getEffectiveVersion());
+  }
+
+  @Test
+  void getMissingEntry() {
+    assertNull(this.cache.get("unknown"));
+  }
+
+  @Test
+  void getCorruptEntry() throws Exception {
+    // arrange
+    Files.write(this.cacheDirectory.resolve("corrupt.json"), "{\"nodes\": [".getBytes(StandardCharsets.UTF_8));
+
+    // act/assert
+    assertNull(this.cache.get("corrupt"));
+  }
+
+  @Test
+  void putSharedNode() throws Exception {
+    // arrange
+    DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("groupId:project:1.0.0"));
+    DefaultDependencyNode child1 = node("groupId:child1:1.0.0", "compile", false);
+    DefaultDependencyNode child2 = node("groupId:child2:1.0.0", "compile", false);
+    DefaultDependencyNode shared = node("groupId:shared:1.0.0", "compile", false);
+    child1.setChildren(Collections.singletonList(shared));
+    child2.setChildren(Collections.singletonList(shared));
+    root.setChildren(Arrays.asList(child1, child2));
+
+    // act
+    boolean stored = this.cache.put("key", root);
+    org.eclipse.aether.graph.DependencyNode cachedRoot = this.cache.get("key");
+
+    // assert
+    assertTrue(stored);
+    String json = new String(Files.readAllBytes(this.cacheDirectory.resolve("key.json")), StandardCharsets.UTF_8);
+    assertEquals(json.indexOf("\"shared\""), json.lastIndexOf("\"shared\""));
+    org.eclipse.aether.graph.DependencyNode cachedShared = cachedRoot.getChildren().get(0).getChildren().get(0);
+    assertEquals("groupId:shared:jar:1.0.0", cachedShared.getArtifact().toString());
+    assertSame(cachedShared, cachedRoot.getChildren().get(1).getChildren().get(0));
+  }
+
+  @Test
+  void putCycle() {
+    // arrange
+    DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("groupId:project:1.0.0"));
+    DefaultDependencyNode child = node("groupId:child:1.0.0", "compile", false);
+    root.setChildren(Collections.singletonList(child));
+    child.setChildren(Collections.singletonList(root));
+
+    // act
+    boolean stored = this.cache.put("key", root);
+
+    // assert
+    assertFalse(stored);
+  }
+
+  @Test
+  void putSnapshotDependency() {
+    // arrange
+    DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("groupId:project:1.0.0"));
+    root.setChildren(Collections.singletonList(node("groupId:child:1.0.0-SNAPSHOT", "compile", false)));
+
+    // act
+    boolean stored = this.cache.put("key", root);
+
+    // assert
+    assertFalse(stored);
+    assertNull(this.cache.get("key"));
+  }
+
+  @Test
+  void createKey() {
+    // arrange
+    MavenProject project = createProject();
+    MavenProject sameProject = createProject();
+    MavenProject changedProject = createProject();
+    changedProject.getDependencies().get(0).setVersion("2.0.0");
+
+    // act
+    String key = this.cache.createKey(project, "config");
+
+    // assert
+    assertEquals(key, this.cache.createKey(sameProject, "config"));
+    assertNotEquals(key, this.cache.createKey(changedProject, "config"));
+    assertNotEquals(key, this.cache.createKey(project, "otherConfig"));
+  }
+
+  @Test
+  void createKeyWithReactorDependency() {
+    // arrange
+    MavenProject project = createProject();
+    MavenProject reactorDependency = createReactorDependency("1.0.0");
+    MavenProject changedReactorDependency = createReactorDependency("2.0.0");
+
+    // act
+    String key = new ResolutionCache(this.cacheDirectory, Arrays.asList(project, reactorDependency)).createKey(project, "config");
+
+    // assert
+    assertNotEquals(key, this.cache.createKey(project, "config"));
+    assertEquals(key, new ResolutionCache(this.cacheDirectory, Arrays.asList(project, createReactorDependency("1.0.0"))).createKey(project, "config"));
+    // The reactor project changed its dependencies without a new version
+    assertNotEquals(key, new ResolutionCache(this.cacheDirectory, Arrays.asList(project, changedReactorDependency)).createKey(project, "config"));
+  }
+
+  private static DefaultDependencyNode node(String coordinates, String scope, boolean optional) {
+    return new DefaultDependencyNode(new org.eclipse.aether.graph.Dependency(new DefaultArtifact(coordinates), scope, optional));
+  }
+
+  /**
+   * Creates the reactor project of the dependency of {@link #createProject()}.
+   */
+  private static MavenProject createReactorDependency(String transitiveVersion) {
+    MavenProject project = new MavenProject();
+    project.setGroupId("groupId");
+    project.setArtifactId("dependency");
+    project.setVersion("1.0.0");
+
+    Dependency dependency = new Dependency();
+    dependency.setGroupId("groupId");
+    dependency.setArtifactId("transitive");
+    dependency.setVersion(transitiveVersion);
+    project.getDependencies().add(dependency);
+
+    return project;
+  }
+
+  private static MavenProject createProject() {
+    MavenProject project = new MavenProject();
+    project.setGroupId("groupId");
+    project.setArtifactId("project");
+    project.setVersion("1.0.0");
+
+    Dependency dependency = new Dependency();
+    dependency.setGroupId("groupId");
+    dependency.setArtifactId("dependency");
+    dependency.setVersion("1.0.0");
+    project.getDependencies().add(dependency);
+
+    return project;
+  }
+}
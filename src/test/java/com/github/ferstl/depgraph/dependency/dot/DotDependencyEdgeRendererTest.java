@@ -18,6 +18,7 @@ package com.github.ferstl.depgraph.dependency.dot;
 import org.junit.jupiter.api.BeforeEach;
 import com.github.ferstl.depgraph.dependency.AbstractDependencyEdgeRendererTest;
 import com.github.ferstl.depgraph.dependency.DependencyNode;
+import com.github.ferstl.depgraph.dependency.GraphMetrics;
 import com.github.ferstl.depgraph.dependency.dot.style.StyleConfiguration;
 import com.github.ferstl.depgraph.graph.EdgeRenderer;
 
@@ -32,7 +33,7 @@ public class DotDependencyEdgeRendererTest extends AbstractDependencyEdgeRendere
 
   @Override
   protected EdgeRenderer<DependencyNode> createEdgeRenderer(boolean renderVersion) {
-    return new DotDependencyEdgeRenderer(renderVersion, this.styleConfiguration);
+    return new DotDependencyEdgeRenderer(renderVersion, this.styleConfiguration, new GraphMetrics());
   }
 
   @Override
@@ -18,6 +18,7 @@ package com.github.ferstl.depgraph.dependency.dot;
 import org.junit.jupiter.api.BeforeEach;
 import com.github.ferstl.depgraph.dependency.AbstractDependencyNodeNameRendererTest;
 import com.github.ferstl.depgraph.dependency.DependencyNode;
+import com.github.ferstl.depgraph.dependency.GraphMetrics;
 import com.github.ferstl.depgraph.dependency.dot.style.StyleConfiguration;
 import com.github.ferstl.depgraph.graph.NodeRenderer;
 
@@ -32,7 +33,7 @@ public class DotDependencyNodeNameRendererTest extends AbstractDependencyNodeNam
 
   @Override
   protected NodeRenderer<DependencyNode> createNodeNameRenderer(boolean showGroupId, boolean showArtifactId, boolean showTypes, boolean showClassifiers, boolean showVersion, boolean showOptional, boolean showScope) {
-    return new DotDependencyNodeNameRenderer(showGroupId, showArtifactId, showTypes, showClassifiers, showVersion, showOptional, showScope, this.styleConfiguration);
+    return new DotDependencyNodeNameRenderer(showGroupId, showArtifactId, showTypes, showClassifiers, showVersion, showOptional, showScope, this.styleConfiguration, new GraphMetrics());
   }
 
   @Override
@@ -130,4 +131,9 @@ public class DotDependencyNodeNameRendererTest extends AbstractDependencyNodeNam
     return "[label=<groupId<br/>artifactId<br/>version>]";
   }
 
+  @Override
+  protected String renderTruncatedResult() {
+    return "[label=<artifactId>,peripheries=\"2\"]";
+  }
+
 }
@@ -16,6 +16,7 @@
 package com.github.ferstl.depgraph.dependency.dot;
 
 import com.github.ferstl.depgraph.dependency.AbstractGraphStyleConfigurerTest;
+import com.github.ferstl.depgraph.dependency.GraphMetrics;
 import com.github.ferstl.depgraph.dependency.GraphStyleConfigurer;
 import com.github.ferstl.depgraph.dependency.dot.style.StyleConfiguration;
 
@@ -23,7 +24,7 @@ public class DotGraphStyleConfigurerTest extends AbstractGraphStyleConfigurerTes
 
   @Override
   protected GraphStyleConfigurer createGraphStyleConfigurer() {
-    return new DotGraphStyleConfigurer(new StyleConfiguration());
+    return new DotGraphStyleConfigurer(new StyleConfiguration(), new GraphMetrics());
   }
 
   @Override
@@ -21,13 +21,19 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import com.github.ferstl.depgraph.dependency.GraphMetrics;
 import com.github.ferstl.depgraph.dependency.NodeResolution;
 import com.github.ferstl.depgraph.dependency.dot.style.resource.ClasspathStyleResource;
 import com.github.ferstl.depgraph.dependency.dot.style.resource.FileSystemStyleResource;
 import com.github.ferstl.depgraph.graph.dot.DotAttributeBuilder;
+import static com.github.ferstl.depgraph.dependency.GraphMetrics.Counter.STYLE_RULE_EVALUATIONS;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class StyleConfigurationTest {
 
@@ -51,10 +57,12 @@ class StyleConfigurationTest {
   private ClasspathStyleResource testStyle;
   private StyleConfiguration emptyConfig;
   private ClasspathStyleResource testOverride;
+  private GraphMetrics metrics;
 
   @BeforeEach
   void before() {
     this.emptyConfig = new StyleConfiguration();
+    this.metrics = new GraphMetrics();
     this.testStyle = new ClasspathStyleResource("test-style.json", getClass().getClassLoader());
     this.testOverride = new ClasspathStyleResource("test-override-style.json", getClass().getClassLoader());
   }
@@ -65,16 +73,16 @@ class StyleConfigurationTest {
 
     assertEquals("[shape=\"polygon\",color=\"black\",fontname=\"Courier\",fontsize=\"14\",fontcolor=\"green\",sides=\"8\"]", config.defaultNodeAttributes().toString());
     assertEquals("[style=\"dotted\",color=\"blue\"]", config.defaultEdgeAttributes().toString());
-    assertEquals("", config.edgeAttributes(NodeResolution.INCLUDED, NodeResolution.INCLUDED, SCOPE_COMPILE, null, null).toString());
-    assertEquals("[style=\"dotted\",color=\"gray\"]", config.edgeAttributes(NodeResolution.INCLUDED, NodeResolution.INCLUDED, SCOPE_TEST, null, null).toString());
-    assertEquals("[style=\"dashed\"]", config.edgeAttributes(NodeResolution.INCLUDED, NodeResolution.OMITTED_FOR_DUPLICATE, SCOPE_COMPILE, null, null).toString());
-    assertEquals("[style=\"dotted\"]", config.edgeAttributes(NodeResolution.PARENT, NodeResolution.INCLUDED, SCOPE_COMPILE, null, null).toString());
-
-    assertEquals("[label=<groupId<br/>artifactId<br/>1.0.0<br/>jar<br/>compile>]", config.nodeAttributes(COMPILE_STYLE_KEY, GROUP_ID, ARTIFACT_ID, VERSION, false, TYPE, CLASSIFIER_DEFAULT, SCOPE_COMPILE).toString());
-    assertEquals("[label=<<font point-size=\"9\">&lt;optional&gt;</font><br/>groupId<br/>artifactId<br/>1.0.0<br/>jar<br/>compile>]", config.nodeAttributes(COMPILE_STYLE_KEY, GROUP_ID, ARTIFACT_ID, VERSION, true, TYPE, CLASSIFIER_DEFAULT, SCOPE_COMPILE).toString());
-    assertEquals("[shape=\"box\",style=\"filled\",fillcolor=\"orange\",label=<groupId<br/>artifactId<br/>1.0.0<br/>jar<br/>linux<br/>test>]", config.nodeAttributes(TEST_STYLE_KEY, GROUP_ID, ARTIFACT_ID, VERSION, false, TYPE, CLASSIFIER_LINUX, SCOPE_TEST).toString());
-    assertEquals("[shape=\"polygon\",style=\"filled\",fillcolor=\"green\",label=<groupId<br/>artifactId<br/>1.0.0<br/>jar<br/>classifier<br/>test>]", config.nodeAttributes(TEST_STYLE_KEY_CLASSIFIER, GROUP_ID, ARTIFACT_ID, VERSION, false, TYPE, CLASSIFIER, SCOPE_TEST).toString());
-    assertEquals("[shape=\"polygon\",style=\"filled\",fillcolor=\"white\",label=<&lt;optional&gt;<br/>groupId<br/>artifactId<br/>1.0.0<br/>jar<br/>compile>]", config.nodeAttributes(OPTIOINAL_STYLE_KEY, GROUP_ID, ARTIFACT_ID, VERSION, true, TYPE, CLASSIFIER_DEFAULT, SCOPE_COMPILE).toString());
+    assertEquals("", config.edgeAttributes(NodeResolution.INCLUDED, NodeResolution.INCLUDED, SCOPE_COMPILE, null, null, this.metrics).toString());
+    assertEquals("[style=\"dotted\",color=\"gray\"]", config.edgeAttributes(NodeResolution.INCLUDED, NodeResolution.INCLUDED, SCOPE_TEST, null, null, this.metrics).toString());
+    assertEquals("[style=\"dashed\"]", config.edgeAttributes(NodeResolution.INCLUDED, NodeResolution.OMITTED_FOR_DUPLICATE, SCOPE_COMPILE, null, null, this.metrics).toString());
+    assertEquals("[style=\"dotted\"]", config.edgeAttributes(NodeResolution.PARENT, NodeResolution.INCLUDED, SCOPE_COMPILE, null, null, this.metrics).toString());
+
+    assertEquals("[label=<groupId<br/>artifactId<br/>1.0.0<br/>jar<br/>compile>]", config.nodeAttributes(COMPILE_STYLE_KEY, GROUP_ID, ARTIFACT_ID, VERSION, false, TYPE, CLASSIFIER_DEFAULT, SCOPE_COMPILE, this.metrics).toString());
+    assertEquals("[label=<<font point-size=\"9\">&lt;optional&gt;</font><br/>groupId<br/>artifactId<br/>1.0.0<br/>jar<br/>compile>]", config.nodeAttributes(COMPILE_STYLE_KEY, GROUP_ID, ARTIFACT_ID, VERSION, true, TYPE, CLASSIFIER_DEFAULT, SCOPE_COMPILE, this.metrics).toString());
+    assertEquals("[shape=\"box\",style=\"filled\",fillcolor=\"orange\",label=<groupId<br/>artifactId<br/>1.0.0<br/>jar<br/>linux<br/>test>]", config.nodeAttributes(TEST_STYLE_KEY, GROUP_ID, ARTIFACT_ID, VERSION, false, TYPE, CLASSIFIER_LINUX, SCOPE_TEST, this.metrics).toString());
+    assertEquals("[shape=\"polygon\",style=\"filled\",fillcolor=\"green\",label=<groupId<br/>artifactId<br/>1.0.0<br/>jar<br/>classifier<br/>test>]", config.nodeAttributes(TEST_STYLE_KEY_CLASSIFIER, GROUP_ID, ARTIFACT_ID, VERSION, false, TYPE, CLASSIFIER, SCOPE_TEST, this.metrics).toString());
+    assertEquals("[shape=\"polygon\",style=\"filled\",fillcolor=\"white\",label=<&lt;optional&gt;<br/>groupId<br/>artifactId<br/>1.0.0<br/>jar<br/>compile>]", config.nodeAttributes(OPTIOINAL_STYLE_KEY, GROUP_ID, ARTIFACT_ID, VERSION, true, TYPE, CLASSIFIER_DEFAULT, SCOPE_COMPILE, this.metrics).toString());
   }
 
   @Test
@@ -84,12 +92,33 @@ class StyleConfigurationTest {
     assertEquals("[rankdir=\"LR\"]", config.graphAttributes().toString());
     assertEquals("[shape=\"ellipse\",color=\"black\",fontname=\"Courier\",fontsize=\"14\",fontcolor=\"green\"]", config.defaultNodeAttributes().toString());
     assertEquals("[style=\"dashed\",color=\"blue\"]", config.defaultEdgeAttributes().toString());
-    assertEquals("[style=\"dotted\",color=\"blue\"]", config.edgeAttributes(NodeResolution.INCLUDED, NodeResolution.INCLUDED, SCOPE_TEST, null, null).toString());
-    assertEquals("[style=\"dashed\",color=\"green\"]", config.edgeAttributes(NodeResolution.INCLUDED, NodeResolution.OMITTED_FOR_DUPLICATE, SCOPE_TEST, null, null).toString());
-    assertEquals("[fontname=\"Courier\"]", config.edgeAttributes(NodeResolution.INCLUDED, NodeResolution.OMITTED_FOR_CONFLICT, StyleConfigurationTest.SCOPE_PROVIDED, null, null).toString());
+    assertEquals("[style=\"dotted\",color=\"blue\"]", config.edgeAttributes(NodeResolution.INCLUDED, NodeResolution.INCLUDED, SCOPE_TEST, null, null, this.metrics).toString());
+    assertEquals("[style=\"dashed\",color=\"green\"]", config.edgeAttributes(NodeResolution.INCLUDED, NodeResolution.OMITTED_FOR_DUPLICATE, SCOPE_TEST, null, null, this.metrics).toString());
+    assertEquals("[fontname=\"Courier\"]", config.edgeAttributes(NodeResolution.INCLUDED, NodeResolution.OMITTED_FOR_CONFLICT, StyleConfigurationTest.SCOPE_PROVIDED, null, null, this.metrics).toString());
 
-    assertEquals("[shape=\"box\",style=\"filled\",color=\"red\",fillcolor=\"orange\",label=<groupId<br/>artifactId<br/>1.0.0<br/>jar<br/>test>]", config.nodeAttributes(TEST_STYLE_KEY, GROUP_ID, ARTIFACT_ID, VERSION, false, TYPE, CLASSIFIER_DEFAULT, SCOPE_TEST).toString());
-    assertEquals("[shape=\"box\",color=\"blue\",label=<groupId<br/>artifactId<br/>1.0.0<br/>jar<br/>linux<br/>provided>]", config.nodeAttributes(PROVIDED_STYLE_KEY, GROUP_ID, ARTIFACT_ID, VERSION, false, TYPE, CLASSIFIER_LINUX, SCOPE_PROVIDED).toString());
+    assertEquals("[shape=\"box\",style=\"filled\",color=\"red\",fillcolor=\"orange\",label=<groupId<br/>artifactId<br/>1.0.0<br/>jar<br/>test>]", config.nodeAttributes(TEST_STYLE_KEY, GROUP_ID, ARTIFACT_ID, VERSION, false, TYPE, CLASSIFIER_DEFAULT, SCOPE_TEST, this.metrics).toString());
+    assertEquals("[shape=\"box\",color=\"blue\",label=<groupId<br/>artifactId<br/>1.0.0<br/>jar<br/>linux<br/>provided>]", config.nodeAttributes(PROVIDED_STYLE_KEY, GROUP_ID, ARTIFACT_ID, VERSION, false, TYPE, CLASSIFIER_LINUX, SCOPE_PROVIDED, this.metrics).toString());
+  }
+
+  @Test
+  void loadIsCachedByContent() throws IOException {
+    // arrange
+    Path tempDir = Files.createTempDirectory(Paths.get("target"), "test");
+    Path configFile = tempDir.resolve("config.json");
+    Files.write(configFile, "{\"default-edge\": {\"color\": \"red\"}}".getBytes(UTF_8), CREATE_NEW);
+    FileSystemStyleResource resource = new FileSystemStyleResource(configFile);
+
+    // act
+    StyleConfiguration first = StyleConfiguration.load(this.testStyle, resource);
+    StyleConfiguration second = StyleConfiguration.load(this.testStyle, resource);
+    Files.write(configFile, "{\"default-edge\": {\"color\": \"green\"}}".getBytes(UTF_8), TRUNCATE_EXISTING);
+    StyleConfiguration changed = StyleConfiguration.load(this.testStyle, resource);
+
+    // assert
+    assertSame(first, second);
+    assertNotSame(first, changed);
+    assertEquals("[style=\"dotted\",color=\"red\"]", first.defaultEdgeAttributes().toString());
+    assertEquals("[style=\"dotted\",color=\"green\"]", changed.defaultEdgeAttributes().toString());
   }
 
   @Test
@@ -108,7 +137,7 @@ class StyleConfigurationTest {
 
   @Test
   void nodeAttributesForEmptyConfiguration() {
-    DotAttributeBuilder attributes = this.emptyConfig.nodeAttributes(COMPILE_STYLE_KEY, GROUP_ID, ARTIFACT_ID, VERSION, false, TYPE, CLASSIFIER_LINUX, SCOPE_COMPILE);
+    DotAttributeBuilder attributes = this.emptyConfig.nodeAttributes(COMPILE_STYLE_KEY, GROUP_ID, ARTIFACT_ID, VERSION, false, TYPE, CLASSIFIER_LINUX, SCOPE_COMPILE, this.metrics);
 
     assertEquals("[label=<groupId<br/>artifactId<br/>1.0.0<br/>jar<br/>linux<br/>compile>]", attributes.toString());
   }
@@ -116,11 +145,50 @@ class StyleConfigurationTest {
 
   @Test
   void edgeAttributesForEmptyConfiguration() {
-    DotAttributeBuilder attributes = this.emptyConfig.edgeAttributes(NodeResolution.INCLUDED, NodeResolution.INCLUDED, SCOPE_COMPILE, null, null);
+    DotAttributeBuilder attributes = this.emptyConfig.edgeAttributes(NodeResolution.INCLUDED, NodeResolution.INCLUDED, SCOPE_COMPILE, null, null, this.metrics);
 
     assertEquals("", attributes.toString());
   }
 
+  @Test
+  void repeatedLookupsWithSameStyleKey() {
+    // arrange
+    StyleConfiguration config = StyleConfiguration.load(this.testStyle);
+    String expectedJson = config.toJson();
+
+    // act
+    DotAttributeBuilder first = config.nodeAttributes(TEST_STYLE_KEY, GROUP_ID, ARTIFACT_ID, VERSION, false, TYPE, CLASSIFIER_LINUX, SCOPE_TEST, this.metrics);
+    first.label("modified");
+    DotAttributeBuilder second = config.nodeAttributes(TEST_STYLE_KEY, null, ARTIFACT_ID, null, false, null, null, null, this.metrics);
+
+    // assert
+    assertEquals("[shape=\"box\",style=\"filled\",fillcolor=\"orange\",label=<artifactId>]", second.toString());
+    assertEquals(expectedJson, config.toJson());
+  }
+
+  @Test
+  void ruleEvaluationsCountedForEachLookup() {
+    // arrange
+    StyleConfiguration config = StyleConfiguration.load(this.testStyle);
+    StyleKey firstKey = StyleKey.create(GROUP_ID, "first", SCOPE_TEST, TYPE, VERSION, CLASSIFIER_DEFAULT, null);
+    StyleKey secondKey = StyleKey.create(GROUP_ID, "second", SCOPE_TEST, TYPE, VERSION, CLASSIFIER_DEFAULT, null);
+    GraphMetrics otherMetrics = new GraphMetrics();
+
+    // act
+    config.nodeAttributes(firstKey, GROUP_ID, "first", VERSION, false, TYPE, CLASSIFIER_DEFAULT, SCOPE_TEST, this.metrics);
+    long evaluations = this.metrics.get(STYLE_RULE_EVALUATIONS);
+    // The style of the first key is cached now
+    config.nodeAttributes(firstKey, GROUP_ID, "first", VERSION, false, TYPE, CLASSIFIER_DEFAULT, SCOPE_TEST, otherMetrics);
+    long cachedEvaluations = otherMetrics.get(STYLE_RULE_EVALUATIONS);
+    config.nodeAttributes(secondKey, GROUP_ID, "second", VERSION, false, TYPE, CLASSIFIER_DEFAULT, SCOPE_TEST, otherMetrics);
+
+    // assert
+    assertTrue(evaluations > 0);
+    assertEquals(evaluations, cachedEvaluations);
+    assertTrue(otherMetrics.get(STYLE_RULE_EVALUATIONS) > cachedEvaluations);
+    assertEquals(evaluations, this.metrics.get(STYLE_RULE_EVALUATIONS));
+  }
+
   @Test
   void toJson() throws IOException {
     StyleConfiguration config = StyleConfiguration.load(this.testStyle, this.testOverride);
@@ -131,6 +199,6 @@ class StyleConfigurationTest {
     Files.write(configFile, json.getBytes(UTF_8), CREATE_NEW);
 
     StyleConfiguration reloadedConfig = StyleConfiguration.load(new FileSystemStyleResource(configFile));
-    assertEquals("[fontname=\"Courier\"]", reloadedConfig.edgeAttributes(NodeResolution.INCLUDED, NodeResolution.OMITTED_FOR_CONFLICT, SCOPE_PROVIDED, null, null).toString());
+    assertEquals("[fontname=\"Courier\"]", reloadedConfig.edgeAttributes(NodeResolution.INCLUDED, NodeResolution.OMITTED_FOR_CONFLICT, SCOPE_PROVIDED, null, null, this.metrics).toString());
   }
 }
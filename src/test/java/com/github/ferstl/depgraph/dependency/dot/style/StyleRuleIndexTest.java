@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency.dot.style;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StyleRuleIndexTest {
+
+  @Test
+  void findFirstMatchPreservesRuleOrder() {
+    // arrange
+    Map<StyleKey, String> rules = new LinkedHashMap<>();
+    rules.put(StyleKey.fromString(",,test"), "test scope");
+    rules.put(StyleKey.fromString("com.example"), "exact group");
+    rules.put(StyleKey.fromString("com.*"), "wildcard group");
+    rules.put(StyleKey.fromString("org.example"), "other group");
+    StyleRuleIndex<String> index = new StyleRuleIndex<>(rules);
+
+    // act
+    StyleRuleIndex.Match<String> testScope = index.findFirstMatch(StyleKey.create("com.example", "a", "test", "jar", "1.0", "", false));
+    StyleRuleIndex.Match<String> exactGroup = index.findFirstMatch(StyleKey.create("com.example", "a", "compile", "jar", "1.0", "", false));
+    StyleRuleIndex.Match<String> wildcardGroup = index.findFirstMatch(StyleKey.create("com.other", "a", "compile", "jar", "1.0", "", false));
+    StyleRuleIndex.Match<String> otherGroup = index.findFirstMatch(StyleKey.create("org.example", "a", "compile", "jar", "1.0", "", false));
+
+    // assert
+    assertEquals("test scope", testScope.getStyle());
+    assertEquals("exact group", exactGroup.getStyle());
+    assertEquals("wildcard group", wildcardGroup.getStyle());
+    assertEquals("other group", otherGroup.getStyle());
+    assertEquals(8, testScope.getEvaluations() + exactGroup.getEvaluations() + wildcardGroup.getEvaluations() + otherGroup.getEvaluations());
+  }
+
+  @Test
+  void findFirstMatchWithGenericRuleBeforeLiteralRule() {
+    // arrange
+    Map<StyleKey, String> rules = new LinkedHashMap<>();
+    rules.put(StyleKey.fromString("*example"), "wildcard group");
+    rules.put(StyleKey.fromString("com.example"), "exact group");
+    StyleRuleIndex<String> index = new StyleRuleIndex<>(rules);
+
+    // act
+    String match = index.findFirstMatch(StyleKey.create("com.example", "a", "compile", "jar", "1.0", "", false)).getStyle();
+
+    // assert
+    assertEquals("wildcard group", match);
+  }
+
+  @Test
+  void findFirstMatchWithoutMatchingRule() {
+    // arrange
+    Map<StyleKey, String> rules = new LinkedHashMap<>();
+    rules.put(StyleKey.fromString("com.example"), "exact group");
+    rules.put(StyleKey.fromString(",artifact*"), "wildcard artifact");
+    StyleRuleIndex<String> index = new StyleRuleIndex<>(rules);
+
+    // act
+    StyleRuleIndex.Match<String> match = index.findFirstMatch(StyleKey.create("org.example", "other", "compile", "jar", "1.0", "", false));
+
+    // assert
+    assertNull(match.getStyle());
+    assertEquals(1, match.getEvaluations());
+  }
+}
@@ -143,4 +143,9 @@ public class GmlDependencyNodeNameRendererTest extends AbstractDependencyNodeNam
         + "artifactId\n"
         + "version\"";
   }
+
+  @Override
+  protected String renderTruncatedResult() {
+    return "label \"artifactId\"";
+  }
 }
@@ -121,4 +121,9 @@ public class JsonDependencyNodeNameRendererTest extends AbstractDependencyNodeNa
   protected String renderOmitScopeResult() {
     return "{\"groupId\":\"groupId\",\"artifactId\":\"artifactId\",\"version\":\"version\"}";
   }
+
+  @Override
+  protected String renderTruncatedResult() {
+    return "{\"artifactId\":\"artifactId\",\"scopes\":[\"compile\"],\"truncated\":true}";
+  }
 }
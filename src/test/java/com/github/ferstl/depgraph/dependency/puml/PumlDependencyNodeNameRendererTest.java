@@ -120,4 +120,9 @@ public class PumlDependencyNodeNameRendererTest extends AbstractDependencyNodeNa
   protected String renderOmitScopeResult() {
     return "{\"component\":\"rectangle\",\"optional\":false,\"label\":\"groupId\\\\nartifactId\\\\nversion\"}";
   }
+
+  @Override
+  protected String renderTruncatedResult() {
+    return "{\"component\":\"rectangle\",\"optional\":false,\"label\":\"artifactId\",\"stereotype\":\"compile\"}";
+  }
 }
@@ -120,4 +120,9 @@ public class TextDependencyNodeNameRendererTest extends AbstractDependencyNodeNa
   protected String renderOmitScopeResult() {
     return "groupId:artifactId:version";
   }
+
+  @Override
+  protected String renderTruncatedResult() {
+    return "artifactId:compile (truncated)";
+  }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for {@link EdgeTable}.
+ */
+class EdgeTableTest {
+
+  private EdgeTable edgeTable;
+
+  @BeforeEach
+  void before() {
+    this.edgeTable = new EdgeTable();
+  }
+
+  @Test
+  void add() {
+    // act
+    boolean added = this.edgeTable.add(1, 2, 3, false);
+
+    // assert
+    assertTrue(added);
+    assertEquals(1, this.edgeTable.size());
+    assertEquals(1, this.edgeTable.getFrom(0));
+    assertEquals(2, this.edgeTable.getTo(0));
+    assertEquals(3, this.edgeTable.getName(0));
+    assertFalse(this.edgeTable.isPermanent(0));
+  }
+
+  @Test
+  void addDuplicate() {
+    // arrange
+    this.edgeTable.add(1, 2, 3, false);
+
+    // act
+    boolean added = this.edgeTable.add(1, 2, 3, true);
+
+    // assert
+    assertFalse(added);
+    assertEquals(1, this.edgeTable.size());
+    assertFalse(this.edgeTable.isPermanent(0));
+  }
+
+  @Test
+  void addWithDifferentName() {
+    // arrange
+    this.edgeTable.add(1, 2, 3, false);
+
+    // act
+    boolean added = this.edgeTable.add(1, 2, 4, false);
+
+    // assert
+    assertTrue(added);
+    assertEquals(2, this.edgeTable.size());
+  }
+
+  @Test
+  void remove() {
+    // arrange
+    this.edgeTable.add(1, 2, 0, false);
+    this.edgeTable.add(2, 3, 0, false);
+
+    // act
+    this.edgeTable.remove(0);
+
+    // assert
+    assertEquals(1, this.edgeTable.size());
+    assertEquals(2, this.edgeTable.positions());
+    assertTrue(this.edgeTable.isRemoved(0));
+    assertFalse(this.edgeTable.isRemoved(1));
+  }
+
+  @Test
+  void addRemovedEdgeAgain() {
+    // arrange
+    this.edgeTable.add(1, 2, 0, false);
+    this.edgeTable.remove(0);
+
+    // act
+    boolean added = this.edgeTable.add(1, 2, 0, false);
+
+    // assert
+    assertTrue(added);
+    assertEquals(1, this.edgeTable.size());
+    assertFalse(this.edgeTable.isRemoved(1));
+  }
+
+  @Test
+  void manyEdges() {
+    // act
+    for (int i = 0; i < 10_000; i++) {
+      this.edgeTable.add(i, i + 1, 0, false);
+      this.edgeTable.add(i, i + 1, 0, false);
+    }
+
+    // assert
+    assertEquals(10_000, this.edgeTable.size());
+    assertEquals(9_999, this.edgeTable.getFrom(9_999));
+  }
+}
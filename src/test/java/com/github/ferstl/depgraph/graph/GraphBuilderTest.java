@@ -15,6 +15,9 @@
  */
 package com.github.ferstl.depgraph.graph;
 
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import com.github.ferstl.depgraph.ToStringNodeIdRenderer;
@@ -25,6 +28,7 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -220,11 +224,12 @@ class GraphBuilderTest {
     this.graphBuilder.addEdge("A", "C");
 
     // act
-    this.graphBuilder.reduceEdges();
+    int removedEdges = this.graphBuilder.reduceEdges();
     this.graphBuilder.toString();
 
     // assert
     // A -> C is redundant
+    assertEquals(1, removedEdges);
     assertThat(this.formatter.edges, containsInAnyOrder(
         new Edge("A", "B", ""),
         new Edge("B", "C", "")));
@@ -269,6 +274,98 @@ class GraphBuilderTest {
         new Edge("C", "A", "")));
   }
 
+  @Test
+  void writeTo() throws Exception {
+    // arrange
+    this.graphBuilder.addEdge("A", "B");
+    this.graphBuilder.addEdge("B", "C");
+    this.graphBuilder.addEdge("A", "C");
+    this.graphBuilder.reduceEdges();
+    StringWriter writer = new StringWriter();
+
+    // act
+    this.graphBuilder.writeTo(writer);
+
+    // assert
+    assertThat(this.formatter.nodes, contains(
+        new Node<>("A", "", ""),
+        new Node<>("B", "", ""),
+        new Node<>("C", "", "")));
+    assertThat(this.formatter.edges, contains(
+        new Edge("A", "B", ""),
+        new Edge("B", "C", "")));
+  }
+
+  @Test
+  void additionalOutput() throws Exception {
+    // arrange
+    TestFormatter additionalFormatter = new TestFormatter();
+    this.graphBuilder
+        .useEdgeRenderer(TestEdgeRenderer.INSTANCE)
+        .addOutput(builder -> builder
+            .graphFormatter(additionalFormatter)
+            .useNodeNameRenderer(TestNodeRenderer.INSTANCE))
+        .addEdge("A1", "B")
+        .addEdge("A2", "B");
+    StringWriter writer = new StringWriter();
+
+    // act
+    this.graphBuilder.writeTo(0, writer);
+    this.graphBuilder.writeTo(1, writer);
+
+    // assert
+    assertEquals(2, this.graphBuilder.getOutputCount());
+    assertThat(this.formatter.nodes, contains(
+        new Node<>("A1", "", ""),
+        new Node<>("B", "", ""),
+        new Node<>("A2", "", "")));
+    assertThat(this.formatter.edges, contains(
+        new Edge("A1", "B", "A->B"),
+        new Edge("A2", "B", "A->B")));
+    assertThat(additionalFormatter.nodes, contains(
+        new Node<>("A1", "A1-custom", ""),
+        new Node<>("B", "B-custom", ""),
+        new Node<>("A2", "A2-custom", "")));
+    assertThat(additionalFormatter.edges, contains(
+        new Edge("A1", "B", ""),
+        new Edge("A2", "B", "")));
+  }
+
+  @Test
+  void additionalOutputAfterNodes() {
+    // arrange
+    this.graphBuilder.addNode("A");
+
+    // act/assert
+    assertThrows(IllegalStateException.class, () -> this.graphBuilder.addOutput(builder -> builder));
+  }
+
+  @Test
+  void renderNodeNamesOnFormat() {
+    // arrange
+    List<String> renderedNodes = new ArrayList<>();
+    this.graphBuilder
+        .useNodeNameRenderer(node -> {
+          renderedNodes.add(node);
+          return node + "-name";
+        })
+        .addEdge("A", "B")
+        .addEdge("A", "C")
+        .addEdge("B", "C");
+
+    // act
+    List<String> renderedBeforeFormat = new ArrayList<>(renderedNodes);
+    this.graphBuilder.toString();
+
+    // assert
+    assertThat(renderedBeforeFormat, empty());
+    assertThat(renderedNodes, contains("A", "B", "C"));
+    assertThat(this.formatter.nodes, contains(
+        new Node<>("A", "A-name", ""),
+        new Node<>("B", "B-name", ""),
+        new Node<>("C", "C-name", "")));
+  }
+
   enum TestNodeRenderer implements NodeRenderer<String> {
     INSTANCE;
 
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for {@link ReachabilityIndex}.
+ */
+class ReachabilityIndexTest {
+
+  private static final int A = 0;
+  private static final int B = 1;
+  private static final int C = 2;
+  private static final int D = 3;
+
+  private ReachabilityIndex index;
+
+  @BeforeEach
+  void before() {
+    this.index = new ReachabilityIndex();
+  }
+
+  @Test
+  void olderPath() {
+    // arrange
+    this.index.registerEdge(A, B);
+    this.index.registerEdge(B, C);
+    this.index.registerEdge(A, C);
+
+    // assert
+    assertTrue(this.index.hasOlderPath(C, A));
+    assertFalse(this.index.hasOlderPath(B, A));
+    assertFalse(this.index.hasOlderPath(C, B));
+  }
+
+  @Test
+  void newerPath() {
+    // arrange
+    this.index.registerEdge(A, C);
+    this.index.registerEdge(A, B);
+    this.index.registerEdge(B, C);
+
+    // assert
+    // B -> C was registered after A -> C
+    assertFalse(this.index.hasOlderPath(C, A));
+  }
+
+  @Test
+  void transitivePath() {
+    // arrange
+    this.index.registerEdge(A, B);
+    this.index.registerEdge(B, C);
+    this.index.registerEdge(C, D);
+    this.index.registerEdge(A, D);
+
+    // assert
+    assertTrue(this.index.hasOlderPath(D, A));
+  }
+
+  @Test
+  void cycle() {
+    // arrange
+    this.index.registerEdge(A, B);
+    this.index.registerEdge(B, C);
+    this.index.registerEdge(A, C);
+    this.index.registerEdge(C, A);
+
+    // assert
+    assertTrue(this.index.hasOlderPath(C, A));
+    assertFalse(this.index.hasOlderPath(A, C));
+    assertFalse(this.index.hasOlderPath(B, A));
+  }
+
+  @Test
+  void pathThroughTargetIsIgnored() {
+    // arrange
+    this.index.registerEdge(B, C);
+    this.index.registerEdge(C, B);
+    this.index.registerEdge(A, C);
+
+    // assert
+    // The only path from A to B leads through C
+    assertFalse(this.index.hasOlderPath(C, A));
+  }
+
+  @Test
+  void registerAfterQuery() {
+    // arrange
+    this.index.registerEdge(B, C);
+    this.index.registerEdge(A, C);
+    assertFalse(this.index.hasOlderPath(C, A));
+
+    // act
+    this.index.registerEdge(A, B);
+
+    // assert
+    assertTrue(this.index.hasOlderPath(C, A));
+  }
+
+  @Test
+  void unknownNodes() {
+    // arrange
+    this.index.registerEdge(A, B);
+
+    // assert
+    assertFalse(this.index.hasOlderPath(D, A));
+    assertFalse(this.index.hasOlderPath(A, D));
+  }
+}
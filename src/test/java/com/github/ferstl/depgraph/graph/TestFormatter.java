@@ -15,6 +15,8 @@
  */
 package com.github.ferstl.depgraph.graph;
 
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Collection;
 
 public class TestFormatter implements GraphFormatter {
@@ -24,10 +26,9 @@ public class TestFormatter implements GraphFormatter {
   public Collection<Edge> edges;
 
   @Override
-  public String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Writer writer) {
     this.graphName = graphName;
-    this.nodes = nodes;
-    this.edges = edges;
-    return "";
+    this.nodes = new ArrayList<>(nodes);
+    this.edges = new ArrayList<>(edges);
   }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2014 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph.jfr;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import com.github.ferstl.depgraph.graph.GraphBuilder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class GraphEventsTest {
+
+  @Test
+  void recordGraphEvents() throws IOException {
+    // arrange
+    GraphBuilder<String> graphBuilder = GraphBuilder.<String>create(String::toString).graphName("test-graph");
+    graphBuilder.addEdge("A", "B");
+    graphBuilder.addEdge("B", "C");
+    graphBuilder.addEdge("A", "C");
+    Path recordingFile = Files.createTempDirectory(Paths.get("target"), "test").resolve("recording.jfr");
+
+    // act
+    try (Recording recording = new Recording()) {
+      recording.enable("com.github.ferstl.depgraph.GraphReduction");
+      recording.enable("com.github.ferstl.depgraph.GraphFormatting");
+      recording.start();
+
+      graphBuilder.reduceEdges();
+      graphBuilder.toString();
+      graphBuilder.writeTo(new StringWriter());
+
+      recording.stop();
+      recording.dump(recordingFile);
+    }
+
+    // assert
+    List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile).stream()
+        .filter(e -> e.getEventType().getName().startsWith("com.github.ferstl.depgraph."))
+        .collect(toList());
+
+    assertEquals(2, events.size());
+    RecordedEvent reduction = events.get(0);
+    assertEquals("com.github.ferstl.depgraph.GraphReduction", reduction.getEventType().getName());
+    assertEquals("test-graph", reduction.getString("project"));
+    assertEquals(3, reduction.getInt("nodeCount"));
+    assertEquals(2, reduction.getInt("edgeCount"));
+    assertFalse(reduction.getDuration().isNegative());
+    assertEquals("com.github.ferstl.depgraph.GraphFormatting", events.get(1).getEventType().getName());
+  }
+
+  @Test
+  void disabledEvent() {
+    // act
+    GraphEvent event = GraphEvents.graphvizExecution();
+
+    // assert
+    assertFalse(event.isEnabled());
+    event.commit("project", 1, 0);
+  }
+}
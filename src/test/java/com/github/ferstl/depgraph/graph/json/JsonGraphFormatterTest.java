@@ -20,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import com.github.ferstl.depgraph.graph.Edge;
 import com.github.ferstl.depgraph.graph.Node;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class JsonGraphFormatterTest {
@@ -77,4 +78,39 @@ class JsonGraphFormatterTest {
 
     assertEquals(expected, result);
   }
+
+  @Test
+  void formatJsonData() {
+    // arrange
+    JsonData data = generator -> generator.writeStringField("artifactId", "id1");
+    Node<?> node1 = new Node<>("id1", data, new Object());
+    Node<?> node2 = new Node<>("id2", (JsonData) generator -> generator.writeBooleanField("optional", true), new Object());
+    Edge edge = new Edge("id1", "id2", (JsonData) generator -> generator.writeStringField("resolution", "INCLUDED"));
+
+    // act
+    String result = this.formatter.format("graphName", asList(node1, node2), singletonList(edge));
+
+    // assert
+    String expected = "{\n"
+        + "  \"graphName\" : \"graphName\",\n"
+        + "  \"artifacts\" : [ {\n"
+        + "    \"id\" : \"id1\",\n"
+        + "    \"numericId\" : 1,\n"
+        + "    \"artifactId\" : \"id1\"\n"
+        + "  }, {\n"
+        + "    \"id\" : \"id2\",\n"
+        + "    \"numericId\" : 2,\n"
+        + "    \"optional\" : true\n"
+        + "  } ],\n"
+        + "  \"dependencies\" : [ {\n"
+        + "    \"from\" : \"id1\",\n"
+        + "    \"to\" : \"id2\",\n"
+        + "    \"numericFrom\" : 0,\n"
+        + "    \"numericTo\" : 1,\n"
+        + "    \"resolution\" : \"INCLUDED\"\n"
+        + "  } ]\n"
+        + "}";
+
+    assertEquals(expected, result);
+  }
 }
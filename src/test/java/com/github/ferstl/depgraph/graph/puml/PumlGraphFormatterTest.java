@@ -32,6 +32,31 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class PumlGraphFormatterTest {
 
+  private static final String EXPECTED_PUML = "@startuml\n"
+      + "skinparam defaultTextAlignment center\n"
+      + "skinparam rectangle {\n"
+      + "  BackgroundColor<<optional>> beige\n"
+      + "  BackgroundColor<<test>> lightGreen\n"
+      + "  BackgroundColor<<runtime>> lightBlue\n"
+      + "  BackgroundColor<<provided>> lightGray\n"
+      + "}\n"
+      + "rectangle \"com.github.ferstl\\ndepgraph-maven-plugin\\n2.2.1-SNAPSHOT\" as com_github_ferstl_depgraph_maven_plugin_jar\n"
+      + "rectangle \"com.fasterxml.jackson.core\\njackson-databind\\n2.8.7\" as com_fasterxml_jackson_core_jackson_databind_jar\n"
+      + "rectangle \"com.google.guava\\nguava\\n21.0\" as com_google_guava_guava_jar\n"
+      + "rectangle \"org.apache.maven\\nmaven-core\\njar\" as org_apache_maven_maven_core_jar<<3.3.9>>\n"
+      + "rectangle \"com.google.inject\\nguice\\n4.0\" as com_google_inject_guice_jar<<provided>>\n"
+      + "rectangle \"com.google.guava\\nguava\\n16.0.1\" as com_google_guava_guava_jar<<provided>>\n"
+      + "rectangle \"junit\\njunit\\n4.12\" as junit_junit_jar<<test>>\n"
+      + "rectangle \"org.springframework\\nspring-core\\n5.0.6.RELEASE\" as org_springframework_spring_core_jar<<optional>>\n"
+      + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> com_fasterxml_jackson_core_jackson_databind_jar\n"
+      + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> com_google_guava_guava_jar\n"
+      + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> org_apache_maven_maven_core_jar\n"
+      + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> junit_junit_jar\n"
+      + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> org_springframework_spring_core_jar\n"
+      + "org_apache_maven_maven_core_jar -[#000000]-> com_google_inject_guice_jar\n"
+      + "com_google_inject_guice_jar .[#FF0000].> com_google_guava_guava_jar: 16.0.1-alpha\n"
+        + "@enduml";
+
   private final PumlGraphFormatter formatter = new PumlGraphFormatter();
   private final NodeRenderer<DependencyNode> nodeIdRenderer = DependencyNodeIdRenderer.versionlessId().withType(true);
   private final PumlDependencyNodeNameRenderer nodeInfoRenderer = new PumlDependencyNodeNameRenderer(true, true, false, false, true, false, true);
@@ -48,53 +73,40 @@ class PumlGraphFormatterTest {
       new Tuple("org.springframework:spring-core:5.0.6.RELEASE:optional", false)
   );
 
-  private final List<Node<?>> nodes = this.dependencies.stream()
-      .map(tuple -> makeNode(tuple.description, tuple.conflict))
-      .collect(toList());
-
-  private final Collection<Edge> edges = Arrays.asList(
-      makeEgde(this.dependencies.get(0), this.dependencies.get(1)),
-      makeEgde(this.dependencies.get(0), this.dependencies.get(2)),
-      makeEgde(this.dependencies.get(0), this.dependencies.get(3)),
-      makeEgde(this.dependencies.get(0), this.dependencies.get(6)),
-      makeEgde(this.dependencies.get(0), this.dependencies.get(7)),
-      makeEgde(this.dependencies.get(3), this.dependencies.get(4)),
-      makeEgde(this.dependencies.get(4), this.dependencies.get(5))
-  );
-
   @Test
   void testFormatDependenciesGraphAsPumlDiagram() {
-    String puml = this.formatter.format("graphName", this.nodes, this.edges);
-    assertEquals("@startuml\n"
-        + "skinparam defaultTextAlignment center\n"
-        + "skinparam rectangle {\n"
-        + "  BackgroundColor<<optional>> beige\n"
-        + "  BackgroundColor<<test>> lightGreen\n"
-        + "  BackgroundColor<<runtime>> lightBlue\n"
-        + "  BackgroundColor<<provided>> lightGray\n"
-        + "}\n"
-        + "rectangle \"com.github.ferstl\\ndepgraph-maven-plugin\\n2.2.1-SNAPSHOT\" as com_github_ferstl_depgraph_maven_plugin_jar\n"
-        + "rectangle \"com.fasterxml.jackson.core\\njackson-databind\\n2.8.7\" as com_fasterxml_jackson_core_jackson_databind_jar\n"
-        + "rectangle \"com.google.guava\\nguava\\n21.0\" as com_google_guava_guava_jar\n"
-        + "rectangle \"org.apache.maven\\nmaven-core\\njar\" as org_apache_maven_maven_core_jar<<3.3.9>>\n"
-        + "rectangle \"com.google.inject\\nguice\\n4.0\" as com_google_inject_guice_jar<<provided>>\n"
-        + "rectangle \"com.google.guava\\nguava\\n16.0.1\" as com_google_guava_guava_jar<<provided>>\n"
-        + "rectangle \"junit\\njunit\\n4.12\" as junit_junit_jar<<test>>\n"
-        + "rectangle \"org.springframework\\nspring-core\\n5.0.6.RELEASE\" as org_springframework_spring_core_jar<<optional>>\n"
-        + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> com_fasterxml_jackson_core_jackson_databind_jar\n"
-        + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> com_google_guava_guava_jar\n"
-        + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> org_apache_maven_maven_core_jar\n"
-        + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> junit_junit_jar\n"
-        + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> org_springframework_spring_core_jar\n"
-        + "org_apache_maven_maven_core_jar -[#000000]-> com_google_inject_guice_jar\n"
-        + "com_google_inject_guice_jar .[#FF0000].> com_google_guava_guava_jar: 16.0.1-alpha\n"
-        + "@enduml", puml);
+    String puml = this.formatter.format("graphName", makeNodes(false), makeEdges(false));
+    assertEquals(EXPECTED_PUML, puml);
+  }
+
+  @Test
+  void formatTypedNodeAndEdgeInfos() {
+    String puml = this.formatter.format("graphName", makeNodes(true), makeEdges(true));
+    assertEquals(EXPECTED_PUML, puml);
+  }
+
+  private List<Node<?>> makeNodes(boolean typed) {
+    return this.dependencies.stream()
+        .map(tuple -> makeNode(tuple.description, tuple.conflict, typed))
+        .collect(toList());
+  }
+
+  private Collection<Edge> makeEdges(boolean typed) {
+    return Arrays.asList(
+        makeEgde(this.dependencies.get(0), this.dependencies.get(1), typed),
+        makeEgde(this.dependencies.get(0), this.dependencies.get(2), typed),
+        makeEgde(this.dependencies.get(0), this.dependencies.get(3), typed),
+        makeEgde(this.dependencies.get(0), this.dependencies.get(6), typed),
+        makeEgde(this.dependencies.get(0), this.dependencies.get(7), typed),
+        makeEgde(this.dependencies.get(3), this.dependencies.get(4), typed),
+        makeEgde(this.dependencies.get(4), this.dependencies.get(5), typed)
+    );
   }
 
-  private Node<?> makeNode(String description, boolean conflict) {
+  private Node<?> makeNode(String description, boolean conflict, boolean typed) {
     DependencyNode dependencyNode = makeDependencyNode(description, conflict);
     String nodeId = this.nodeIdRenderer.render(dependencyNode);
-    String nodeInfo = this.nodeInfoRenderer.render(dependencyNode);
+    Object nodeInfo = typed ? this.nodeInfoRenderer.renderData(dependencyNode) : this.nodeInfoRenderer.render(dependencyNode);
     return new Node<>(nodeId, nodeInfo, new Object());
   }
 
@@ -111,13 +123,13 @@ class PumlGraphFormatterTest {
     }
   }
 
-  private Edge makeEgde(Tuple from, Tuple to) {
+  private Edge makeEgde(Tuple from, Tuple to, boolean typed) {
     DependencyNode fromNode = makeDependencyNode(from.getDescription(), from.isConflict());
     DependencyNode toNode = makeDependencyNode(to.getDescription(), to.isConflict());
 
     return new Edge(this.nodeIdRenderer.render(fromNode),
         this.nodeIdRenderer.render(toNode),
-        this.edgeInfoRenderer.render(fromNode, toNode));
+        typed ? this.edgeInfoRenderer.renderData(fromNode, toNode) : this.edgeInfoRenderer.render(fromNode, toNode));
   }
 
   private static class Tuple {
@@ -22,6 +22,7 @@ import com.github.ferstl.depgraph.graph.Edge;
 import com.github.ferstl.depgraph.graph.Node;
 import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TextGraphFormatterTest {
 
@@ -190,18 +191,94 @@ class TextGraphFormatterTest {
     assertEquals(expected, result);
   }
 
+  @Test
+  void backReferences() {
+    // arrange
+    Edge[] edges = {
+        edge("root", "child-1"),
+        edge("root", "child-2"),
+        edge("child-1", "child-1.1"),
+        edge("child-2", "child-1"),
+        edge("child-2", "child-1.1")};
+
+    // act
+    String result = new TextGraphFormatter(true, true, 0).format("", nodes(edges), asList(edges));
+
+    // assert
+    String expected = "root\n"
+        + "+- child-1 (#1)\n"
+        + "|  \\- child-1.1\n"
+        + "\\- child-2\n"
+        + "   +- child-1 (see #1)\n"
+        + "   \\- child-1.1\n";
+    assertEquals(expected, result);
+  }
+
+  @Test
+  void maxLines() {
+    // arrange
+    Edge[] edges = {
+        edge("root", "child-1"),
+        edge("root", "child-2"),
+        edge("root", "child-3")};
+
+    // act
+    String result = new TextGraphFormatter(false, false, 2).format("", nodes(edges), asList(edges));
+
+    // assert
+    String expected = "root\n"
+        + "+- child-1\n"
+        + "... (output truncated after 2 lines)\n";
+    assertEquals(expected, result);
+  }
+
+  @Test
+  void deepGraph() {
+    // arrange
+    Edge[] edges = new Edge[10_000];
+    for (int i = 0; i < edges.length; i++) {
+      edges[i] = edge("node-" + i, "node-" + (i + 1));
+    }
+
+    // act
+    String result = new TextGraphFormatter(true).format("", nodes(edges), asList(edges));
+
+    // assert
+    assertTrue(result.endsWith("\\- node-10000\n"));
+  }
+
+  @Test
+  void selfReference() {
+    // arrange + act
+    String result = createTextGraph(
+        edge("root", "root"),
+        edge("root", "child-1"));
+
+    // assert
+    String expected = "root\n"
+        + "+- root\n"
+        + "|  +- root (circle)\n"
+        + "|  \\- child-1\n"
+        + "\\- child-1\n";
+    assertEquals(expected, result);
+  }
+
   private String createTextGraph(Edge... edges) {
     return createTextGraph(false, edges);
   }
 
   private String createTextGraph(boolean repeatTransitiveDependencies, Edge... edges) {
+    return new TextGraphFormatter(repeatTransitiveDependencies).format("", nodes(edges), asList(edges));
+  }
+
+  private Set<Node<?>> nodes(Edge... edges) {
     Set<Node<?>> nodes = new LinkedHashSet<>();
     for (Edge edge : edges) {
       nodes.add(node(edge.getFromNodeId()));
       nodes.add(node(edge.getToNodeId()));
     }
 
-    return new TextGraphFormatter(repeatTransitiveDependencies).format("", nodes, asList(edges));
+    return nodes;
   }
 
   private Node<?> node(String id) {